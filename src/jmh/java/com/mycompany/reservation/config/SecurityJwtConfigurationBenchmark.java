@@ -0,0 +1,108 @@
+package com.mycompany.reservation.config;
+
+import static com.mycompany.reservation.security.SecurityUtils.AUTHORITIES_CLAIM;
+import static com.mycompany.reservation.security.SecurityUtils.JWT_ALGORITHM;
+import static com.mycompany.reservation.security.SecurityUtils.USER_ID_CLAIM;
+
+import com.mycompany.reservation.management.SecurityMetersService;
+import com.mycompany.reservation.security.CachingJwtDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.jcache.JCacheCache;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Signing a token like {@code AuthenticateController} does and verifying it like every authenticated request does, with the
+ * encoder and the decoder of {@link SecurityJwtConfiguration}.
+ * <p>
+ * {@code decodeCached} verifies the token through the {@link CachingJwtDecoder} and the Ehcache cache the application uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SecurityJwtConfigurationBenchmark {
+
+    private JwtEncoder jwtEncoder;
+
+    private JwtDecoder jwtDecoder;
+
+    private JwtDecoder cachingJwtDecoder;
+
+    private CacheManager cacheManager;
+
+    private JwtEncoderParameters parameters;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        byte[] key = new byte[64];
+        new Random(42).nextBytes(key);
+        SecurityJwtConfiguration configuration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(configuration, "jwtKey", Base64.getEncoder().encodeToString(key));
+        jwtEncoder = configuration.jwtEncoder();
+        SecurityMetersService metersService = new SecurityMetersService(new SimpleMeterRegistry());
+        jwtDecoder = configuration.jwtDecoder(metersService);
+        cacheManager = Caching.getCachingProvider("org.ehcache.jsr107.EhcacheCachingProvider").getCacheManager();
+        JCacheCache cache = new JCacheCache(
+            cacheManager.createCache(CachingJwtDecoder.CACHE_NAME, CacheConfiguration.jwtCacheConfiguration(10000))
+        );
+        cachingJwtDecoder = new CachingJwtDecoder(jwtDecoder, cache, metersService);
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .issuedAt(now)
+            .expiresAt(now.plus(1, ChronoUnit.DAYS))
+            .subject("admin")
+            .claim(AUTHORITIES_CLAIM, "ROLE_ADMIN ROLE_USER")
+            .claim(USER_ID_CLAIM, 1L)
+            .build();
+        parameters = JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims);
+        token = jwtEncoder.encode(parameters).getTokenValue();
+    }
+
+    @TearDown
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Benchmark
+    public Jwt encode() {
+        return jwtEncoder.encode(parameters);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeCached() {
+        return cachingJwtDecoder.decode(token);
+    }
+}
@@ -0,0 +1,102 @@
+package com.mycompany.reservation.service;
+
+import com.mycompany.reservation.domain.Authority;
+import com.mycompany.reservation.domain.Business;
+import com.mycompany.reservation.domain.Customer;
+import com.mycompany.reservation.domain.FinanceDocument;
+import com.mycompany.reservation.domain.FinanceEntry;
+import com.mycompany.reservation.domain.OfferedService;
+import com.mycompany.reservation.domain.Payment;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.ReservationCustomerSketch;
+import com.mycompany.reservation.domain.ReservationDailyRollup;
+import com.mycompany.reservation.domain.User;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.service.dto.ReservationFilterCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building the criteria query of a filtered reservation listing with {@link ReservationSpecifications}.
+ * <p>
+ * Hibernate is bootstrapped on the entities without touching a database, which building criteria queries does not need.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ReservationSpecificationsBenchmark {
+
+    private SessionFactory sessionFactory;
+
+    private CriteriaBuilder criteriaBuilder;
+
+    private ReservationFilterCriteria criteria;
+
+    @Setup
+    public void setup() {
+        var registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+            .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false)
+            .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+            .build();
+        sessionFactory = new MetadataSources(registry)
+            .addAnnotatedClasses(
+                Authority.class,
+                Business.class,
+                Customer.class,
+                FinanceDocument.class,
+                FinanceEntry.class,
+                OfferedService.class,
+                Payment.class,
+                Reservation.class,
+                ReservationCustomerSketch.class,
+                ReservationDailyRollup.class,
+                User.class
+            )
+            .buildMetadata()
+            .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        criteria = new ReservationFilterCriteria();
+        criteria.setCustomerId(1L);
+        criteria.setBusinessId(2L);
+        criteria.setStatus(ReservationStatus.CONFIRMED);
+        criteria.setStartDate(ZonedDateTime.of(2030, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        criteria.setEndDate(ZonedDateTime.of(2030, 2, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate matchingAllCriteria() {
+        CriteriaQuery<Reservation> query = criteriaBuilder.createQuery(Reservation.class);
+        Root<Reservation> root = query.from(Reservation.class);
+        return ReservationSpecifications.matching(criteria).toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,81 @@
+package com.mycompany.reservation.service.mapper;
+
+import com.mycompany.reservation.domain.Business;
+import com.mycompany.reservation.domain.Customer;
+import com.mycompany.reservation.domain.OfferedService;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.User;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.service.dto.ReservationDTO;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping a reservation, with its customer, business, service and owner, to its DTO and back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ReservationMapperBenchmark {
+
+    private final ReservationMapper mapper = new ReservationMapperImpl();
+
+    private Reservation reservation;
+
+    private ReservationDTO reservationDTO;
+
+    @Setup
+    public void setup() {
+        Business business = new Business().name("Benchmark business").address("Address");
+        business.setId(1L);
+        Customer customer = new Customer()
+            .firstName("Benchmark")
+            .lastName("Customer")
+            .email("benchmark@example.com")
+            .phone("5550000000")
+            .notes("Prefers mornings")
+            .business(business);
+        customer.setId(2L);
+        OfferedService service = new OfferedService().name("Haircut").duration(30).business(business);
+        service.setId(3L);
+        User user = new User();
+        user.setId(4L);
+        user.setLogin("admin");
+        ZonedDateTime date = ZonedDateTime.of(2030, 1, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+        reservation = new Reservation()
+            .date(date)
+            .endDate(date.plusMinutes(30))
+            .status(ReservationStatus.CONFIRMED)
+            .notes("Benchmark reservation")
+            .customer(customer)
+            .business(business)
+            .service(service)
+            .user(user);
+        reservation.setId(5L);
+        reservationDTO = mapper.toDto(reservation);
+    }
+
+    @Benchmark
+    public ReservationDTO toDto() {
+        return mapper.toDto(reservation);
+    }
+
+    @Benchmark
+    public Reservation toEntity() {
+        return mapper.toEntity(reservationDTO);
+    }
+}
@@ -0,0 +1,89 @@
+package com.mycompany.reservation.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mycompany.reservation.config.JacksonConfiguration;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.service.dto.BusinessDTO;
+import com.mycompany.reservation.service.dto.CustomerDTO;
+import com.mycompany.reservation.service.dto.OfferedServiceDTO;
+import com.mycompany.reservation.service.dto.ReservationDTO;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serializing a page of reservations the way {@link ReservationResource} returns it, with the Jackson modules of the
+ * application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ReservationPageSerializationBenchmark {
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<ReservationDTO> page;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        // the features Spring Boot turns off by default
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule(), jacksonConfiguration.hibernate6Module())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .build();
+        ZonedDateTime date = ZonedDateTime.of(2030, 1, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            ReservationDTO reservation = new ReservationDTO();
+            reservation.setId((long) i);
+            reservation.setDate(date.plusHours(i));
+            reservation.setEndDate(date.plusHours(i).plusMinutes(30));
+            reservation.setStatus(ReservationStatus.CONFIRMED);
+            reservation.setNotes("Benchmark reservation " + i);
+            OfferedServiceDTO service = new OfferedServiceDTO();
+            service.setId(1L);
+            reservation.setService(service);
+            CustomerDTO customer = new CustomerDTO();
+            customer.setId((long) i);
+            customer.setFirstName("Benchmark");
+            customer.setLastName("Customer " + i);
+            customer.setEmail("benchmark-" + i + "@example.com");
+            customer.setPhone("5550000000");
+            reservation.setCustomer(customer);
+            BusinessDTO business = new BusinessDTO();
+            business.setId(1L);
+            reservation.setBusiness(business);
+            reservation.setUserId(1L);
+            reservation.setUserLogin("admin");
+            page.add(reservation);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
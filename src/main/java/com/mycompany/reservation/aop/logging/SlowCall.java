@@ -0,0 +1,15 @@
+package com.mycompany.reservation.aop.logging;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A call slower than the threshold of the {@link SlowCallInterceptor}.
+ *
+ * @param method the class and the name of the method called.
+ * @param arguments a summary of the arguments, see {@link SlowCallInterceptor#summarize(Object[])}.
+ * @param duration how long the call took.
+ * @param thread the name of the thread that made the call.
+ * @param endedAt when the call returned.
+ */
+public record SlowCall(String method, String arguments, Duration duration, String thread, Instant endedAt) {}
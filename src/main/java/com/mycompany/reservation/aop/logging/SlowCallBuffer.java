@@ -0,0 +1,56 @@
+package com.mycompany.reservation.aop.logging;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded ring buffer of the most recent {@link SlowCall}s.
+ * <p>
+ * Lock-free: every call claims the next slot with a single atomic increment and overwrites whatever was there, so threads
+ * recording at the same time never wait on each other and the oldest calls are dropped first.
+ */
+public class SlowCallBuffer {
+
+    private final AtomicReferenceArray<SlowCall> slots;
+
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowCallBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(SlowCall call) {
+        slots.set((int) (next.getAndIncrement() % slots.length()), call);
+    }
+
+    /**
+     * @return the calls held by the buffer, slowest first.
+     */
+    public List<SlowCall> slowestFirst() {
+        List<SlowCall> calls = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            SlowCall call = slots.get(i);
+            if (call != null) {
+                calls.add(call);
+            }
+        }
+        calls.sort(Comparator.comparing(SlowCall::duration).reversed());
+        return calls;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,103 @@
+package com.mycompany.reservation.aop.logging;
+
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Adds the calls slower than a threshold to a {@link SlowCallBuffer}.
+ * <p>
+ * Calls below the threshold cost two reads of the clock and a comparison; the method name, the arguments and the thread are
+ * only looked at once a call turned out slow.
+ */
+public class SlowCallInterceptor implements MethodInterceptor {
+
+    private static final int MAX_SUMMARY_LENGTH = 500;
+
+    private final SlowCallBuffer buffer;
+
+    private final long thresholdNanos;
+
+    public SlowCallInterceptor(SlowCallBuffer buffer, Duration threshold) {
+        this.buffer = buffer;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            if (elapsedNanos >= thresholdNanos) {
+                record(invocation, elapsedNanos);
+            }
+        }
+    }
+
+    private void record(MethodInvocation invocation, long elapsedNanos) {
+        Class<?> targetClass = invocation.getThis() != null ? invocation.getThis().getClass() : invocation.getMethod().getDeclaringClass();
+        buffer.add(
+            new SlowCall(
+                ClassUtils.getUserClass(targetClass).getSimpleName() + "." + invocation.getMethod().getName(),
+                summarize(invocation.getArguments()),
+                Duration.ofNanos(elapsedNanos),
+                Thread.currentThread().getName(),
+                Instant.now()
+            )
+        );
+    }
+
+    /**
+     * Summarizes arguments without their content: values of simple types are kept, text only by its length and other objects
+     * by their type and size, so passwords, emails and entities do not end up in the buffer.
+     *
+     * @param arguments the arguments of a call.
+     * @return the summary of the arguments.
+     */
+    static String summarize(Object[] arguments) {
+        StringJoiner summary = new StringJoiner(", ");
+        for (Object argument : arguments) {
+            summary.add(summarize(argument));
+        }
+        String result = summary.toString();
+        return result.length() > MAX_SUMMARY_LENGTH ? result.substring(0, MAX_SUMMARY_LENGTH) + "..." : result;
+    }
+
+    private static String summarize(Object argument) {
+        if (
+            argument == null ||
+            argument instanceof Number ||
+            argument instanceof Boolean ||
+            argument instanceof Enum<?> ||
+            argument instanceof TemporalAccessor ||
+            argument instanceof UUID ||
+            argument instanceof Pageable
+        ) {
+            return String.valueOf(argument);
+        }
+        if (argument instanceof CharSequence text) {
+            return "String[" + text.length() + "]";
+        }
+        if (argument instanceof Collection<?> collection) {
+            return argument.getClass().getSimpleName() + "[" + collection.size() + "]";
+        }
+        if (argument instanceof Map<?, ?> map) {
+            return argument.getClass().getSimpleName() + "[" + map.size() + "]";
+        }
+        if (argument.getClass().isArray()) {
+            return argument.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(argument) + "]";
+        }
+        return ClassUtils.getUserClass(argument).getSimpleName();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Timing aspect.
+ */
+package com.mycompany.reservation.aop.timing;
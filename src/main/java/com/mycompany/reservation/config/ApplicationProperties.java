@@ -1,6 +1,10 @@
 package com.mycompany.reservation.config;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalTime;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Reservation App.
@@ -13,12 +17,60 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Availability availability = new Availability();
+
+    private final Report report = new Report();
+
+    private final SqlMetrics sqlMetrics = new SqlMetrics();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final SlowCalls slowCalls = new SlowCalls();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final AvatarVariants avatarVariants = new AvatarVariants();
+
+    private final BlobStore blobStore = new BlobStore();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Availability getAvailability() {
+        return availability;
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    public SqlMetrics getSqlMetrics() {
+        return sqlMetrics;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public SlowCalls getSlowCalls() {
+        return slowCalls;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public AvatarVariants getAvatarVariants() {
+        return avatarVariants;
+    }
+
+    public BlobStore getBlobStore() {
+        return blobStore;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +85,219 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Availability {
+
+        private String timeZone;
+
+        private LocalTime openingTime = LocalTime.of(9, 0);
+
+        private LocalTime closingTime = LocalTime.of(18, 0);
+
+        private int slotStepMinutes = 15;
+
+        private int defaultDurationMinutes = 30;
+
+        private int cacheMaxEntries = 1000;
+
+        private Duration cacheTimeToLive = Duration.ofMinutes(5);
+
+        public String getTimeZone() {
+            return timeZone;
+        }
+
+        public void setTimeZone(String timeZone) {
+            this.timeZone = timeZone;
+        }
+
+        public LocalTime getOpeningTime() {
+            return openingTime;
+        }
+
+        public void setOpeningTime(LocalTime openingTime) {
+            this.openingTime = openingTime;
+        }
+
+        public LocalTime getClosingTime() {
+            return closingTime;
+        }
+
+        public void setClosingTime(LocalTime closingTime) {
+            this.closingTime = closingTime;
+        }
+
+        public int getSlotStepMinutes() {
+            return slotStepMinutes;
+        }
+
+        public void setSlotStepMinutes(int slotStepMinutes) {
+            this.slotStepMinutes = slotStepMinutes;
+        }
+
+        public int getDefaultDurationMinutes() {
+            return defaultDurationMinutes;
+        }
+
+        public void setDefaultDurationMinutes(int defaultDurationMinutes) {
+            this.defaultDurationMinutes = defaultDurationMinutes;
+        }
+
+        public int getCacheMaxEntries() {
+            return cacheMaxEntries;
+        }
+
+        public void setCacheMaxEntries(int cacheMaxEntries) {
+            this.cacheMaxEntries = cacheMaxEntries;
+        }
+
+        public Duration getCacheTimeToLive() {
+            return cacheTimeToLive;
+        }
+
+        public void setCacheTimeToLive(Duration cacheTimeToLive) {
+            this.cacheTimeToLive = cacheTimeToLive;
+        }
+    }
+
+    public static class Report {
+
+        private boolean exactDistinctCounts = false;
+
+        public boolean isExactDistinctCounts() {
+            return exactDistinctCounts;
+        }
+
+        public void setExactDistinctCounts(boolean exactDistinctCounts) {
+            this.exactDistinctCounts = exactDistinctCounts;
+        }
+    }
+
+    public static class SqlMetrics {
+
+        private boolean enabled = true;
+
+        private boolean serverTiming = false;
+
+        private Duration slowQueryThreshold = Duration.ofMillis(500);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isServerTiming() {
+            return serverTiming;
+        }
+
+        public void setServerTiming(boolean serverTiming) {
+            this.serverTiming = serverTiming;
+        }
+
+        public Duration getSlowQueryThreshold() {
+            return slowQueryThreshold;
+        }
+
+        public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+            this.slowQueryThreshold = slowQueryThreshold;
+        }
+    }
+
+    public static class MethodTiming {
+
+        private boolean enabled = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class SlowCalls {
+
+        private boolean enabled = true;
+
+        private Duration threshold = Duration.ofMillis(500);
+
+        private int capacity = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(Duration threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    public static class JwtCache {
+
+        private boolean enabled = true;
+
+        private long maxEntries = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class AvatarVariants {
+
+        private DataSize offHeapSize = DataSize.ofMegabytes(16);
+
+        public DataSize getOffHeapSize() {
+            return offHeapSize;
+        }
+
+        public void setOffHeapSize(DataSize offHeapSize) {
+            this.offHeapSize = offHeapSize;
+        }
+    }
+
+    public static class BlobStore {
+
+        private Path directory = Path.of("data", "blob-store");
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(Path directory) {
+            this.directory = directory;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
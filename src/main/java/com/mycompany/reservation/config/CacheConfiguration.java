@@ -1,7 +1,13 @@
 package com.mycompany.reservation.config;
 
+import com.mycompany.reservation.security.CachingJwtDecoder;
+import com.mycompany.reservation.service.AvatarVariantService;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +18,7 @@ import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.*;
+import org.springframework.security.oauth2.jwt.Jwt;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
@@ -22,8 +29,11 @@ public class CacheConfiguration {
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> jwtCacheConfiguration;
+    private final boolean jwtCacheEnabled;
+    private final javax.cache.configuration.Configuration<Object, Object> avatarVariantsCacheConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
 
         jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
@@ -35,6 +45,33 @@ public class CacheConfiguration {
                 .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
                 .build()
         );
+        jwtCacheConfiguration = jwtCacheConfiguration(applicationProperties.getJwtCache().getMaxEntries());
+        jwtCacheEnabled = applicationProperties.getJwtCache().isEnabled();
+        // serialized outside of the heap, so serving thumbnails does not churn it
+        avatarVariantsCacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class,
+                Object.class,
+                ResourcePoolsBuilder.newResourcePoolsBuilder()
+                    .offheap(applicationProperties.getAvatarVariants().getOffHeapSize().toMegabytes(), MemoryUnit.MB)
+            )
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
+                .build()
+        );
+    }
+
+    /**
+     * Configuration of the cache of verified tokens, each token expiring with its {@code exp} claim.
+     *
+     * @param maxEntries the number of tokens kept on heap.
+     * @return the cache configuration.
+     */
+    public static javax.cache.configuration.Configuration<Object, Object> jwtCacheConfiguration(long maxEntries) {
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(new JwtExpiryPolicy())
+                .build()
+        );
     }
 
     @Bean
@@ -61,17 +98,29 @@ public class CacheConfiguration {
             createCache(cm, com.mycompany.reservation.domain.Payment.class.getName());
             createCache(cm, com.mycompany.reservation.domain.FinanceDocument.class.getName());
             createCache(cm, com.mycompany.reservation.domain.FinanceEntry.class.getName());
-            createCache(cm, com.mycompany.reservation.service.ReservationService.CUSTOMER_RESERVATION_SUMMARY_CACHE);
+            createCache(cm, com.mycompany.reservation.service.CustomerSummaryCache.CACHE_NAME);
             // jhipster-needle-ehcache-add-entry
+            createCache(cm, AvatarVariantService.CACHE_NAME, avatarVariantsCacheConfiguration);
+            if (jwtCacheEnabled) {
+                createCache(cm, CachingJwtDecoder.CACHE_NAME, jwtCacheConfiguration);
+            }
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
     }
 
@@ -89,4 +138,29 @@ public class CacheConfiguration {
     public KeyGenerator keyGenerator() {
         return new PrefixedKeyGenerator(this.gitProperties, this.buildProperties);
     }
+
+    /**
+     * Expires a cached {@link Jwt} at its {@code exp} claim, keeping it until then whatever the reads and updates.
+     */
+    private static final class JwtExpiryPolicy implements ExpiryPolicy<Object, Object> {
+
+        @Override
+        public Duration getExpiryForCreation(Object key, Object value) {
+            if (value instanceof Jwt jwt && jwt.getExpiresAt() != null) {
+                Duration remaining = Duration.between(Instant.now(), jwt.getExpiresAt());
+                return remaining.isNegative() ? Duration.ZERO : remaining;
+            }
+            return Duration.ZERO;
+        }
+
+        @Override
+        public Duration getExpiryForAccess(Object key, Supplier<?> value) {
+            return null;
+        }
+
+        @Override
+        public Duration getExpiryForUpdate(Object key, Supplier<?> oldValue, Object newValue) {
+            return getExpiryForCreation(key, newValue);
+        }
+    }
 }
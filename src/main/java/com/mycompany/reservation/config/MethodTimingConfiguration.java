@@ -0,0 +1,34 @@
+package com.mycompany.reservation.config;
+
+import com.mycompany.reservation.aop.timing.MethodTimingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.Ordered;
+
+/**
+ * Times the methods the logging aspect logs, see {@link MethodTimingInterceptor}.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.method-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MethodTimingConfiguration {
+
+    private static final String LOGGING_ASPECT = "com.mycompany.reservation.aop.logging.LoggingAspect";
+
+    @Bean
+    public static Advisor methodTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(LOGGING_ASPECT + ".applicationPackagePointcut() && " + LOGGING_ASPECT + ".springBeanPointcut()");
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new MethodTimingInterceptor(meterRegistry::getObject));
+        // outside the transaction advice, so commits are part of the timing
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -3,6 +3,7 @@ package com.mycompany.reservation.config;
 import static com.mycompany.reservation.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.mycompany.reservation.management.SecurityMetersService;
+import com.mycompany.reservation.security.CachingJwtDecoder;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 
@@ -11,7 +12,10 @@ import javax.crypto.spec.SecretKeySpec;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -28,7 +32,17 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(SecurityMetersService metersService, ObjectProvider<CacheManager> cacheManager) {
+        JwtDecoder jwtDecoder = jwtDecoder(metersService);
+        // the cache of verified tokens is only created when application.jwt-cache is enabled
+        Cache cache = cacheManager.stream().map(manager -> manager.getCache(CachingJwtDecoder.CACHE_NAME)).findFirst().orElse(null);
+        return cache != null ? new CachingJwtDecoder(jwtDecoder, cache, metersService) : jwtDecoder;
+    }
+
+    /**
+     * Decoder verifying every token, counting the invalid ones.
+     */
+    JwtDecoder jwtDecoder(SecurityMetersService metersService) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
         return token -> {
             try {
@@ -0,0 +1,48 @@
+package com.mycompany.reservation.config;
+
+import com.mycompany.reservation.aop.logging.SlowCallBuffer;
+import com.mycompany.reservation.aop.logging.SlowCallInterceptor;
+import com.mycompany.reservation.management.SlowCallsEndpoint;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.Ordered;
+
+/**
+ * Keeps the most recent slow calls of the methods the logging aspect logs, see {@link SlowCallInterceptor}, and lists them
+ * under {@code /management/slowcalls}.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.slow-calls", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowCallConfiguration {
+
+    private static final String LOGGING_ASPECT = "com.mycompany.reservation.aop.logging.LoggingAspect";
+
+    @Bean
+    public SlowCallBuffer slowCallBuffer(ApplicationProperties applicationProperties) {
+        return new SlowCallBuffer(applicationProperties.getSlowCalls().getCapacity());
+    }
+
+    @Bean
+    public Advisor slowCallAdvisor(SlowCallBuffer slowCallBuffer, ApplicationProperties applicationProperties) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(LOGGING_ASPECT + ".applicationPackagePointcut() && " + LOGGING_ASPECT + ".springBeanPointcut()");
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            pointcut,
+            new SlowCallInterceptor(slowCallBuffer, applicationProperties.getSlowCalls().getThreshold())
+        );
+        // right inside the timing advice, so both see the same calls, commits included
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+
+    @Bean
+    public SlowCallsEndpoint slowCallsEndpoint(SlowCallBuffer slowCallBuffer) {
+        return new SlowCallsEndpoint(slowCallBuffer);
+    }
+}
@@ -0,0 +1,52 @@
+package com.mycompany.reservation.config;
+
+import com.mycompany.reservation.management.InstrumentedDataSource;
+import com.mycompany.reservation.management.SqlMetersService;
+import com.mycompany.reservation.web.filter.SqlMetricsInterceptor;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Counts the JDBC statements, rows and database time of every request, see
+ * {@link com.mycompany.reservation.management.SqlRequestStats}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.sql-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMetricsConfiguration implements WebMvcConfigurer {
+
+    private final SqlMetersService sqlMetersService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public SqlMetricsConfiguration(SqlMetersService sqlMetersService, ApplicationProperties applicationProperties) {
+        this.sqlMetersService = sqlMetersService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Wrap the data sources, reading the properties only once the first one is created so they are bound by then.
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<ApplicationProperties> applicationProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, applicationProperties.getObject().getSqlMetrics().getSlowQueryThreshold());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlMetricsInterceptor(sqlMetersService, applicationProperties.getSqlMetrics().isServerTiming()));
+    }
+}
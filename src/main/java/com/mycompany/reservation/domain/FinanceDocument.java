@@ -36,11 +36,33 @@ public class FinanceDocument implements Serializable {
     @Column(name = "file_size", nullable = false)
     private Long size;
 
+    /**
+     * Key of the content in the {@code BlobStore}, {@code null} for the documents not migrated off {@link #legacyData} yet.
+     */
+    @JsonIgnore
+    @Column(name = "blob_key")
+    private String blobKey;
+
+    /**
+     * Large object holding the content of the documents uploaded before the blob store, mapped as its oid so loading a document
+     * does not read it.
+     */
+    @JsonIgnore
+    @Column(name = "data")
+    private Long legacyData;
+
+    /**
+     * HTTP content-coding of the content at rest, {@code gzip} or {@code identity}.
+     */
+    @NotNull
+    @JsonIgnore
+    @Column(name = "content_encoding", length = 16, nullable = false)
+    private String contentEncoding;
+
     @NotNull
-    @Lob
     @JsonIgnore
-    @Column(name = "data", nullable = false)
-    private byte[] data;
+    @Column(name = "content_sha256", length = 64, nullable = false)
+    private String contentSha256;
 
     @Column(name = "uploaded_at")
     private Instant uploadedAt;
@@ -99,17 +121,51 @@ public class FinanceDocument implements Serializable {
         this.size = size;
     }
 
-    public byte[] getData() {
-        return this.data;
+    public String getBlobKey() {
+        return this.blobKey;
+    }
+
+    public FinanceDocument blobKey(String blobKey) {
+        this.setBlobKey(blobKey);
+        return this;
+    }
+
+    public void setBlobKey(String blobKey) {
+        this.blobKey = blobKey;
+    }
+
+    public Long getLegacyData() {
+        return this.legacyData;
+    }
+
+    public void setLegacyData(Long legacyData) {
+        this.legacyData = legacyData;
+    }
+
+    public String getContentEncoding() {
+        return this.contentEncoding;
+    }
+
+    public FinanceDocument contentEncoding(String contentEncoding) {
+        this.setContentEncoding(contentEncoding);
+        return this;
+    }
+
+    public void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    public String getContentSha256() {
+        return this.contentSha256;
     }
 
-    public FinanceDocument data(byte[] data) {
-        this.setData(data);
+    public FinanceDocument contentSha256(String contentSha256) {
+        this.setContentSha256(contentSha256);
         return this;
     }
 
-    public void setData(byte[] data) {
-        this.data = data;
+    public void setContentSha256(String contentSha256) {
+        this.contentSha256 = contentSha256;
     }
 
     public Instant getUploadedAt() {
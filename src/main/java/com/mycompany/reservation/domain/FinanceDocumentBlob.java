@@ -0,0 +1,99 @@
+package com.mycompany.reservation.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+/**
+ * A distinct content in the blob store, shared by the {@link FinanceDocument}s with the same SHA-256 and deleted with the
+ * last of them.
+ */
+@Entity
+@Table(name = "finance_document_blob")
+public class FinanceDocumentBlob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    @Column(name = "blob_key", length = 36, nullable = false, unique = true)
+    private String blobKey;
+
+    @Column(name = "file_size", nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "content_encoding", length = 16, nullable = false)
+    private String contentEncoding;
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public String getBlobKey() {
+        return blobKey;
+    }
+
+    public void setBlobKey(String blobKey) {
+        this.blobKey = blobKey;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    public void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FinanceDocumentBlob)) {
+            return false;
+        }
+        return sha256 != null && sha256.equals(((FinanceDocumentBlob) o).sha256);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FinanceDocumentBlob{" +
+            "sha256='" + sha256 + "'" +
+            ", blobKey='" + blobKey + "'" +
+            ", size=" + size +
+            ", refCount=" + refCount +
+            ", contentEncoding='" + contentEncoding + "'" +
+            "}";
+    }
+}
@@ -39,6 +39,9 @@ public class Reservation implements Serializable {
     @Column(name = "notes")
     private String notes;
 
+    @Column(name = "end_date")
+    private ZonedDateTime endDate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "business" }, allowSetters = true)
     private OfferedService service;
@@ -109,6 +112,19 @@ public class Reservation implements Serializable {
         this.notes = notes;
     }
 
+    public ZonedDateTime getEndDate() {
+        return this.endDate;
+    }
+
+    public Reservation endDate(ZonedDateTime endDate) {
+        this.setEndDate(endDate);
+        return this;
+    }
+
+    public void setEndDate(ZonedDateTime endDate) {
+        this.endDate = endDate;
+    }
+
     public OfferedService getService() {
         return this.service;
     }
@@ -188,6 +204,7 @@ public class Reservation implements Serializable {
             ", date='" + getDate() + "'" +
             ", status='" + getStatus() + "'" +
             ", notes='" + getNotes() + "'" +
+            ", endDate='" + getEndDate() + "'" +
             ", user=" + (getUser() != null ? getUser().getId() : null) +
             "}";
     }
@@ -0,0 +1,82 @@
+package com.mycompany.reservation.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * The serialized HyperLogLog sketch of the customers with {@link Reservation}s of a business on one UTC day.
+ */
+@Entity
+@Table(name = "reservation_customer_sketch")
+public class ReservationCustomerSketch implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "business_id")
+    private Long businessId;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "registers", nullable = false)
+    private byte[] registers;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getBusinessId() {
+        return businessId;
+    }
+
+    public void setBusinessId(Long businessId) {
+        this.businessId = businessId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public void setRegisters(byte[] registers) {
+        this.registers = registers;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReservationCustomerSketch)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((ReservationCustomerSketch) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ReservationCustomerSketch{" + "businessId=" + getBusinessId() + ", day='" + getDay() + "'" + "}";
+    }
+}
@@ -0,0 +1,91 @@
+package com.mycompany.reservation.domain;
+
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The number of {@link Reservation}s of a business in one status on one UTC day.
+ * <p>
+ * Rows are maintained by database triggers on the {@code reservation} table and are never written through JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "reservation_daily_rollup")
+public class ReservationDailyRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "business_id")
+    private Long businessId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ReservationStatus status;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "reservations", nullable = false)
+    private long reservations;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getBusinessId() {
+        return businessId;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public long getReservations() {
+        return reservations;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReservationDailyRollup)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((ReservationDailyRollup) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "ReservationDailyRollup{" +
+            "businessId=" +
+            getBusinessId() +
+            ", status='" +
+            getStatus() +
+            "'" +
+            ", day='" +
+            getDay() +
+            "'" +
+            ", reservations=" +
+            getReservations() +
+            "}"
+        );
+    }
+}
@@ -69,14 +69,6 @@ public class User extends AbstractAuditingEntity<Long> implements Serializable {
     @Column(name = "image_url", length = 256)
     private String imageUrl;
 
-    @Lob
-    @Column(name = "profile_image")
-    private byte[] profileImage;
-
-    @Size(max = 128)
-    @Column(name = "profile_image_content_type", length = 128)
-    private String profileImageContentType;
-
     @Size(max = 20)
     @Column(name = "activation_key", length = 20)
     @JsonIgnore
@@ -158,22 +150,6 @@ public class User extends AbstractAuditingEntity<Long> implements Serializable {
         this.imageUrl = imageUrl;
     }
 
-    public byte[] getProfileImage() {
-        return profileImage;
-    }
-
-    public void setProfileImage(byte[] profileImage) {
-        this.profileImage = profileImage;
-    }
-
-    public String getProfileImageContentType() {
-        return profileImageContentType;
-    }
-
-    public void setProfileImageContentType(String profileImageContentType) {
-        this.profileImageContentType = profileImageContentType;
-    }
-
     public boolean isActivated() {
         return activated;
     }
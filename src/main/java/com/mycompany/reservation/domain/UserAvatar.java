@@ -0,0 +1,96 @@
+package com.mycompany.reservation.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The avatar image of a {@link User}, kept apart from the user so that loading and caching users never reads the image.
+ * <p>
+ * Not cached in the second level cache: the images are only read to be served.
+ */
+@Entity
+@Table(name = "user_avatar")
+public class UserAvatar implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Size(max = 128)
+    @Column(name = "content_type", length = 128)
+    private String contentType;
+
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+
+    @Column(name = "content_sha256", length = 64, nullable = false)
+    private String contentSha256;
+
+    @Column(name = "uploaded_at")
+    private Instant uploadedAt;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public String getContentSha256() {
+        return contentSha256;
+    }
+
+    public void setContentSha256(String contentSha256) {
+        this.contentSha256 = contentSha256;
+    }
+
+    public Instant getUploadedAt() {
+        return uploadedAt;
+    }
+
+    public void setUploadedAt(Instant uploadedAt) {
+        this.uploadedAt = uploadedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserAvatar)) {
+            return false;
+        }
+        return getUserId() != null && getUserId().equals(((UserAvatar) o).getUserId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UserAvatar{" + "userId=" + userId + ", contentType='" + contentType + "'" + ", uploadedAt='" + uploadedAt + "'" + "}";
+    }
+}
@@ -0,0 +1,81 @@
+package com.mycompany.reservation.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+/**
+ * A square PNG thumbnail of a {@link UserAvatar}, {@code size} pixels wide.
+ */
+@Entity
+@Table(name = "user_avatar_variant")
+public class UserAvatarVariant implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "size", nullable = false)
+    private int size;
+
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserAvatarVariant)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((UserAvatarVariant) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UserAvatarVariant{" + "userId=" + getUserId() + ", size=" + getSize() + "}";
+    }
+}
@@ -0,0 +1,26 @@
+package com.mycompany.reservation.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BlobStoreMetersService {
+
+    public static final String DEDUPLICATED_METER_NAME = "app.blob-store.deduplicated";
+    public static final String DEDUPLICATED_METER_DESCRIPTION =
+        "Bytes of uploaded content not stored again, an identical content being stored already.";
+
+    private final Counter deduplicated;
+
+    public BlobStoreMetersService(MeterRegistry registry) {
+        this.deduplicated = Counter.builder(DEDUPLICATED_METER_NAME)
+            .description(DEDUPLICATED_METER_DESCRIPTION)
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    public void trackDeduplicated(long bytes) {
+        deduplicated.increment(bytes);
+    }
+}
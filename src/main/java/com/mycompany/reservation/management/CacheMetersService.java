@@ -0,0 +1,63 @@
+package com.mycompany.reservation.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CacheMetersService {
+
+    public static final String CACHE_GETS_METER_NAME = "app.cache.gets";
+    public static final String CACHE_GETS_METER_DESCRIPTION = "Number of lookups of application managed caches, by result.";
+    public static final String CACHE_HIT_RATIO_METER_NAME = "app.cache.hit-ratio";
+    public static final String CACHE_HIT_RATIO_METER_DESCRIPTION = "Share of lookups of application managed caches that were hits.";
+    public static final String CACHE_DIMENSION = "cache";
+    public static final String RESULT_DIMENSION = "result";
+
+    private final MeterRegistry registry;
+
+    private final ConcurrentMap<String, CacheMeters> meters = new ConcurrentHashMap<>();
+
+    public CacheMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void trackHit(String cacheName) {
+        metersOf(cacheName).hits.increment();
+    }
+
+    public void trackMiss(String cacheName) {
+        metersOf(cacheName).misses.increment();
+    }
+
+    private CacheMeters metersOf(String cacheName) {
+        return meters.computeIfAbsent(cacheName, this::register);
+    }
+
+    private CacheMeters register(String cacheName) {
+        CacheMeters cacheMeters = new CacheMeters(getsCounter(cacheName, "hit"), getsCounter(cacheName, "miss"));
+        Gauge.builder(CACHE_HIT_RATIO_METER_NAME, cacheMeters, CacheMeters::hitRatio)
+            .description(CACHE_HIT_RATIO_METER_DESCRIPTION)
+            .tag(CACHE_DIMENSION, cacheName)
+            .register(registry);
+        return cacheMeters;
+    }
+
+    private Counter getsCounter(String cacheName, String result) {
+        return Counter.builder(CACHE_GETS_METER_NAME)
+            .description(CACHE_GETS_METER_DESCRIPTION)
+            .tag(CACHE_DIMENSION, cacheName)
+            .tag(RESULT_DIMENSION, result)
+            .register(registry);
+    }
+
+    private record CacheMeters(Counter hits, Counter misses) {
+        double hitRatio() {
+            double total = hits.count() + misses.count();
+            return total == 0 ? 0 : hits.count() / total;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.mycompany.reservation.management;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source counting, for the request the current thread serves, the statements executed, the rows read and the time
+ * spent executing statements, see {@link SqlRequestStats}.
+ * <p>
+ * Statements slower than the threshold are logged with the endpoint that ran them, whether a request is counted or not.
+ * Connections, statements and result sets are wrapped in JDK proxies; everything but executing statements and moving result
+ * sets forward goes straight to the pooled objects.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InstrumentedDataSource.class);
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 2000;
+
+    private final long slowQueryThresholdNanos;
+
+    public InstrumentedDataSource(DataSource targetDataSource, Duration slowQueryThreshold) {
+        super(targetDataSource);
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private void recordStatement(String sql, long elapsedNanos) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.recordStatement(elapsedNanos);
+        }
+        if (elapsedNanos >= slowQueryThresholdNanos) {
+            LOG.warn(
+                "Slow SQL statement ({} ms) for {}: {}",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                stats != null ? stats.getEndpoint() : "no request",
+                sql != null && sql.length() > MAX_LOGGED_SQL_LENGTH ? sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "..." : sql
+            );
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    /**
+     * Answers for the identity of the proxy and forwards everything else to the wrapped JDBC object.
+     */
+    private abstract static class Handler implements InvocationHandler {
+
+        private final Object target;
+
+        private Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || (boolean) forward(method, args);
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : forward(method, args);
+                default:
+                    return handle(proxy, method, args);
+            }
+        }
+
+        abstract Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+
+        final Object forward(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private final class ConnectionHandler extends Handler {
+
+        private ConnectionHandler(Connection connection) {
+            super(connection);
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = forward(method, args);
+            Connection connection = (Connection) proxy;
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, new StatementHandler(statement, connection, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, new StatementHandler(statement, connection, (String) args[0]));
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, new StatementHandler(statement, connection, null));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler extends Handler {
+
+        private final Connection connection;
+
+        private final String preparedSql;
+
+        private StatementHandler(Statement statement, Connection connection, String preparedSql) {
+            super(statement);
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            Object result;
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String statementSql ? statementSql : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    result = forward(method, args);
+                } finally {
+                    recordStatement(sql, System.nanoTime() - start);
+                }
+            } else {
+                result = forward(method, args);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return wrap(ResultSet.class, new ResultSetHandler(resultSet));
+            }
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler extends Handler {
+
+        private ResultSetHandler(ResultSet resultSet) {
+            super(resultSet);
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = forward(method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                SqlRequestStats stats = SqlRequestStats.current();
+                if (stats != null) {
+                    stats.recordRow();
+                }
+            }
+            return result;
+        }
+    }
+}
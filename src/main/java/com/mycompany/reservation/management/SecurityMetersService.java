@@ -1,6 +1,7 @@
 package com.mycompany.reservation.management;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
@@ -13,16 +14,29 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_GETS_METER_NAME = "security.authentication.token-cache.gets";
+    public static final String TOKEN_CACHE_GETS_METER_DESCRIPTION = "Number of lookups of the cache of verified tokens, by result.";
+    public static final String TOKEN_CACHE_HIT_RATIO_METER_NAME = "security.authentication.token-cache.hit-ratio";
+    public static final String TOKEN_CACHE_HIT_RATIO_METER_DESCRIPTION = "Share of the presented tokens found verified in the cache.";
+    public static final String TOKEN_CACHE_RESULT_DIMENSION = "result";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
 
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.tokenCacheHitCounter = tokenCacheGetsCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheGetsCounterForResultBuilder("miss").register(registry);
+        Gauge.builder(TOKEN_CACHE_HIT_RATIO_METER_NAME, this, SecurityMetersService::tokenCacheHitRatio)
+            .description(TOKEN_CACHE_HIT_RATIO_METER_DESCRIPTION)
+            .register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -32,6 +46,17 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenCacheGetsCounterForResultBuilder(String result) {
+        return Counter.builder(TOKEN_CACHE_GETS_METER_NAME)
+            .description(TOKEN_CACHE_GETS_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_RESULT_DIMENSION, result);
+    }
+
+    private double tokenCacheHitRatio() {
+        double total = tokenCacheHitCounter.count() + tokenCacheMissCounter.count();
+        return total == 0 ? 0 : tokenCacheHitCounter.count() / total;
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -47,4 +72,12 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
 }
@@ -0,0 +1,31 @@
+package com.mycompany.reservation.management;
+
+import com.mycompany.reservation.aop.logging.SlowCall;
+import com.mycompany.reservation.aop.logging.SlowCallBuffer;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Lists the most recent slow service, repository and REST calls under {@code /management/slowcalls}, slowest first.
+ */
+@Endpoint(id = "slowcalls")
+public class SlowCallsEndpoint {
+
+    private final SlowCallBuffer buffer;
+
+    public SlowCallsEndpoint(SlowCallBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @ReadOperation
+    public List<SlowCall> slowCalls() {
+        return buffer.slowestFirst();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        buffer.clear();
+    }
+}
@@ -0,0 +1,65 @@
+package com.mycompany.reservation.management;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SqlMetersService {
+
+    public static final String STATEMENTS_METER_NAME = "app.sql.request.statements";
+    public static final String STATEMENTS_METER_DESCRIPTION = "Number of JDBC statements executed per request, by controller method.";
+    public static final String ROWS_METER_NAME = "app.sql.request.rows";
+    public static final String ROWS_METER_DESCRIPTION = "Number of rows read per request, by controller method.";
+    public static final String TIME_METER_NAME = "app.sql.request.time";
+    public static final String TIME_METER_DESCRIPTION = "Time spent executing JDBC statements per request, by controller method.";
+    public static final String CONTROLLER_DIMENSION = "controller";
+    public static final String METHOD_DIMENSION = "method";
+
+    private final MeterRegistry registry;
+
+    private final ConcurrentMap<String, RequestMeters> meters = new ConcurrentHashMap<>();
+
+    public SqlMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(SqlRequestStats stats) {
+        RequestMeters requestMeters = meters.computeIfAbsent(stats.getEndpoint(), endpoint -> register(stats));
+        requestMeters.statements.record(stats.getStatements());
+        requestMeters.rows.record(stats.getRows());
+        requestMeters.time.record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private RequestMeters register(SqlRequestStats stats) {
+        // the buckets put the usual N+1 shapes (one statement per row of a page) in their own ranges
+        DistributionSummary statements = DistributionSummary.builder(STATEMENTS_METER_NAME)
+            .description(STATEMENTS_METER_DESCRIPTION)
+            .baseUnit("statements")
+            .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+            .tag(CONTROLLER_DIMENSION, stats.getController())
+            .tag(METHOD_DIMENSION, stats.getMethod())
+            .register(registry);
+        DistributionSummary rows = DistributionSummary.builder(ROWS_METER_NAME)
+            .description(ROWS_METER_DESCRIPTION)
+            .baseUnit("rows")
+            .serviceLevelObjectives(1, 10, 100, 1000, 10000)
+            .tag(CONTROLLER_DIMENSION, stats.getController())
+            .tag(METHOD_DIMENSION, stats.getMethod())
+            .register(registry);
+        Timer time = Timer.builder(TIME_METER_NAME)
+            .description(TIME_METER_DESCRIPTION)
+            .serviceLevelObjectives(Duration.ofMillis(5), Duration.ofMillis(25), Duration.ofMillis(100), Duration.ofMillis(500))
+            .tag(CONTROLLER_DIMENSION, stats.getController())
+            .tag(METHOD_DIMENSION, stats.getMethod())
+            .register(registry);
+        return new RequestMeters(statements, rows, time);
+    }
+
+    private record RequestMeters(DistributionSummary statements, DistributionSummary rows, Timer time) {}
+}
@@ -0,0 +1,100 @@
+package com.mycompany.reservation.management;
+
+import java.util.Locale;
+
+/**
+ * JDBC work done while serving a request: statements executed, rows read and time spent waiting for the database.
+ * <p>
+ * Bound to the thread serving the request between {@link #start(String, String)} and {@link #stop()}, and filled by
+ * {@link InstrumentedDataSource}. Work done by other threads, such as streamed or asynchronous responses, is not counted.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final String controller;
+
+    private final String method;
+
+    private long statements;
+
+    private long rows;
+
+    private long nanos;
+
+    private SqlRequestStats(String controller, String method) {
+        this.controller = controller;
+        this.method = method;
+    }
+
+    /**
+     * Start counting for the current thread.
+     *
+     * @param controller the simple name of the controller serving the request.
+     * @param method the name of the handler method.
+     * @return the stats of the request.
+     */
+    public static SqlRequestStats start(String controller, String method) {
+        SqlRequestStats stats = new SqlRequestStats(controller, method);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return the stats of the request served by the current thread, {@code null} if none is being counted.
+     */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop counting for the current thread.
+     *
+     * @return the stats of the request, {@code null} if none was being counted.
+     */
+    public static SqlRequestStats stop() {
+        SqlRequestStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void recordStatement(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public String getController() {
+        return controller;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getEndpoint() {
+        return controller + "#" + method;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return the value of a {@code Server-Timing} header reporting the stats.
+     */
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d statements, %d rows\"", nanos / 1e6, statements, rows);
+    }
+}
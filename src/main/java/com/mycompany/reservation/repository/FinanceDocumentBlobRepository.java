@@ -0,0 +1,76 @@
+package com.mycompany.reservation.repository;
+
+import com.mycompany.reservation.domain.FinanceDocumentBlob;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link FinanceDocumentBlob} entity.
+ * <p>
+ * The native statements name the table they change, so Hibernate does not evict the whole second level cache after them.
+ */
+@Repository
+public interface FinanceDocumentBlobRepository extends JpaRepository<FinanceDocumentBlob, String> {
+    /**
+     * Add a reference to a content, registering it with the given blob if it is not stored yet.
+     *
+     * @return the blob holding the content: {@code blobKey} in {@code contentEncoding}, or the blob already holding it.
+     */
+    @Query(
+        value = """
+            insert into finance_document_blob (sha256, blob_key, file_size, ref_count, content_encoding)
+            values (:sha256, :blobKey, :size, 1, :contentEncoding)
+            on conflict (sha256) do update set ref_count = finance_document_blob.ref_count + 1
+            returning blob_key as "blobKey", content_encoding as "contentEncoding"
+        """,
+        nativeQuery = true
+    )
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "finance_document_blob"))
+    BlobReference reference(
+        @Param("sha256") String sha256,
+        @Param("blobKey") String blobKey,
+        @Param("size") long size,
+        @Param("contentEncoding") String contentEncoding
+    );
+
+    @Modifying
+    @Query(value = "update finance_document_blob set ref_count = ref_count - 1 where blob_key = :blobKey", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "finance_document_blob"))
+    int release(@Param("blobKey") String blobKey);
+
+    @Modifying
+    @Query(value = "delete from finance_document_blob where blob_key = :blobKey and ref_count <= 0", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "finance_document_blob"))
+    int deleteUnreferenced(@Param("blobKey") String blobKey);
+
+    /**
+     * The first keys recorded in {@code finance_document_orphan_blob}: copies of duplicate contents left in the blob store when
+     * their documents were pointed at another copy.
+     */
+    @Query(value = "select blob_key from finance_document_orphan_blob order by blob_key limit :limit", nativeQuery = true)
+    List<String> findOrphanKeys(@Param("limit") int limit);
+
+    @Query(
+        value = """
+            select exists (select 1 from finance_document_blob where blob_key = :blobKey)
+            or exists (select 1 from finance_document where blob_key = :blobKey)
+        """,
+        nativeQuery = true
+    )
+    boolean isReferenced(@Param("blobKey") String blobKey);
+
+    @Modifying
+    @Query(value = "delete from finance_document_orphan_blob where blob_key = :blobKey", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "finance_document_orphan_blob"))
+    int forgetOrphan(@Param("blobKey") String blobKey);
+
+    interface BlobReference {
+        String getBlobKey();
+
+        String getContentEncoding();
+    }
+}
@@ -1,11 +1,40 @@
 package com.mycompany.reservation.repository;
 
 import com.mycompany.reservation.domain.FinanceDocument;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data JPA repository for the FinanceDocument entity.
  */
 @Repository
-public interface FinanceDocumentRepository extends JpaRepository<FinanceDocument, Long> {}
+public interface FinanceDocumentRepository extends JpaRepository<FinanceDocument, Long> {
+    @Query(
+        "select d.contentSha256 as contentSha256, d.uploadedAt as uploadedAt, d.contentEncoding as contentEncoding " +
+        "from FinanceDocument d where d.id = :id"
+    )
+    Optional<VersionProjection> findVersionById(@Param("id") Long id);
+
+    @Query("select d.id from FinanceDocument d where d.blobKey is null order by d.id")
+    List<Long> findIdsNotInBlobStore(Pageable pageable);
+
+    @Query(value = "select lo_get(cast(:oid as oid))", nativeQuery = true)
+    byte[] readLargeObject(@Param("oid") long oid);
+
+    @Query(value = "select lo_unlink(cast(:oid as oid))", nativeQuery = true)
+    int unlinkLargeObject(@Param("oid") long oid);
+
+    interface VersionProjection {
+        String getContentSha256();
+
+        Instant getUploadedAt();
+
+        String getContentEncoding();
+    }
+}
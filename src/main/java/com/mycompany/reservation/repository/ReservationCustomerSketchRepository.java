@@ -0,0 +1,50 @@
+package com.mycompany.reservation.repository;
+
+import com.mycompany.reservation.domain.ReservationCustomerSketch;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ReservationCustomerSketch entity.
+ */
+@Repository
+public interface ReservationCustomerSketchRepository extends JpaRepository<ReservationCustomerSketch, Long> {
+    @Modifying
+    @Query(
+        value = """
+            insert into reservation_customer_sketch (business_id, day, registers)
+            values (:businessId, :day, :registers)
+            on conflict (business_id, day) do nothing
+        """,
+        nativeQuery = true
+    )
+    int insertIfMissing(@Param("businessId") Long businessId, @Param("day") LocalDate day, @Param("registers") byte[] registers);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ReservationCustomerSketch s where s.businessId = :businessId and s.day = :day")
+    Optional<ReservationCustomerSketch> lockByBusinessIdAndDay(@Param("businessId") Long businessId, @Param("day") LocalDate day);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ReservationCustomerSketch s where s.businessId is null and s.day = :day")
+    Optional<ReservationCustomerSketch> lockWithoutBusinessByDay(@Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = "delete from reservation_customer_sketch where day >= :from and day < :to", nativeQuery = true)
+    int deleteDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query(
+        value = """
+            select distinct business_id, date::date, customer_id
+            from reservation
+            where date >= :from and date < :to and customer_id is not null
+        """,
+        nativeQuery = true
+    )
+    List<Object[]> findBusinessDayCustomers(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
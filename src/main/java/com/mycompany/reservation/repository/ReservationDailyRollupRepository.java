@@ -0,0 +1,44 @@
+package com.mycompany.reservation.repository;
+
+import com.mycompany.reservation.domain.ReservationDailyRollup;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ReservationDailyRollup entity.
+ */
+@Repository
+public interface ReservationDailyRollupRepository extends JpaRepository<ReservationDailyRollup, Long> {
+    /**
+     * Block reservation writes until the end of the transaction, so rollups can be recomputed from a stable table.
+     */
+    @Modifying
+    @Query(value = "lock table reservation in share mode", nativeQuery = true)
+    void lockReservations();
+
+    @Modifying
+    @Query(value = "delete from reservation_daily_rollup where day >= :from and day < :to", nativeQuery = true)
+    int deleteDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(
+        value = """
+            insert into reservation_daily_rollup (business_id, status, day, reservations)
+            select business_id, status, date::date, count(*)
+            from reservation
+            where date >= :from and date < :to
+            group by business_id, status, date::date
+        """,
+        nativeQuery = true
+    )
+    int insertDays(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "select min(date)::date from reservation", nativeQuery = true)
+    LocalDate findFirstReservationDay();
+
+    @Query(value = "select max(date)::date from reservation", nativeQuery = true)
+    LocalDate findLastReservationDay();
+}
@@ -2,10 +2,14 @@ package com.mycompany.reservation.repository;
 
 import com.mycompany.reservation.domain.Reservation;
 import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -20,70 +24,155 @@ import org.springframework.stereotype.Repository;
 public interface ReservationRepository extends JpaRepository<Reservation, Long>, JpaSpecificationExecutor<Reservation> {
     Page<Reservation> findAllByCustomerId(Long customerId, Pageable pageable);
 
-    long countByCustomerId(Long customerId);
-
-    long countByCustomerIdAndDateAfter(Long customerId, ZonedDateTime date);
-
-    Optional<Reservation> findFirstByCustomerIdOrderByDateDesc(Long customerId);
-
-    Optional<Reservation> findFirstByCustomerIdAndDateAfterOrderByDateAsc(Long customerId, ZonedDateTime date);
-
     Page<Reservation> findAllByUserLogin(String login, Pageable pageable);
 
-    @Query("select r.status as status, count(r) as total from Reservation r where r.customer.id = :customerId group by r.status")
-    List<StatusCountProjection> countByCustomerGroupedByStatus(@Param("customerId") Long customerId);
+    /**
+     * Summarize the reservations of a customer in one round trip.
+     *
+     * @return the summary, empty if the customer does not exist.
+     */
+    @Query(
+        """
+            select c.firstName as firstName,
+                   c.lastName as lastName,
+                   count(r) as total,
+                   count(r) filter (where r.date > :now) as upcoming,
+                   count(r) filter (where r.status = com.mycompany.reservation.domain.enumeration.ReservationStatus.PENDING) as pending,
+                   count(r) filter (where r.status = com.mycompany.reservation.domain.enumeration.ReservationStatus.CONFIRMED) as confirmed,
+                   count(r) filter (where r.status = com.mycompany.reservation.domain.enumeration.ReservationStatus.COMPLETED) as completed,
+                   count(r) filter (where r.status = com.mycompany.reservation.domain.enumeration.ReservationStatus.CANCELLED) as cancelled,
+                   max(r.date) as lastDate,
+                   min(r.date) filter (where r.date > :now) as nextDate
+            from Customer c
+            left join Reservation r on r.customer = c
+            where c.id = :customerId
+            group by c.id, c.firstName, c.lastName
+        """
+    )
+    Optional<CustomerSummaryProjection> summarizeCustomer(@Param("customerId") Long customerId, @Param("now") ZonedDateTime now);
 
     @Query(
         """
-            select r.status as status, count(r) as total
+            select r.id as id, r.date as date, r.endDate as endDate, s.id as serviceId, s.duration as duration
             from Reservation r
-            where (:customerId is null or r.customer.id = :customerId)
-              and (:businessId is null or r.business.id = :businessId)
-              and (:status is null or r.status = :status)
-              and (:startDate is null or r.date >= :startDate)
-              and (:endDate is null or r.date <= :endDate)
-            group by r.status
+            left join r.service s
+            where (r.business.id = :businessId or (r.business is null and s.business.id = :businessId))
+              and r.status in :statuses
+              and r.date >= :from
         """
     )
-    List<StatusCountProjection> countByFilters(
-        @Param("customerId") Long customerId,
+    List<TimelineEntryProjection> findTimelineEntries(
         @Param("businessId") Long businessId,
-        @Param("status") ReservationStatus status,
-        @Param("startDate") ZonedDateTime startDate,
-        @Param("endDate") ZonedDateTime endDate
+        @Param("statuses") Collection<ReservationStatus> statuses,
+        @Param("from") ZonedDateTime from
     );
 
     @Query(
         """
-            select count(distinct r.customer.id)
+            select count(r) > 0
             from Reservation r
-            where (:businessId is null or r.business.id = :businessId)
+            where r.business.id = :businessId
+              and r.status in :statuses
+              and r.date < :end
+              and r.endDate > :start
+              and (:excludeId is null or r.id <> :excludeId)
         """
     )
-    long countDistinctCustomersByFilters(
+    boolean existsOverlapping(
         @Param("businessId") Long businessId,
-        @Param("startDate") ZonedDateTime startDate,
-        @Param("endDate") ZonedDateTime endDate
+        @Param("statuses") Collection<ReservationStatus> statuses,
+        @Param("start") ZonedDateTime start,
+        @Param("end") ZonedDateTime end,
+        @Param("excludeId") Long excludeId
     );
 
+    /**
+     * Find which of many windows overlap a stored slot-blocking reservation of their business, in one query looking each
+     * window up through the index of the {@code ex_reservation_business_slot} constraint.
+     *
+     * @param businessIds the business of each window.
+     * @param startMicros the start of each window, in microseconds since the epoch.
+     * @param endMicros the end of each window, in microseconds since the epoch.
+     * @return the positions of the overlapping windows, counted from 1.
+     */
     @Query(
-        """
-            select count(distinct r.business.id)
-            from Reservation r
-            where (:customerId is null or r.customer.id = :customerId)
-              and (:startDate is null or r.date >= :startDate)
-              and (:endDate is null or r.date <= :endDate)
-        """
+        value = """
+            select w.position
+            from unnest(cast(:businessIds as bigint[]), cast(:startMicros as bigint[]), cast(:endMicros as bigint[]))
+                with ordinality as w(business_id, start_micros, end_micros, position)
+            where exists (
+                select 1
+                from reservation r
+                where r.business_id = w.business_id
+                  and r.status in ('PENDING', 'CONFIRMED')
+                  and r.end_date is not null
+                  and tsrange(r.date, r.end_date, '[)') && tsrange(
+                      timestamp 'epoch' + w.start_micros * interval '1 microsecond',
+                      timestamp 'epoch' + w.end_micros * interval '1 microsecond',
+                      '[)'
+                  )
+            )
+        """,
+        nativeQuery = true
     )
-    long countDistinctBusinessesByFilters(
-        @Param("customerId") Long customerId,
-        @Param("startDate") ZonedDateTime startDate,
-        @Param("endDate") ZonedDateTime endDate
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservation"))
+    List<Long> findOverlappingWindows(
+        @Param("businessIds") Long[] businessIds,
+        @Param("startMicros") Long[] startMicros,
+        @Param("endMicros") Long[] endMicros
     );
 
-    interface StatusCountProjection {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select r.id as id, r.status as status, r.user.id as userId, r.customer.id as customerId from Reservation r where r.id in :ids order by r.id"
+    )
+    List<StatusOwnerProjection> lockStatusOwnerByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Reservation r set r.status = :status where r.id in :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") ReservationStatus status);
+
+    interface StatusOwnerProjection {
+        Long getId();
+
         ReservationStatus getStatus();
 
+        Long getUserId();
+
+        Long getCustomerId();
+    }
+
+    interface CustomerSummaryProjection {
+        String getFirstName();
+
+        String getLastName();
+
         long getTotal();
+
+        long getUpcoming();
+
+        long getPending();
+
+        long getConfirmed();
+
+        long getCompleted();
+
+        long getCancelled();
+
+        ZonedDateTime getLastDate();
+
+        ZonedDateTime getNextDate();
+    }
+
+    interface TimelineEntryProjection {
+        Long getId();
+
+        ZonedDateTime getDate();
+
+        ZonedDateTime getEndDate();
+
+        Long getServiceId();
+
+        Integer getDuration();
     }
 }
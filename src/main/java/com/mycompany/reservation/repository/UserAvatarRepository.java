@@ -0,0 +1,32 @@
+package com.mycompany.reservation.repository;
+
+import com.mycompany.reservation.domain.UserAvatar;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link UserAvatar} entity.
+ */
+@Repository
+public interface UserAvatarRepository extends JpaRepository<UserAvatar, Long> {
+    @Query("select a from UserAvatar a where a.userId = (select u.id from User u where u.login = :login)")
+    Optional<UserAvatar> findOneByUserLogin(@Param("login") String login);
+
+    @Query(
+        """
+        select a.contentSha256 as contentSha256, a.uploadedAt as uploadedAt
+        from UserAvatar a
+        where a.userId = (select u.id from User u where u.login = :login)
+        """
+    )
+    Optional<VersionProjection> findVersionByUserLogin(@Param("login") String login);
+
+    interface VersionProjection {
+        String getContentSha256();
+
+        Instant getUploadedAt();
+    }
+}
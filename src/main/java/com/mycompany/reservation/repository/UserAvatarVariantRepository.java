@@ -0,0 +1,49 @@
+package com.mycompany.reservation.repository;
+
+import com.mycompany.reservation.domain.UserAvatarVariant;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link UserAvatarVariant} entity.
+ */
+@Repository
+public interface UserAvatarVariantRepository extends JpaRepository<UserAvatarVariant, Long> {
+    @Query(
+        """
+        select v.data as data, a.contentSha256 as contentSha256, a.uploadedAt as uploadedAt
+        from UserAvatarVariant v join UserAvatar a on a.userId = v.userId
+        where v.size = :size and v.userId = (select u.id from User u where u.login = :login)
+        """
+    )
+    Optional<ContentProjection> findContentByUserLoginAndSize(@Param("login") String login, @Param("size") int size);
+
+    @Modifying
+    @Query(
+        value = """
+            insert into user_avatar_variant (user_id, size, data)
+            values (:userId, :size, :data)
+            on conflict (user_id, size) do update set data = excluded.data
+        """,
+        nativeQuery = true
+    )
+    int upsert(@Param("userId") Long userId, @Param("size") int size, @Param("data") byte[] data);
+
+    @Modifying
+    @Query(value = "delete from user_avatar_variant where user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * A thumbnail with the version of the avatar it was made from.
+     */
+    interface ContentProjection {
+        byte[] getData();
+
+        String getContentSha256();
+
+        Instant getUploadedAt();
+    }
+}
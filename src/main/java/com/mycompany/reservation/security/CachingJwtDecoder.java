@@ -0,0 +1,71 @@
+package com.mycompany.reservation.security;
+
+import com.mycompany.reservation.management.SecurityMetersService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.cache.Cache;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Decoder remembering the tokens it already verified, so a client sending the same bearer token on every request has its
+ * signature checked once.
+ * <p>
+ * Tokens are keyed by their SHA-256 digest, the cache never holds a usable token. A cached token is only used until its
+ * {@code exp} claim, tokens without one and tokens failing verification are never cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    public static final String CACHE_NAME = "verifiedJwts";
+
+    private static final Base64.Encoder KEY_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtDecoder delegate;
+
+    private final Cache cache;
+
+    private final SecurityMetersService metersService;
+
+    private final Clock clock;
+
+    public CachingJwtDecoder(JwtDecoder delegate, Cache cache, SecurityMetersService metersService) {
+        this(delegate, cache, metersService, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, Cache cache, SecurityMetersService metersService, Clock clock) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.metersService = metersService;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = digest(token);
+        Jwt jwt = cache.get(key, Jwt.class);
+        if (jwt != null && clock.instant().isBefore(jwt.getExpiresAt())) {
+            metersService.trackTokenCacheHit();
+            return jwt;
+        }
+        metersService.trackTokenCacheMiss();
+        jwt = delegate.decode(token);
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null && clock.instant().isBefore(expiresAt)) {
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    private static String digest(String token) {
+        try {
+            return KEY_ENCODER.encodeToString(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.mycompany.reservation.security;
+
+import com.mycompany.reservation.domain.User;
+import com.mycompany.reservation.repository.UserRepository;
+import java.util.Optional;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Resolves the id of the current user once per request.
+ * <p>
+ * The id comes from the {@link SecurityUtils#USER_ID_CLAIM} claim of the token, or the authenticated {@link
+ * DomainUserDetailsService.UserWithId}, without any query. Other principals are looked up by login, through the users cache,
+ * and the result is kept in a request attribute for the later checks of the same request. Outside of a request nothing is
+ * kept.
+ */
+@Component
+public class CurrentUserResolver {
+
+    private static final String RESOLVED_USER_ATTRIBUTE = CurrentUserResolver.class.getName() + ".RESOLVED_USER";
+
+    private final UserRepository userRepository;
+
+    public CurrentUserResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Get the Id of the current user.
+     *
+     * @return the Id of the current user, empty if no user is authenticated or the user does not exist.
+     */
+    public Optional<Long> getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return Optional.empty();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (
+            attributes != null &&
+            attributes.getAttribute(RESOLVED_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof ResolvedUser resolved &&
+            resolved.authentication() == authentication
+        ) {
+            return Optional.ofNullable(resolved.id());
+        }
+        Long id = resolve();
+        if (attributes != null) {
+            attributes.setAttribute(RESOLVED_USER_ATTRIBUTE, new ResolvedUser(authentication, id), RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.ofNullable(id);
+    }
+
+    private Long resolve() {
+        return SecurityUtils.getCurrentUserId()
+            .or(() -> SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin).map(User::getId))
+            .orElse(null);
+    }
+
+    /**
+     * The id resolved for an authentication, checked by identity so a request changing its authentication resolves again.
+     */
+    private record ResolvedUser(Authentication authentication, Long id) {}
+}
@@ -69,10 +69,18 @@ public final class SecurityUtils {
      */
     public static Optional<Long> getCurrentUserId() {
         SecurityContext securityContext = SecurityContextHolder.getContext();
-        return Optional.ofNullable(securityContext.getAuthentication())
-            .filter(authentication -> authentication.getPrincipal() instanceof ClaimAccessor)
-            .map(authentication -> (ClaimAccessor) authentication.getPrincipal())
-            .map(principal -> principal.getClaim(USER_ID_CLAIM));
+        return Optional.ofNullable(extractUserId(securityContext.getAuthentication()));
+    }
+
+    private static Long extractUserId(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        } else if (authentication.getPrincipal() instanceof ClaimAccessor claims) {
+            return claims.getClaim(USER_ID_CLAIM) instanceof Number userId ? userId.longValue() : null;
+        } else if (authentication.getPrincipal() instanceof DomainUserDetailsService.UserWithId user) {
+            return user.getId();
+        }
+        return null;
     }
 
     /**
@@ -0,0 +1,303 @@
+package com.mycompany.reservation.service;
+
+import com.mycompany.reservation.config.ApplicationProperties;
+import com.mycompany.reservation.domain.OfferedService;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.repository.OfferedServiceRepository;
+import com.mycompany.reservation.repository.ReservationRepository;
+import com.mycompany.reservation.service.dto.AvailableSlotDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory slot availability engine.
+ * <p>
+ * Keeps one {@link ReservationTimeline} per business with its {@code PENDING}/{@code CONFIRMED} reservations. A timeline is
+ * loaded from the database the first time its business is queried and is then kept up to date by the reservation write paths
+ * through {@link #recordReservation(Reservation)} and {@link #forgetReservation(Long)}, so availability lookups do not touch
+ * the {@code reservation} table.
+ * <p>
+ * Timelines and service durations are cached on each instance, at most {@code application.availability.cache-max-entries} of
+ * each and for {@code application.availability.cache-time-to-live}. Only the writes of this instance reach its timelines:
+ * reservations written by other instances, service durations changed on them, and writes committed while a timeline is being
+ * loaded show up once the entry expires. The booking guard, not this cache, keeps slots from being booked twice.
+ */
+@Service
+public class AvailabilityService {
+
+    public static final EnumSet<ReservationStatus> BLOCKING_STATUSES = EnumSet.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+
+    private static final Logger LOG = LoggerFactory.getLogger(AvailabilityService.class);
+
+    private final ReservationRepository reservationRepository;
+
+    private final OfferedServiceRepository offeredServiceRepository;
+
+    private final ApplicationProperties.Availability properties;
+
+    private final ExpiringCache<ReservationTimeline> timelines;
+
+    private final ExpiringCache<ServiceSlot> serviceSlots;
+
+    public AvailabilityService(
+        ReservationRepository reservationRepository,
+        OfferedServiceRepository offeredServiceRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.offeredServiceRepository = offeredServiceRepository;
+        this.properties = applicationProperties.getAvailability();
+        this.timelines = new ExpiringCache<>(properties.getCacheMaxEntries(), properties.getCacheTimeToLive());
+        this.serviceSlots = new ExpiringCache<>(properties.getCacheMaxEntries(), properties.getCacheTimeToLive());
+    }
+
+    /**
+     * Get the free slots of a business for one service on one day.
+     *
+     * @param businessId the id of the business.
+     * @param serviceId the id of the offered service, its duration gives the slot length.
+     * @param day the day, in the configured availability time zone.
+     * @return the free slots, or an empty list if the service does not exist or is not offered by the business.
+     */
+    public List<AvailableSlotDTO> findAvailableSlots(Long businessId, Long serviceId, LocalDate day) {
+        LOG.debug("Request to get available slots for business {} service {} on {}", businessId, serviceId, day);
+        Optional<ServiceSlot> serviceSlot = resolveServiceSlot(serviceId);
+        if (serviceSlot.isEmpty() || (serviceSlot.get().businessId() != null && !serviceSlot.get().businessId().equals(businessId))) {
+            return Collections.emptyList();
+        }
+        ZoneId zone = zone();
+        ZonedDateTime windowStart = day.atTime(properties.getOpeningTime()).atZone(zone);
+        ZonedDateTime windowEnd = day.atTime(properties.getClosingTime()).atZone(zone);
+        Duration duration = serviceSlot.get().duration();
+        return timeline(businessId)
+            .freeSlots(
+                windowStart.toInstant(),
+                windowEnd.toInstant(),
+                duration,
+                Duration.ofMinutes(properties.getSlotStepMinutes()),
+                Instant.now()
+            )
+            .stream()
+            .map(start -> new AvailableSlotDTO(start.atZone(zone), start.plus(duration).atZone(zone)))
+            .toList();
+    }
+
+    /**
+     * Reflect a created or updated reservation in the timelines once the surrounding transaction commits.
+     * <p>
+     * Must be called with the persisted reservation, inside the transaction that wrote it.
+     *
+     * @param reservation the persisted reservation.
+     */
+    public void recordReservation(Reservation reservation) {
+        if (reservation == null || reservation.getId() == null) {
+            return;
+        }
+        Long reservationId = reservation.getId();
+        Long businessId = businessIdOf(reservation);
+        boolean blocking = businessId != null && reservation.getDate() != null && BLOCKING_STATUSES.contains(reservation.getStatus());
+        if (!blocking) {
+            afterCommit(() -> unindex(reservationId));
+            return;
+        }
+        Instant start = reservation.getDate().toInstant();
+        Duration duration = reservation.getEndDate() != null
+            ? Duration.between(reservation.getDate(), reservation.getEndDate())
+            : durationOf(reservation.getService());
+        afterCommit(() -> index(reservationId, businessId, start, duration));
+    }
+
+    /**
+     * Remove a deleted reservation from the timelines once the surrounding transaction commits.
+     *
+     * @param reservationId the id of the deleted reservation.
+     */
+    public void forgetReservation(Long reservationId) {
+        if (reservationId != null) {
+            afterCommit(() -> unindex(reservationId));
+        }
+    }
+
+    /**
+     * Drop the cached duration of an offered service after it has been changed or deleted.
+     *
+     * @param serviceId the id of the offered service.
+     */
+    public void evictService(Long serviceId) {
+        if (serviceId != null) {
+            afterCommit(() -> serviceSlots.remove(serviceId));
+        }
+    }
+
+    private ReservationTimeline timeline(Long businessId) {
+        ReservationTimeline cached = timelines.get(businessId);
+        if (cached != null) {
+            return cached;
+        }
+        // loaded outside of the map, so the query does not hold up the writes hashed to the same bin
+        ReservationTimeline timeline = loadTimeline(businessId);
+        timelines.put(businessId, timeline);
+        return timeline;
+    }
+
+    private ReservationTimeline loadTimeline(Long businessId) {
+        ZonedDateTime from = LocalDate.now(zone()).minusDays(1).atStartOfDay(zone());
+        ReservationTimeline timeline = new ReservationTimeline();
+        reservationRepository
+            .findTimelineEntries(businessId, BLOCKING_STATUSES, from)
+            .forEach(entry -> {
+                Duration duration = entry.getEndDate() != null
+                    ? Duration.between(entry.getDate(), entry.getEndDate())
+                    : durationOf(entry.getDuration());
+                timeline.put(entry.getId(), entry.getDate().toInstant(), duration);
+            });
+        LOG.debug("Loaded availability timeline of business {} with {} reservations", businessId, timeline.size());
+        return timeline;
+    }
+
+    private void index(Long reservationId, Long businessId, Instant start, Duration duration) {
+        ReservationTimeline timeline = timelines.get(businessId);
+        // the reservation may have moved from another business
+        timelines.values().stream().filter(other -> other != timeline).forEach(other -> other.remove(reservationId));
+        if (timeline != null) {
+            timeline.put(reservationId, start, duration);
+        }
+    }
+
+    private void unindex(Long reservationId) {
+        timelines.values().forEach(timeline -> timeline.remove(reservationId));
+    }
+
+    private Optional<ServiceSlot> resolveServiceSlot(Long serviceId) {
+        ServiceSlot cached = serviceSlots.get(serviceId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return offeredServiceRepository
+            .findById(serviceId)
+            .map(service -> {
+                ServiceSlot slot = new ServiceSlot(
+                    service.getBusiness() != null ? service.getBusiness().getId() : null,
+                    durationOf(service.getDuration())
+                );
+                serviceSlots.put(serviceId, slot);
+                return slot;
+            });
+    }
+
+    private Duration durationOf(OfferedService service) {
+        if (service == null) {
+            return durationOf((Integer) null);
+        }
+        if (service.getDuration() != null || service.getId() == null) {
+            return durationOf(service.getDuration());
+        }
+        return resolveServiceSlot(service.getId()).map(ServiceSlot::duration).orElseGet(() -> durationOf((Integer) null));
+    }
+
+    private Duration durationOf(Integer minutes) {
+        return Duration.ofMinutes(minutes != null && minutes > 0 ? minutes : properties.getDefaultDurationMinutes());
+    }
+
+    private static Long businessIdOf(Reservation reservation) {
+        if (reservation.getBusiness() != null) {
+            return reservation.getBusiness().getId();
+        }
+        OfferedService service = reservation.getService();
+        return service != null && service.getBusiness() != null ? service.getBusiness().getId() : null;
+    }
+
+    private ZoneId zone() {
+        String timeZone = properties.getTimeZone();
+        return timeZone == null || timeZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(timeZone);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+
+    private record ServiceSlot(Long businessId, Duration duration) {}
+
+    /**
+     * Map holding each value for a fixed time, dropping the entries closest to expiry once it is full.
+     */
+    static final class ExpiringCache<V> {
+
+        private final ConcurrentMap<Long, Entry<V>> entries = new ConcurrentHashMap<>();
+
+        private final int maxEntries;
+
+        private final Duration timeToLive;
+
+        ExpiringCache(int maxEntries, Duration timeToLive) {
+            this.maxEntries = Math.max(maxEntries, 1);
+            this.timeToLive = timeToLive;
+        }
+
+        V get(Long key) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (!entry.expiresAt().isAfter(Instant.now())) {
+                entries.remove(key, entry);
+                return null;
+            }
+            return entry.value();
+        }
+
+        void put(Long key, V value) {
+            entries.put(key, new Entry<>(value, Instant.now().plus(timeToLive)));
+            while (entries.size() > maxEntries) {
+                entries
+                    .entrySet()
+                    .stream()
+                    .min(Map.Entry.comparingByValue(Comparator.comparing(Entry::expiresAt)))
+                    .ifPresent(eldest -> entries.remove(eldest.getKey(), eldest.getValue()));
+            }
+        }
+
+        void remove(Long key) {
+            entries.remove(key);
+        }
+
+        Collection<V> values() {
+            return entries.values().stream().map(Entry::value).toList();
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        private record Entry<V>(V value, Instant expiresAt) {}
+    }
+}
@@ -0,0 +1,305 @@
+package com.mycompany.reservation.service;
+
+import com.mycompany.reservation.domain.UserAvatar;
+import com.mycompany.reservation.management.CacheMetersService;
+import com.mycompany.reservation.repository.UserAvatarRepository;
+import com.mycompany.reservation.repository.UserAvatarVariantRepository;
+import com.mycompany.reservation.service.dto.ContentVersionDTO;
+import com.mycompany.reservation.service.dto.UserAvatarDTO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Square PNG thumbnails of the user avatars, in the {@link #SIZES} sizes.
+ * <p>
+ * Thumbnails are generated with {@link ImageIO} on upload, or on first request for avatars uploaded before, and stored in
+ * {@code user_avatar_variant}. They are served from an off-heap cache keyed by login and size. Avatars {@link ImageIO} cannot
+ * read are served as uploaded; the cache only remembers their version for them, so they are not decoded again on every
+ * request.
+ */
+@Service
+@Transactional
+public class AvatarVariantService {
+
+    public static final String CACHE_NAME = "avatarVariants";
+
+    public static final Set<Integer> SIZES = Set.of(32, 64, 128);
+
+    public static final String CONTENT_TYPE = "image/png";
+
+    private static final Logger LOG = LoggerFactory.getLogger(AvatarVariantService.class);
+
+    // larger images would take hundreds of megabytes to decode, whatever their file size
+    private static final long MAX_SOURCE_PIXELS = 4096L * 4096L;
+
+    private final UserAvatarRepository userAvatarRepository;
+
+    private final UserAvatarVariantRepository userAvatarVariantRepository;
+
+    private final CacheManager cacheManager;
+
+    private final CacheMetersService cacheMetersService;
+
+    public AvatarVariantService(
+        UserAvatarRepository userAvatarRepository,
+        UserAvatarVariantRepository userAvatarVariantRepository,
+        CacheManager cacheManager,
+        CacheMetersService cacheMetersService
+    ) {
+        this.userAvatarRepository = userAvatarRepository;
+        this.userAvatarVariantRepository = userAvatarVariantRepository;
+        this.cacheManager = cacheManager;
+        this.cacheMetersService = cacheMetersService;
+    }
+
+    /**
+     * Get the thumbnail of the avatar of a user, generating and storing it if missing.
+     *
+     * @param login the login of the user.
+     * @param size the size of the thumbnail, one of {@link #SIZES}.
+     * @return the thumbnail, the avatar as uploaded if it cannot be resized, empty if the user has no avatar.
+     */
+    public Optional<UserAvatarDTO> getUserAvatar(String login, int size) {
+        checkSize(size);
+        String lowercaseLogin = login.toLowerCase();
+        Cache cache = cache();
+        String key = key(lowercaseLogin, size);
+        Object cached = cached(cache, key);
+        if (cached instanceof UserAvatarDTO variant) {
+            cacheMetersService.trackHit(CACHE_NAME);
+            return Optional.of(variant);
+        }
+        if (cached instanceof ContentVersionDTO) {
+            cacheMetersService.trackHit(CACHE_NAME);
+            return userAvatarRepository.findOneByUserLogin(lowercaseLogin).map(avatar -> asUploaded(avatar, size));
+        }
+        cacheMetersService.trackMiss(CACHE_NAME);
+        UserAvatarDTO variant = userAvatarVariantRepository
+            .findContentByUserLoginAndSize(lowercaseLogin, size)
+            .map(content -> variant(content.getData(), content.getContentSha256(), content.getUploadedAt(), size))
+            .orElse(null);
+        if (variant == null) {
+            Optional<UserAvatar> avatar = userAvatarRepository.findOneByUserLogin(lowercaseLogin);
+            if (avatar.isEmpty()) {
+                return Optional.empty();
+            }
+            UserAvatar original = avatar.orElseThrow();
+            byte[] data = storeVariants(original).get(size);
+            if (data == null) {
+                // the avatar is too large to keep off-heap, its version is enough to skip decoding it again
+                UserAvatarDTO asUploaded = asUploaded(original, size);
+                cache.put(key, asUploaded.version());
+                return Optional.of(asUploaded);
+            }
+            variant = variant(data, original.getContentSha256(), original.getUploadedAt(), size);
+        }
+        cache.put(key, variant);
+        return Optional.of(variant);
+    }
+
+    /**
+     * Get the version of the thumbnail of the avatar of a user, without reading any image.
+     *
+     * @param login the login of the user.
+     * @param size the size of the thumbnail, one of {@link #SIZES}.
+     * @return the version of the thumbnail, empty if the user has no avatar.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ContentVersionDTO> getUserAvatarVersion(String login, int size) {
+        checkSize(size);
+        String lowercaseLogin = login.toLowerCase();
+        Object cached = cached(cache(), key(lowercaseLogin, size));
+        if (cached instanceof UserAvatarDTO variant) {
+            return Optional.of(variant.version());
+        }
+        if (cached instanceof ContentVersionDTO version) {
+            return Optional.of(version);
+        }
+        return userAvatarRepository
+            .findVersionByUserLogin(lowercaseLogin)
+            .map(version -> version(version.getContentSha256(), version.getUploadedAt(), size));
+    }
+
+    /**
+     * Generate and store the thumbnails of an avatar, replacing the previous ones.
+     *
+     * @param avatar the avatar.
+     * @return the thumbnails by size, empty if the avatar cannot be resized.
+     */
+    public Map<Integer, byte[]> createVariants(UserAvatar avatar) {
+        userAvatarVariantRepository.deleteByUserId(avatar.getUserId());
+        return storeVariants(avatar);
+    }
+
+    private Map<Integer, byte[]> storeVariants(UserAvatar avatar) {
+        Map<Integer, byte[]> variants = new HashMap<>();
+        try {
+            BufferedImage source = read(avatar.getData());
+            if (source == null) {
+                LOG.debug("Avatar of user {} cannot be resized", avatar.getUserId());
+                return variants;
+            }
+            for (int size : SIZES) {
+                byte[] data = toPng(resize(source, size));
+                userAvatarVariantRepository.upsert(avatar.getUserId(), size, data);
+                variants.put(size, data);
+            }
+        } catch (IOException e) {
+            LOG.warn("Avatar of user {} cannot be resized: {}", avatar.getUserId(), e.getMessage());
+            variants.clear();
+        }
+        return variants;
+    }
+
+    /**
+     * Evict the thumbnails of a user from the cache, right away and again once the surrounding transaction commits.
+     *
+     * @param login the login of the user.
+     */
+    public void evict(String login) {
+        String lowercaseLogin = login.toLowerCase();
+        evictNow(lowercaseLogin);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evictNow(lowercaseLogin);
+                    }
+                }
+            );
+        }
+    }
+
+    private void evictNow(String login) {
+        Cache cache = cache();
+        SIZES.forEach(size -> cache.evict(key(login, size)));
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + CACHE_NAME + " is not configured");
+        }
+        return cache;
+    }
+
+    private static void checkSize(int size) {
+        if (!SIZES.contains(size)) {
+            throw new IllegalArgumentException("Unsupported avatar size " + size);
+        }
+    }
+
+    /**
+     * A thumbnail, versioned by the avatar it was made from and its size: the same avatar always gives the same thumbnail.
+     */
+    private static UserAvatarDTO variant(byte[] data, String avatarSha256, Instant uploadedAt, int size) {
+        return new UserAvatarDTO(data, CONTENT_TYPE, version(avatarSha256, uploadedAt, size));
+    }
+
+    /**
+     * The version of the thumbnail of an avatar, also given to the avatar when it is served as uploaded for that size.
+     */
+    private static ContentVersionDTO version(String avatarSha256, Instant uploadedAt, int size) {
+        return new ContentVersionDTO(avatarSha256 + "-" + size, uploadedAt);
+    }
+
+    private static UserAvatarDTO asUploaded(UserAvatar avatar, int size) {
+        return new UserAvatarDTO(
+            avatar.getData(),
+            avatar.getContentType(),
+            version(avatar.getContentSha256(), avatar.getUploadedAt(), size)
+        );
+    }
+
+    /**
+     * @return the thumbnail, the version of an avatar served as uploaded, or {@code null} if nothing is cached.
+     */
+    private static Object cached(Cache cache, String key) {
+        Cache.ValueWrapper wrapper = cache.get(key);
+        return wrapper != null ? wrapper.get() : null;
+    }
+
+    private static String key(String login, int size) {
+        return size + " " + login;
+    }
+
+    /**
+     * Decode an image, refusing the formats {@link ImageIO} does not know and images too large to decode safely.
+     *
+     * @return the image, {@code null} if it cannot be decoded.
+     */
+    static BufferedImage read(byte[] data) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_SOURCE_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Crop the center square of an image and scale it to {@code size} pixels, halving it step by step so large images
+     * are not aliased.
+     */
+    static BufferedImage resize(BufferedImage source, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        BufferedImage image = source.getSubimage((source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+        int current = side;
+        do {
+            current = current / 2 >= size ? current / 2 : size;
+            image = scale(image, current);
+        } while (current != size);
+        return image;
+    }
+
+    private static BufferedImage scale(BufferedImage source, int size) {
+        BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, size, size, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
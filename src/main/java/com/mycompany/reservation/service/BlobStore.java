@@ -0,0 +1,38 @@
+package com.mycompany.reservation.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.core.io.Resource;
+
+/**
+ * Stores file contents outside of the database, under keys kept by the entities referencing them.
+ */
+public interface BlobStore {
+    /**
+     * Store a content, reading the stream to its end without holding the whole content in memory.
+     *
+     * @param content the content.
+     * @return the key and size of the stored content.
+     * @throws IOException if the content cannot be read or stored.
+     */
+    StoredBlob store(InputStream content) throws IOException;
+
+    /**
+     * Get a stored content.
+     *
+     * @param key the key of the content.
+     * @return the content, readable as many times as needed.
+     * @throws IOException if no content is stored under the key.
+     */
+    Resource get(String key) throws IOException;
+
+    /**
+     * Delete a stored content, doing nothing if it does not exist.
+     *
+     * @param key the key of the content.
+     * @throws IOException if the content cannot be deleted.
+     */
+    void delete(String key) throws IOException;
+
+    record StoredBlob(String key, long size) {}
+}
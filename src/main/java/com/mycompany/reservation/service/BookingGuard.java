@@ -0,0 +1,262 @@
+package com.mycompany.reservation.service;
+
+import com.mycompany.reservation.config.ApplicationProperties;
+import com.mycompany.reservation.domain.OfferedService;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.repository.OfferedServiceRepository;
+import com.mycompany.reservation.repository.ReservationRepository;
+import com.mycompany.reservation.service.SlotLocks.Window;
+import com.mycompany.reservation.web.rest.errors.BadRequestAlertException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Prevents double bookings.
+ * <p>
+ * Writes of slot-blocking reservations are serialized per business and time window with {@link SlotLocks}, held until the
+ * surrounding transaction completes, and checked against the already stored reservations. The
+ * {@code ex_reservation_business_slot} exclusion constraint backs this up at the database level for writes coming from other
+ * application instances.
+ * <p>
+ * Bulk writers go through {@link #saveAll(List)}, which locks the slots of all their reservations in one pass and checks them
+ * with one query, so a large batch neither waits on the others in an arbitrary order nor costs a round trip per reservation.
+ */
+@Service
+public class BookingGuard {
+
+    public static final String SLOT_CONSTRAINT = "ex_reservation_business_slot";
+
+    static final String SLOT_UNAVAILABLE_MESSAGE = "Seçilen zaman aralığı başka bir rezervasyonla çakışıyor";
+
+    private static final Logger LOG = LoggerFactory.getLogger(BookingGuard.class);
+
+    private static final String ENTITY_NAME = "reservation";
+
+    private static final int STRIPES = 1024;
+
+    private static final long BUCKET_SECONDS = 3600;
+
+    private static final Duration BULK_LOCK_TIMEOUT = Duration.ofSeconds(2);
+
+    private final SlotLocks slotLocks = new SlotLocks(STRIPES, BUCKET_SECONDS);
+
+    private final ReservationRepository reservationRepository;
+
+    private final OfferedServiceRepository offeredServiceRepository;
+
+    private final int defaultDurationMinutes;
+
+    public BookingGuard(
+        ReservationRepository reservationRepository,
+        OfferedServiceRepository offeredServiceRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.offeredServiceRepository = offeredServiceRepository;
+        this.defaultDurationMinutes = applicationProperties.getAvailability().getDefaultDurationMinutes();
+    }
+
+    /**
+     * Save a reservation, rejecting it if it overlaps another slot-blocking reservation of the same business.
+     * <p>
+     * Must be called inside a transaction: the slot stays locked until that transaction completes.
+     *
+     * @param reservation the reservation to save.
+     * @return the persisted reservation.
+     * @throws BadRequestAlertException if the slot is already taken.
+     */
+    public Reservation save(Reservation reservation) {
+        Window slot = slotOf(reservation);
+        if (slot == null) {
+            return reservationRepository.save(reservation);
+        }
+
+        requireTransaction();
+        long businessId = slot.businessId();
+        ZonedDateTime start = reservation.getDate();
+        ZonedDateTime end = reservation.getEndDate();
+        SlotLocks.Held held = slotLocks.lock(businessId, slot.start(), slot.end());
+        releaseAfterCompletion(held);
+        try {
+            if (
+                reservationRepository.existsOverlapping(businessId, AvailabilityService.BLOCKING_STATUSES, start, end, reservation.getId())
+            ) {
+                LOG.debug("Rejected reservation of business {} between {} and {}: slot already taken", businessId, start, end);
+                throw slotUnavailable();
+            }
+            return reservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getMessage() != null && e.getMessage().contains(SLOT_CONSTRAINT)) {
+                throw slotUnavailable();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Save new reservations in bulk, rejecting those overlapping a slot-blocking reservation of the same business, stored or
+     * earlier in the list.
+     * <p>
+     * The slots of all the reservations are locked in one ascending pass and checked against the stored reservations with one
+     * query, which only returns the overlapping slots. The accepted reservations are only persisted, for the caller to flush
+     * them in JDBC batches; a write of another application instance taking one of the slots meanwhile fails that flush on the
+     * exclusion constraint. Must be called inside a transaction: the slots stay locked until that transaction completes.
+     *
+     * @param reservations the reservations to save.
+     * @return the positions in {@code reservations} of the rejected ones.
+     * @throws CannotAcquireLockException if the slots are not all locked within two seconds; the reservations can then be saved
+     * one by one with {@link #save(Reservation)}.
+     */
+    public BitSet saveAll(List<Reservation> reservations) {
+        Window[] slots = new Window[reservations.size()];
+        List<Window> blocking = new ArrayList<>();
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = slotOf(reservations.get(i));
+            if (slots[i] != null) {
+                blocking.add(slots[i]);
+            }
+        }
+
+        BitSet rejected = new BitSet(slots.length);
+        if (!blocking.isEmpty()) {
+            requireTransaction();
+            releaseAfterCompletion(lockAll(blocking));
+            BitSet storedOverlaps = findStoredOverlaps(blocking);
+            Map<Long, NavigableMap<Instant, Instant>> taken = new HashMap<>();
+            for (int i = 0, position = 0; i < slots.length; i++) {
+                if (slots[i] == null) {
+                    continue;
+                }
+                NavigableMap<Instant, Instant> accepted = taken.computeIfAbsent(slots[i].businessId(), id -> new TreeMap<>());
+                if (storedOverlaps.get(position++) || !take(accepted, slots[i])) {
+                    rejected.set(i);
+                }
+            }
+            LOG.debug("Rejected {} of {} reservations: slot already taken", rejected.cardinality(), slots.length);
+        }
+        for (int i = 0; i < slots.length; i++) {
+            if (!rejected.get(i)) {
+                reservationRepository.save(reservations.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Set the end date of a reservation from its service, and its business from its service if it has none.
+     *
+     * @return the slot of the reservation, or {@code null} if it does not block one.
+     */
+    private Window slotOf(Reservation reservation) {
+        if (reservation.getDate() != null) {
+            reservation.setEndDate(reservation.getDate().plus(durationOf(reservation.getService())));
+        }
+        if (reservation.getBusiness() == null && reservation.getService() != null) {
+            // stored with the business of its service, which the overlap checks and the exclusion constraint go by
+            reservation.setBusiness(reservation.getService().getBusiness());
+        }
+        Long businessId = reservation.getBusiness() != null ? reservation.getBusiness().getId() : null;
+        if (businessId == null || reservation.getDate() == null || !AvailabilityService.BLOCKING_STATUSES.contains(reservation.getStatus())) {
+            return null;
+        }
+        return new Window(businessId, reservation.getDate().toInstant(), reservation.getEndDate().toInstant());
+    }
+
+    private SlotLocks.Held lockAll(List<Window> slots) {
+        SlotLocks.Held held;
+        try {
+            held = slotLocks.tryLock(slots, BULK_LOCK_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while locking the slots of " + slots.size() + " reservations", e);
+        }
+        if (held == null) {
+            throw new CannotAcquireLockException("Slots of " + slots.size() + " reservations not free within " + BULK_LOCK_TIMEOUT);
+        }
+        return held;
+    }
+
+    /**
+     * Find the slots overlapping a stored slot-blocking reservation, each looked up on its own rather than loading every
+     * reservation of the span the slots cover.
+     *
+     * @return the positions in {@code slots} of the overlapping ones.
+     */
+    private BitSet findStoredOverlaps(List<Window> slots) {
+        Long[] businessIds = new Long[slots.size()];
+        Long[] startMicros = new Long[slots.size()];
+        Long[] endMicros = new Long[slots.size()];
+        for (int i = 0; i < businessIds.length; i++) {
+            businessIds[i] = slots.get(i).businessId();
+            startMicros[i] = ChronoUnit.MICROS.between(Instant.EPOCH, slots.get(i).start());
+            endMicros[i] = ChronoUnit.MICROS.between(Instant.EPOCH, slots.get(i).end());
+        }
+        BitSet overlapping = new BitSet(slots.size());
+        for (Long position : reservationRepository.findOverlappingWindows(businessIds, startMicros, endMicros)) {
+            overlapping.set(position.intValue() - 1);
+        }
+        return overlapping;
+    }
+
+    /**
+     * Take a slot among the slots of a business, which never overlap each other.
+     *
+     * @return {@code false} if it overlaps one of them.
+     */
+    private static boolean take(NavigableMap<Instant, Instant> taken, Window slot) {
+        // the slots being disjoint, only the last one starting before the end can reach past the start
+        Map.Entry<Instant, Instant> before = taken.lowerEntry(slot.end());
+        if (before != null && before.getValue().isAfter(slot.start())) {
+            return false;
+        }
+        taken.put(slot.start(), slot.end());
+        return true;
+    }
+
+    private Duration durationOf(OfferedService service) {
+        Integer minutes = null;
+        if (service != null && service.getId() != null) {
+            minutes = offeredServiceRepository.findById(service.getId()).map(OfferedService::getDuration).orElse(null);
+        } else if (service != null) {
+            minutes = service.getDuration();
+        }
+        return Duration.ofMinutes(minutes != null && minutes > 0 ? minutes : defaultDurationMinutes);
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Reservations must be booked inside a transaction");
+        }
+    }
+
+    private static void releaseAfterCompletion(SlotLocks.Held held) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    held.release();
+                }
+            }
+        );
+    }
+
+    private static BadRequestAlertException slotUnavailable() {
+        return new BadRequestAlertException(SLOT_UNAVAILABLE_MESSAGE, ENTITY_NAME, "slotunavailable");
+    }
+}
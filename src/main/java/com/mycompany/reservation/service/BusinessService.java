@@ -1,10 +1,15 @@
 package com.mycompany.reservation.service;
 
 import com.mycompany.reservation.domain.Business;
+import com.mycompany.reservation.domain.enumeration.BusinessType;
 import com.mycompany.reservation.repository.BusinessRepository;
 import com.mycompany.reservation.service.dto.BusinessDTO;
 import com.mycompany.reservation.service.mapper.BusinessMapper;
-
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -27,9 +32,12 @@ public class BusinessService {
 
     private final BusinessMapper businessMapper;
 
-    public BusinessService(BusinessRepository businessRepository, BusinessMapper businessMapper) {
+    private final ProjectionQuery<Business, BusinessDTO> listQuery;
+
+    public BusinessService(BusinessRepository businessRepository, BusinessMapper businessMapper, EntityManager entityManager) {
         this.businessRepository = businessRepository;
         this.businessMapper = businessMapper;
+        this.listQuery = new ProjectionQuery<>(entityManager, Business.class, BusinessService::listColumns, BusinessService::toListDto);
     }
 
     /**
@@ -87,7 +95,7 @@ public class BusinessService {
     @Transactional(readOnly = true)
     public Page<BusinessDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Businesses");
-        return businessRepository.findAll(pageable).map(businessMapper::toDto);
+        return listQuery.findPage(null, pageable);
     }
 
     /**
@@ -111,4 +119,28 @@ public class BusinessService {
         LOG.debug("Request to delete Business : {}", id);
         businessRepository.deleteById(id);
     }
+
+    private static List<Selection<?>> listColumns(Root<Business> root) {
+        return List.of(
+            root.get("id").alias("id"),
+            root.get("name").alias("name"),
+            root.get("type").alias("type"),
+            root.get("address").alias("address"),
+            root.get("phone").alias("phone"),
+            root.get("email").alias("email"),
+            root.get("description").alias("description")
+        );
+    }
+
+    private static BusinessDTO toListDto(Tuple row) {
+        BusinessDTO business = new BusinessDTO();
+        business.setId(row.get("id", Long.class));
+        business.setName(row.get("name", String.class));
+        business.setType(row.get("type", BusinessType.class));
+        business.setAddress(row.get("address", String.class));
+        business.setPhone(row.get("phone", String.class));
+        business.setEmail(row.get("email", String.class));
+        business.setDescription(row.get("description", String.class));
+        return business;
+    }
 }
@@ -0,0 +1,196 @@
+package com.mycompany.reservation.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Encodings of the contents at rest, named by their HTTP content-coding so a stored content can be sent as is to the clients
+ * accepting it.
+ */
+public enum ContentCodec {
+    IDENTITY("identity"),
+    GZIP("gzip");
+
+    // formats compressing their content already, GZIP would only add to them
+    private static final Set<String> COMPRESSED_TYPES = Set.of(
+        "application/zip",
+        "application/gzip",
+        "application/x-gzip",
+        "application/x-bzip2",
+        "application/x-xz",
+        "application/zstd",
+        "application/x-7z-compressed",
+        "application/vnd.rar",
+        "application/x-rar-compressed",
+        "application/epub+zip"
+    );
+
+    private static final List<String> COMPRESSED_TYPE_PREFIXES = List.of(
+        "image/",
+        "audio/",
+        "video/",
+        "font/",
+        "application/vnd.openxmlformats-officedocument.",
+        "application/vnd.oasis.opendocument."
+    );
+
+    private static final Set<String> UNCOMPRESSED_IMAGE_TYPES = Set.of("image/svg+xml", "image/bmp");
+
+    private final String token;
+
+    ContentCodec(String token) {
+        this.token = token;
+    }
+
+    /**
+     * @return the HTTP content-coding of the encoding.
+     */
+    public String token() {
+        return token;
+    }
+
+    /**
+     * Get an encoding from its content-coding.
+     *
+     * @param token the content-coding, {@code null} for a content stored as is.
+     * @return the encoding.
+     */
+    public static ContentCodec of(String token) {
+        if (token == null) {
+            return IDENTITY;
+        }
+        for (ContentCodec codec : values()) {
+            if (codec.token.equals(token)) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown content encoding " + token);
+    }
+
+    /**
+     * Choose the encoding of a content at rest from its type: GZIP, unless the type is known to be compressed already.
+     *
+     * @param contentType the media type of the content, {@code null} if unknown.
+     * @return the encoding.
+     */
+    public static ContentCodec forContentType(String contentType) {
+        if (contentType == null) {
+            return GZIP;
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        if (UNCOMPRESSED_IMAGE_TYPES.contains(type)) {
+            return GZIP;
+        }
+        if (COMPRESSED_TYPES.contains(type) || COMPRESSED_TYPE_PREFIXES.stream().anyMatch(type::startsWith)) {
+            return IDENTITY;
+        }
+        return GZIP;
+    }
+
+    /**
+     * Encode a content as it is read.
+     *
+     * @param content the content.
+     * @return the encoded content.
+     */
+    public InputStream encode(InputStream content) {
+        return this == GZIP ? new GzipEncodingInputStream(content) : content;
+    }
+
+    /**
+     * Decode a content as it is read.
+     *
+     * @param encoded the encoded content.
+     * @return the content.
+     * @throws IOException if the content cannot be decoded.
+     */
+    public InputStream decode(InputStream encoded) throws IOException {
+        return this == GZIP ? new GZIPInputStream(encoded, 8192) : encoded;
+    }
+
+    /**
+     * The GZIP member of a stream, compressed as it is read: the JDK only has a GZIP {@link java.io.OutputStream}, which would
+     * need the whole content to be written first or a second thread.
+     */
+    static final class GzipEncodingInputStream extends InputStream {
+
+        private static final byte[] HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+        private final CRC32 crc = new CRC32();
+
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+        private final InputStream deflated;
+
+        private byte[] pending = HEADER;
+
+        private int pendingOffset;
+
+        private boolean deflatedDone;
+
+        GzipEncodingInputStream(InputStream content) {
+            this.deflated = new DeflaterInputStream(new CheckedInputStream(content, crc), deflater, 8192);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                if (pendingOffset < pending.length) {
+                    int n = Math.min(len, pending.length - pendingOffset);
+                    System.arraycopy(pending, pendingOffset, b, off, n);
+                    pendingOffset += n;
+                    return n;
+                }
+                if (deflatedDone) {
+                    return -1;
+                }
+                int n = deflated.read(b, off, len);
+                if (n > 0) {
+                    return n;
+                }
+                if (n == -1) {
+                    deflatedDone = true;
+                    pending = trailer();
+                    pendingOffset = 0;
+                }
+            }
+        }
+
+        private byte[] trailer() {
+            long checksum = crc.getValue();
+            long size = deflater.getBytesRead();
+            byte[] trailer = new byte[8];
+            for (int i = 0; i < 4; i++) {
+                trailer[i] = (byte) (checksum >>> (8 * i));
+                trailer[4 + i] = (byte) (size >>> (8 * i));
+            }
+            return trailer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                deflated.close();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+}
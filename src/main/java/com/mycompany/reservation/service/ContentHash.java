@@ -0,0 +1,32 @@
+package com.mycompany.reservation.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hashes of stored binary content, identifying it for conditional requests.
+ */
+public final class ContentHash {
+
+    private ContentHash() {}
+
+    /**
+     * @param data the content.
+     * @return the lowercase hex SHA-256 of the content.
+     */
+    public static String sha256Hex(byte[] data) {
+        return HexFormat.of().formatHex(sha256().digest(data));
+    }
+
+    /**
+     * @return a new SHA-256 digest, for content hashed while it is streamed.
+     */
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mycompany.reservation.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time: comma separated fields, optionally quoted, with doubled quotes escaping a quote
+ * and quoted fields allowed to span lines. Both {@code \r\n} and {@code \n} end a record.
+ */
+final class CsvRecordReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+
+    private int pushedBack = Integer.MIN_VALUE;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return the fields of the record, or {@code null} at the end of the input.
+     * @throws MalformedCsvException if the input ends inside a quoted field.
+     * @throws IOException if reading fails.
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new MalformedCsvException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != Integer.MIN_VALUE) {
+            int c = pushedBack;
+            pushedBack = Integer.MIN_VALUE;
+            return c;
+        }
+        return reader.read();
+    }
+
+    /**
+     * Input that is not valid CSV, as opposed to a failure reading it.
+     */
+    static final class MalformedCsvException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+}
@@ -2,9 +2,15 @@ package com.mycompany.reservation.service;
 
 import com.mycompany.reservation.domain.Customer;
 import com.mycompany.reservation.repository.CustomerRepository;
+import com.mycompany.reservation.service.dto.BusinessDTO;
 import com.mycompany.reservation.service.dto.CustomerDTO;
 import com.mycompany.reservation.service.mapper.CustomerMapper;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -27,9 +33,20 @@ public class CustomerService {
 
     private final CustomerMapper customerMapper;
 
-    public CustomerService(CustomerRepository customerRepository, CustomerMapper customerMapper) {
+    private final CustomerSummaryCache customerSummaryCache;
+
+    private final ProjectionQuery<Customer, CustomerDTO> listQuery;
+
+    public CustomerService(
+        CustomerRepository customerRepository,
+        CustomerMapper customerMapper,
+        CustomerSummaryCache customerSummaryCache,
+        EntityManager entityManager
+    ) {
         this.customerRepository = customerRepository;
         this.customerMapper = customerMapper;
+        this.customerSummaryCache = customerSummaryCache;
+        this.listQuery = new ProjectionQuery<>(entityManager, Customer.class, CustomerService::listColumns, CustomerService::toListDto);
     }
 
     /**
@@ -55,6 +72,8 @@ public class CustomerService {
         LOG.debug("Request to update Customer : {}", customerDTO);
         Customer customer = customerMapper.toEntity(customerDTO);
         customer = customerRepository.save(customer);
+        // the reservation summary carries the name of the customer
+        customerSummaryCache.evict(customer.getId());
         return customerMapper.toDto(customer);
     }
 
@@ -75,6 +94,10 @@ public class CustomerService {
                 return existingCustomer;
             })
             .map(customerRepository::save)
+            .map(customer -> {
+                customerSummaryCache.evict(customer.getId());
+                return customer;
+            })
             .map(customerMapper::toDto);
     }
 
@@ -87,7 +110,7 @@ public class CustomerService {
     @Transactional(readOnly = true)
     public Page<CustomerDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Customers");
-        return customerRepository.findAll(pageable).map(customerMapper::toDto);
+        return listQuery.findPage(null, pageable);
     }
 
     /**
@@ -110,5 +133,36 @@ public class CustomerService {
     public void delete(Long id) {
         LOG.debug("Request to delete Customer : {}", id);
         customerRepository.deleteById(id);
+        customerSummaryCache.evict(id);
+    }
+
+    private static List<Selection<?>> listColumns(Root<Customer> root) {
+        return List.of(
+            root.get("id").alias("id"),
+            root.get("firstName").alias("firstName"),
+            root.get("lastName").alias("lastName"),
+            root.get("email").alias("email"),
+            root.get("phone").alias("phone"),
+            root.get("notes").alias("notes"),
+            // the foreign key, the business is not joined
+            root.get("business").get("id").alias("businessId")
+        );
+    }
+
+    private static CustomerDTO toListDto(Tuple row) {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setId(row.get("id", Long.class));
+        customer.setFirstName(row.get("firstName", String.class));
+        customer.setLastName(row.get("lastName", String.class));
+        customer.setEmail(row.get("email", String.class));
+        customer.setPhone(row.get("phone", String.class));
+        customer.setNotes(row.get("notes", String.class));
+        Long businessId = row.get("businessId", Long.class);
+        if (businessId != null) {
+            BusinessDTO business = new BusinessDTO();
+            business.setId(businessId);
+            customer.setBusiness(business);
+        }
+        return customer;
     }
 }
@@ -0,0 +1,106 @@
+package com.mycompany.reservation.service;
+
+import com.mycompany.reservation.management.CacheMetersService;
+import com.mycompany.reservation.service.dto.CustomerReservationSummaryDTO;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of the reservation summaries of customers, keyed by customer id.
+ * <p>
+ * Writes evict only the customers they touch. Evictions happen right away and again once the surrounding transaction
+ * commits, so a summary computed from the old rows while the transaction was running does not survive it.
+ */
+@Service
+public class CustomerSummaryCache {
+
+    public static final String CACHE_NAME = "customerReservationSummary";
+
+    private static final Logger LOG = LoggerFactory.getLogger(CustomerSummaryCache.class);
+
+    private final CacheManager cacheManager;
+
+    private final CacheMetersService cacheMetersService;
+
+    public CustomerSummaryCache(CacheManager cacheManager, CacheMetersService cacheMetersService) {
+        this.cacheManager = cacheManager;
+        this.cacheMetersService = cacheMetersService;
+    }
+
+    /**
+     * Get the cached summary of a customer, computing and caching it on a miss.
+     *
+     * @param customerId the id of the customer.
+     * @param loader computes the summary on a miss.
+     * @return the summary.
+     */
+    public CustomerReservationSummaryDTO get(Long customerId, Supplier<CustomerReservationSummaryDTO> loader) {
+        Cache cache = cache();
+        CustomerReservationSummaryDTO summary = cache.get(customerId, CustomerReservationSummaryDTO.class);
+        if (summary != null) {
+            cacheMetersService.trackHit(CACHE_NAME);
+            return summary;
+        }
+        cacheMetersService.trackMiss(CACHE_NAME);
+        summary = loader.get();
+        cache.put(customerId, summary);
+        return summary;
+    }
+
+    /**
+     * Evict the summaries of some customers, ignoring {@code null} ids.
+     *
+     * @param customerIds the ids of the customers.
+     */
+    public void evict(Long... customerIds) {
+        evict(Arrays.asList(customerIds));
+    }
+
+    /**
+     * Evict the summaries of some customers, ignoring {@code null} ids.
+     *
+     * @param customerIds the ids of the customers.
+     */
+    public void evict(Collection<Long> customerIds) {
+        Set<Long> ids = customerIds.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+        if (ids.isEmpty()) {
+            return;
+        }
+        evictNow(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evictNow(ids);
+                    }
+                }
+            );
+        }
+    }
+
+    private void evictNow(Set<Long> ids) {
+        LOG.debug("Evicting reservation summaries of customers {}", ids);
+        Cache cache = cache();
+        ids.forEach(cache::evict);
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + CACHE_NAME + " is not configured");
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,101 @@
+package com.mycompany.reservation.service;
+
+import com.mycompany.reservation.config.ApplicationProperties;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import tech.jhipster.config.JHipsterConstants;
+
+/**
+ * {@link BlobStore} keeping every content in its own file, under {@code application.blob-store.directory}.
+ * <p>
+ * Contents are written to a temporary file of the same directory first and moved in place once complete, so a content is
+ * either fully stored or not at all. Files are spread over 256 subdirectories by the first characters of their random key.
+ * <p>
+ * The directory is checked at startup: in production it must be absolute, as the working directory of a container is not
+ * meant to keep data, and it must be writable, so a misconfigured store stops the application instead of failing uploads.
+ */
+@Service
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}");
+
+    private final Path directory;
+
+    @Autowired
+    public FileSystemBlobStore(ApplicationProperties applicationProperties, Environment environment) {
+        this(applicationProperties.getBlobStore().getDirectory());
+        Path configured = applicationProperties.getBlobStore().getDirectory();
+        if (environment.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_PRODUCTION)) && !configured.isAbsolute()) {
+            throw new IllegalStateException(
+                "application.blob-store.directory (BLOB_STORE_DIRECTORY) must be an absolute path in production, not " + configured
+            );
+        }
+        checkWritable();
+    }
+
+    FileSystemBlobStore(Path directory) {
+        this.directory = directory.toAbsolutePath();
+    }
+
+    @Override
+    public StoredBlob store(InputStream content) throws IOException {
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "upload-", ".tmp");
+        try {
+            long size;
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                size = content.transferTo(out);
+            }
+            String key = UUID.randomUUID().toString();
+            Path target = path(key);
+            Files.createDirectories(target.getParent());
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredBlob(key, size);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public Resource get(String key) throws IOException {
+        Path path = path(key);
+        if (!Files.isRegularFile(path)) {
+            throw new NoSuchFileException(path.toString());
+        }
+        return new FileSystemResource(path);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(path(key));
+    }
+
+    private void checkWritable() {
+        try {
+            Files.createDirectories(directory);
+            Files.delete(Files.createTempFile(directory, "check-", ".tmp"));
+        } catch (IOException e) {
+            throw new IllegalStateException("Blob store directory " + directory + " cannot be written", e);
+        }
+    }
+
+    private Path path(String key) {
+        if (!KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key " + key);
+        }
+        return directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+}
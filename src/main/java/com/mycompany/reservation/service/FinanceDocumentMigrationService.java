@@ -0,0 +1,79 @@
+package com.mycompany.reservation.service;
+
+import com.mycompany.reservation.repository.FinanceDocumentBlobRepository;
+import com.mycompany.reservation.repository.FinanceDocumentRepository;
+import java.io.IOException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Moves the content of the finance documents uploaded before the {@link BlobStore} out of their large objects.
+ * <p>
+ * Each document is moved in its own transaction, so a migration can be interrupted and started again; documents uploaded
+ * meanwhile go to the blob store directly.
+ * <p>
+ * It also deletes the copies of duplicate contents the documents stopped referencing when they were deduplicated, recorded in
+ * {@code finance_document_orphan_blob} by the changelog.
+ */
+@Service
+public class FinanceDocumentMigrationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FinanceDocumentMigrationService.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    private final FinanceDocumentRepository financeDocumentRepository;
+
+    private final FinanceDocumentBlobRepository financeDocumentBlobRepository;
+
+    private final FinanceDocumentService financeDocumentService;
+
+    public FinanceDocumentMigrationService(
+        FinanceDocumentRepository financeDocumentRepository,
+        FinanceDocumentBlobRepository financeDocumentBlobRepository,
+        FinanceDocumentService financeDocumentService
+    ) {
+        this.financeDocumentRepository = financeDocumentRepository;
+        this.financeDocumentBlobRepository = financeDocumentBlobRepository;
+        this.financeDocumentService = financeDocumentService;
+    }
+
+    /**
+     * Move the content of every document not in the blob store yet, then delete the orphaned copies of duplicate contents.
+     *
+     * @return the number of moved documents.
+     * @throws IOException if a content cannot be stored or an orphaned copy cannot be deleted; the work done before stays done.
+     */
+    public long migrateToBlobStore() throws IOException {
+        long moved = 0;
+        List<Long> ids = financeDocumentRepository.findIdsNotInBlobStore(PageRequest.of(0, BATCH_SIZE));
+        while (!ids.isEmpty()) {
+            for (Long id : ids) {
+                if (financeDocumentService.moveToBlobStore(id)) {
+                    moved++;
+                }
+            }
+            ids = financeDocumentRepository.findIdsNotInBlobStore(PageRequest.of(0, BATCH_SIZE));
+        }
+        LOG.info("Moved {} finance documents to the blob store", moved);
+        deleteOrphanBlobs();
+        return moved;
+    }
+
+    private void deleteOrphanBlobs() throws IOException {
+        long deleted = 0;
+        List<String> keys = financeDocumentBlobRepository.findOrphanKeys(BATCH_SIZE);
+        while (!keys.isEmpty()) {
+            for (String key : keys) {
+                if (financeDocumentService.deleteOrphanBlob(key)) {
+                    deleted++;
+                }
+            }
+            keys = financeDocumentBlobRepository.findOrphanKeys(BATCH_SIZE);
+        }
+        LOG.info("Deleted {} orphaned finance document blobs", deleted);
+    }
+}
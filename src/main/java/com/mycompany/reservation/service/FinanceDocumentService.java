@@ -1,20 +1,40 @@
 package com.mycompany.reservation.service;
 
 import com.mycompany.reservation.domain.FinanceDocument;
+import com.mycompany.reservation.domain.FinanceDocumentBlob;
+import com.mycompany.reservation.management.BlobStoreMetersService;
+import com.mycompany.reservation.repository.FinanceDocumentBlobRepository;
+import com.mycompany.reservation.repository.FinanceDocumentBlobRepository.BlobReference;
 import com.mycompany.reservation.repository.FinanceDocumentRepository;
+import com.mycompany.reservation.service.BlobStore.StoredBlob;
+import com.mycompany.reservation.service.dto.ContentVersionDTO;
 import com.mycompany.reservation.service.dto.FinanceDocumentDTO;
 import com.mycompany.reservation.service.mapper.FinanceDocumentMapper;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
  * Service Implementation for managing {@link com.mycompany.reservation.domain.FinanceDocument}.
+ * <p>
+ * The content of the documents is kept in the {@link BlobStore}, streamed in and out without being held in memory. Documents
+ * uploaded before the blob store keep it in a large object until {@link FinanceDocumentMigrationService} moves it.
+ * <p>
+ * Each distinct content is stored once, by SHA-256: documents with the same content share a {@link FinanceDocumentBlob},
+ * deleted from the blob store with the last document referencing it. Contents are compressed at rest with the {@link
+ * ContentCodec} chosen from their type, and sent compressed to the clients accepting it.
  */
 @Service
 @Transactional
@@ -24,10 +44,22 @@ public class FinanceDocumentService {
 
     private final FinanceDocumentRepository financeDocumentRepository;
     private final FinanceDocumentMapper financeDocumentMapper;
+    private final FinanceDocumentBlobRepository financeDocumentBlobRepository;
+    private final BlobStore blobStore;
+    private final BlobStoreMetersService blobStoreMetersService;
 
-    public FinanceDocumentService(FinanceDocumentRepository financeDocumentRepository, FinanceDocumentMapper financeDocumentMapper) {
+    public FinanceDocumentService(
+        FinanceDocumentRepository financeDocumentRepository,
+        FinanceDocumentMapper financeDocumentMapper,
+        FinanceDocumentBlobRepository financeDocumentBlobRepository,
+        BlobStore blobStore,
+        BlobStoreMetersService blobStoreMetersService
+    ) {
         this.financeDocumentRepository = financeDocumentRepository;
         this.financeDocumentMapper = financeDocumentMapper;
+        this.financeDocumentBlobRepository = financeDocumentBlobRepository;
+        this.blobStore = blobStore;
+        this.blobStoreMetersService = blobStoreMetersService;
     }
 
     public FinanceDocumentDTO store(MultipartFile file) throws IOException {
@@ -35,9 +67,16 @@ public class FinanceDocumentService {
         FinanceDocument financeDocument = new FinanceDocument()
             .fileName(file.getOriginalFilename() != null ? file.getOriginalFilename() : "invoice")
             .contentType(file.getContentType() != null ? file.getContentType() : "application/octet-stream")
-            .size(file.getSize())
-            .uploadedAt(Instant.now())
-            .data(file.getBytes());
+            .uploadedAt(Instant.now());
+        StoredContent stored;
+        try (InputStream content = file.getInputStream()) {
+            stored = storeContent(content, ContentCodec.forContentType(financeDocument.getContentType()));
+        }
+        financeDocument
+            .blobKey(stored.blobKey())
+            .contentEncoding(stored.encoding().token())
+            .size(stored.size())
+            .contentSha256(stored.sha256());
 
         financeDocument = financeDocumentRepository.save(financeDocument);
         return financeDocumentMapper.toDto(financeDocument);
@@ -55,8 +94,241 @@ public class FinanceDocumentService {
         return financeDocumentRepository.findById(id);
     }
 
+    /**
+     * Get the version of a document, without reading its content.
+     *
+     * @param id the id of the document.
+     * @param gzipAccepted whether the client accepts GZIP content: a content stored compressed is then sent as is, with a
+     * version of its own.
+     * @return the version of the document, empty if it does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ContentVersionDTO> findVersion(Long id, boolean gzipAccepted) {
+        return financeDocumentRepository
+            .findVersionById(id)
+            .map(version ->
+                new ContentVersionDTO(
+                    representationHash(version.getContentSha256(), sentEncoding(version.getContentEncoding(), gzipAccepted)),
+                    version.getUploadedAt()
+                )
+            );
+    }
+
+    /**
+     * Get the content of a document.
+     *
+     * @param document the document.
+     * @param gzipAccepted whether the client accepts GZIP content.
+     * @return the content, streamed from the blob store or read from the large object of a document not migrated yet: as
+     * stored if the client accepts its encoding, decoded while it is sent otherwise.
+     * @throws IOException if the content is missing from the blob store.
+     */
+    @Transactional(readOnly = true)
+    public DocumentContent getContent(FinanceDocument document, boolean gzipAccepted) throws IOException {
+        Resource stored = document.getBlobKey() != null
+            ? blobStore.get(document.getBlobKey())
+            : new ByteArrayResource(financeDocumentRepository.readLargeObject(legacyData(document)));
+        ContentCodec encoding = sentEncoding(document.getContentEncoding(), gzipAccepted);
+        Resource resource = encoding == ContentCodec.of(document.getContentEncoding())
+            ? stored
+            : new DecodedResource(stored, ContentCodec.of(document.getContentEncoding()), document.getSize());
+        return new DocumentContent(
+            resource,
+            encoding,
+            new ContentVersionDTO(representationHash(document.getContentSha256(), encoding), document.getUploadedAt())
+        );
+    }
+
+    /**
+     * Move the content of a document uploaded before the blob store out of its large object.
+     *
+     * @param id the id of the document.
+     * @return {@code true} if the content was moved, {@code false} if the document does not exist or is already in the blob
+     * store.
+     * @throws IOException if the content cannot be stored.
+     */
+    public boolean moveToBlobStore(Long id) throws IOException {
+        FinanceDocument document = financeDocumentRepository.findById(id).orElse(null);
+        if (document == null || document.getBlobKey() != null) {
+            return false;
+        }
+        long oid = legacyData(document);
+        StoredContent stored = storeContent(
+            new ByteArrayInputStream(financeDocumentRepository.readLargeObject(oid)),
+            ContentCodec.forContentType(document.getContentType())
+        );
+        if (!stored.sha256().equals(document.getContentSha256())) {
+            throw new IllegalStateException("Content of finance document " + id + " does not match its hash");
+        }
+        document.blobKey(stored.blobKey()).contentEncoding(stored.encoding().token()).setLegacyData(null);
+        financeDocumentRepository.unlinkLargeObject(oid);
+        LOG.debug("Moved finance document {} to blob {}", id, stored.blobKey());
+        return true;
+    }
+
+    /**
+     * Delete a copy of a content left in the blob store when the documents sharing the content were pointed at another copy.
+     *
+     * @param key the key recorded in {@code finance_document_orphan_blob}.
+     * @return {@code true} if the blob was deleted, {@code false} if it is referenced and kept.
+     * @throws IOException if the blob cannot be deleted; its key stays recorded for the next pass.
+     */
+    public boolean deleteOrphanBlob(String key) throws IOException {
+        boolean referenced = financeDocumentBlobRepository.isReferenced(key);
+        if (!referenced) {
+            blobStore.delete(key);
+        }
+        financeDocumentBlobRepository.forgetOrphan(key);
+        return !referenced;
+    }
+
     public void delete(Long id) {
         LOG.debug("Request to delete FinanceDocument : {}", id);
-        financeDocumentRepository.deleteById(id);
+        financeDocumentRepository
+            .findById(id)
+            .ifPresent(document -> {
+                financeDocumentRepository.delete(document);
+                if (document.getLegacyData() != null) {
+                    financeDocumentRepository.unlinkLargeObject(document.getLegacyData());
+                }
+                if (document.getBlobKey() != null) {
+                    releaseContent(document.getBlobKey());
+                }
+            });
+    }
+
+    /**
+     * Store a content, hashing and encoding it while it is written, and reference the blob holding it. A content stored already
+     * gets one more reference and the copy just written is deleted; a new one is deleted again if the surrounding transaction
+     * rolls back.
+     *
+     * @return the blob holding the content, with the encoding it is stored in.
+     */
+    private StoredContent storeContent(InputStream content, ContentCodec codec) throws IOException {
+        HashingInputStream hashing = new HashingInputStream(content);
+        StoredBlob blob;
+        try (InputStream encoded = codec.encode(hashing)) {
+            blob = blobStore.store(encoded);
+        }
+        deleteBlobOn(blob.key(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        String sha256 = hashing.sha256Hex();
+        long size = hashing.size();
+        BlobReference reference = financeDocumentBlobRepository.reference(sha256, blob.key(), size, codec.token());
+        if (!reference.getBlobKey().equals(blob.key())) {
+            LOG.debug("Content {} is stored already in blob {}", sha256, reference.getBlobKey());
+            deleteBlob(blob.key());
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        blobStoreMetersService.trackDeduplicated(size);
+                    }
+                }
+            );
+        }
+        return new StoredContent(reference.getBlobKey(), ContentCodec.of(reference.getContentEncoding()), size, sha256);
+    }
+
+    /**
+     * Remove a reference to a blob, deleting it once the surrounding transaction commits if it was the last one.
+     */
+    private void releaseContent(String key) {
+        financeDocumentBlobRepository.release(key);
+        if (financeDocumentBlobRepository.deleteUnreferenced(key) > 0) {
+            deleteBlobOn(key, TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+
+    private void deleteBlobOn(String key, int completionStatus) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == completionStatus) {
+                        deleteBlob(key);
+                    }
+                }
+            }
+        );
+    }
+
+    private void deleteBlob(String key) {
+        try {
+            blobStore.delete(key);
+        } catch (IOException e) {
+            LOG.warn("Blob {} of a finance document cannot be deleted: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * The encoding a content stored in {@code storedEncoding} is sent in: as stored, unless the client does not accept it.
+     */
+    private static ContentCodec sentEncoding(String storedEncoding, boolean gzipAccepted) {
+        ContentCodec stored = ContentCodec.of(storedEncoding);
+        return stored == ContentCodec.GZIP && !gzipAccepted ? ContentCodec.IDENTITY : stored;
+    }
+
+    /**
+     * The hash identifying a content sent in an encoding: the compressed and decoded contents are different representations,
+     * which must not share their ETag.
+     */
+    private static String representationHash(String sha256, ContentCodec encoding) {
+        return encoding == ContentCodec.IDENTITY ? sha256 : sha256 + "-" + encoding.token();
+    }
+
+    private static long legacyData(FinanceDocument document) {
+        if (document.getLegacyData() == null) {
+            throw new IllegalStateException("Finance document " + document.getId() + " has no content");
+        }
+        return document.getLegacyData();
+    }
+
+    /**
+     * The content of a document as it is sent.
+     *
+     * @param resource the content.
+     * @param encoding the encoding of the content, to send as its {@code Content-Encoding}.
+     * @param version the version of the content in this encoding.
+     */
+    public record DocumentContent(Resource resource, ContentCodec encoding, ContentVersionDTO version) {}
+
+    private record StoredContent(String blobKey, ContentCodec encoding, long size, String sha256) {}
+
+    /**
+     * A stored content decoded each time it is read, so it can be streamed and read in ranges like the stored one.
+     */
+    private static final class DecodedResource extends AbstractResource {
+
+        private final Resource encoded;
+
+        private final ContentCodec codec;
+
+        private final long contentLength;
+
+        DecodedResource(Resource encoded, ContentCodec codec, long contentLength) {
+            this.encoded = encoded;
+            this.codec = codec;
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return codec.decode(encoded.getInputStream());
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public boolean exists() {
+            return encoded.exists();
+        }
+
+        @Override
+        public String getDescription() {
+            return codec.token() + " decoded " + encoded.getDescription();
+        }
     }
 }
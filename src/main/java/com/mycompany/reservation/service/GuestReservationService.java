@@ -8,7 +8,6 @@ import com.mycompany.reservation.domain.enumeration.ReservationStatus;
 import com.mycompany.reservation.repository.BusinessRepository;
 import com.mycompany.reservation.repository.CustomerRepository;
 import com.mycompany.reservation.repository.OfferedServiceRepository;
-import com.mycompany.reservation.repository.ReservationRepository;
 import com.mycompany.reservation.service.dto.GuestReservationRequest;
 import com.mycompany.reservation.service.dto.ReservationDTO;
 import com.mycompany.reservation.service.mapper.ReservationMapper;
@@ -30,24 +29,33 @@ public class GuestReservationService {
     private static final Logger LOG = LoggerFactory.getLogger(GuestReservationService.class);
     private static final String ENTITY_NAME = "reservation";
 
-    private final ReservationRepository reservationRepository;
     private final ReservationMapper reservationMapper;
     private final CustomerRepository customerRepository;
     private final OfferedServiceRepository offeredServiceRepository;
     private final BusinessRepository businessRepository;
+    private final AvailabilityService availabilityService;
+    private final BookingGuard bookingGuard;
+    private final CustomerSummaryCache customerSummaryCache;
+    private final ReservationSketchService reservationSketchService;
 
     public GuestReservationService(
-        ReservationRepository reservationRepository,
         ReservationMapper reservationMapper,
         CustomerRepository customerRepository,
         OfferedServiceRepository offeredServiceRepository,
-        BusinessRepository businessRepository
+        BusinessRepository businessRepository,
+        AvailabilityService availabilityService,
+        BookingGuard bookingGuard,
+        CustomerSummaryCache customerSummaryCache,
+        ReservationSketchService reservationSketchService
     ) {
-        this.reservationRepository = reservationRepository;
         this.reservationMapper = reservationMapper;
         this.customerRepository = customerRepository;
         this.offeredServiceRepository = offeredServiceRepository;
         this.businessRepository = businessRepository;
+        this.availabilityService = availabilityService;
+        this.bookingGuard = bookingGuard;
+        this.customerSummaryCache = customerSummaryCache;
+        this.reservationSketchService = reservationSketchService;
     }
 
     public ReservationDTO createReservation(GuestReservationRequest request) {
@@ -66,7 +74,10 @@ public class GuestReservationService {
         reservation.setService(offeredService);
         reservation.setBusiness(business);
 
-        Reservation persisted = reservationRepository.save(reservation);
+        Reservation persisted = bookingGuard.save(reservation);
+        availabilityService.recordReservation(persisted);
+        reservationSketchService.recordReservation(persisted);
+        customerSummaryCache.evict(customer.getId());
         LOG.info("Reservation {} stored for guest {}", persisted.getId(), customer.getEmail());
         return reservationMapper.toDto(persisted);
     }
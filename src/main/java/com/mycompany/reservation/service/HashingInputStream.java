@@ -0,0 +1,77 @@
+package com.mycompany.reservation.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Computes the SHA-256 and size of a content while it is read.
+ */
+class HashingInputStream extends FilterInputStream {
+
+    private final MessageDigest digest = ContentHash.sha256();
+
+    private long size;
+
+    private String sha256Hex;
+
+    HashingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            digest.update((byte) b);
+            size++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            digest.update(b, off, n);
+            size += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // skipped bytes are read all the same, to be hashed
+        byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * @return the lowercase hex SHA-256 of the bytes read, to call once the content is read to its end.
+     */
+    String sha256Hex() {
+        if (sha256Hex == null) {
+            sha256Hex = HexFormat.of().formatHex(digest.digest());
+        }
+        return sha256Hex;
+    }
+
+    long size() {
+        return size;
+    }
+}
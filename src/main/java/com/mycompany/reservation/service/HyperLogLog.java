@@ -0,0 +1,159 @@
+package com.mycompany.reservation.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct {@code long} values added to it, with a standard error of about
+ * {@code 1.04 / sqrt(2^PRECISION)}, i.e. 2.3%.
+ * <p>
+ * Sketches merge by taking the maximum of every register, so the sketch of a union is the merge of the sketches of its parts.
+ * They serialize sparsely, as the set registers only, while few registers are set and as all the registers afterwards.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 11;
+
+    private static final int REGISTERS = 1 << PRECISION;
+
+    private static final byte SPARSE = 0;
+
+    private static final byte DENSE = 1;
+
+    private static final int SPARSE_ENTRY_BYTES = 3;
+
+    private static final int HEADER_BYTES = 2;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value the value.
+     * @return whether the sketch changed.
+     */
+    public boolean add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // the guard bit caps the rank at 64 - PRECISION + 1 when the remaining bits are all zero
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (registers[index] >= rank) {
+            return false;
+        }
+        registers[index] = rank;
+        return true;
+    }
+
+    /**
+     * Merge another sketch into this one.
+     *
+     * @param other the other sketch.
+     * @return whether this sketch changed.
+     */
+    public boolean merge(HyperLogLog other) {
+        boolean changed = false;
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Estimate the number of distinct values added to the sketch.
+     *
+     * @return the estimate.
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1d / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        double estimate = (alpha * REGISTERS * REGISTERS) / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // linear counting is more accurate for small cardinalities
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Serialize the sketch.
+     *
+     * @return the serialized sketch, readable with {@link #fromBytes(byte[])}.
+     */
+    public byte[] toBytes() {
+        int set = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                set++;
+            }
+        }
+        if (set * SPARSE_ENTRY_BYTES >= REGISTERS) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + REGISTERS);
+            buffer.put(DENSE).put((byte) PRECISION).put(registers);
+            return buffer.array();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + set * SPARSE_ENTRY_BYTES);
+        buffer.put(SPARSE).put((byte) PRECISION);
+        for (int i = 0; i < REGISTERS; i++) {
+            if (registers[i] != 0) {
+                buffer.putShort((short) i).put(registers[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Read a serialized sketch.
+     *
+     * @param bytes the serialized sketch.
+     * @return the sketch.
+     * @throws IllegalArgumentException if the bytes are not a sketch of the same precision.
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_BYTES || bytes[1] != PRECISION) {
+            throw new IllegalArgumentException("Not a HyperLogLog sketch of precision " + PRECISION);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, HEADER_BYTES, bytes.length - HEADER_BYTES);
+        byte[] registers = new byte[REGISTERS];
+        if (bytes[0] == DENSE && buffer.remaining() == REGISTERS) {
+            buffer.get(registers);
+        } else if (bytes[0] == SPARSE && buffer.remaining() % SPARSE_ENTRY_BYTES == 0) {
+            while (buffer.hasRemaining()) {
+                int index = Short.toUnsignedInt(buffer.getShort());
+                if (index >= REGISTERS) {
+                    throw new IllegalArgumentException("HyperLogLog register out of range: " + index);
+                }
+                registers[index] = buffer.get();
+            }
+        } else {
+            throw new IllegalArgumentException("Malformed HyperLogLog sketch");
+        }
+        return new HyperLogLog(registers);
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads sequential ids over the whole 64 bit range.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
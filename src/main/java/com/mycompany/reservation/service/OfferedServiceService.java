@@ -27,9 +27,16 @@ public class OfferedServiceService {
 
     private final OfferedServiceMapper offeredServiceMapper;
 
-    public OfferedServiceService(OfferedServiceRepository offeredServiceRepository, OfferedServiceMapper offeredServiceMapper) {
+    private final AvailabilityService availabilityService;
+
+    public OfferedServiceService(
+        OfferedServiceRepository offeredServiceRepository,
+        OfferedServiceMapper offeredServiceMapper,
+        AvailabilityService availabilityService
+    ) {
         this.offeredServiceRepository = offeredServiceRepository;
         this.offeredServiceMapper = offeredServiceMapper;
+        this.availabilityService = availabilityService;
     }
 
     /**
@@ -55,6 +62,7 @@ public class OfferedServiceService {
         LOG.debug("Request to update OfferedService : {}", offeredServiceDTO);
         OfferedService offeredService = offeredServiceMapper.toEntity(offeredServiceDTO);
         offeredService = offeredServiceRepository.save(offeredService);
+        availabilityService.evictService(offeredService.getId());
         return offeredServiceMapper.toDto(offeredService);
     }
 
@@ -75,6 +83,10 @@ public class OfferedServiceService {
                 return existingOfferedService;
             })
             .map(offeredServiceRepository::save)
+            .map(offeredService -> {
+                availabilityService.evictService(offeredService.getId());
+                return offeredService;
+            })
             .map(offeredServiceMapper::toDto);
     }
 
@@ -110,5 +122,6 @@ public class OfferedServiceService {
     public void delete(Long id) {
         LOG.debug("Request to delete OfferedService : {}", id);
         offeredServiceRepository.deleteById(id);
+        availabilityService.evictService(id);
     }
 }
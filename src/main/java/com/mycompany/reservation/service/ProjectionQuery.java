@@ -0,0 +1,100 @@
+package com.mycompany.reservation.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Page query selecting the columns a DTO needs straight into the DTO, without loading entities.
+ * <p>
+ * Rows are read as tuples and mapped as they arrive, so nothing is instantiated as an entity, registered in the persistence
+ * context, snapshotted for dirty checking or put in the second level cache. Filters are {@link Specification}s and the page
+ * is sorted, sliced and counted as {@code SimpleJpaRepository} does it, so a projection returns the same page as the entity
+ * query it replaces.
+ *
+ * @param <E> the queried entity.
+ * @param <D> the DTO built from each row.
+ */
+final class ProjectionQuery<E, D> {
+
+    private final EntityManager entityManager;
+
+    private final Class<E> entityType;
+
+    private final Function<Root<E>, List<Selection<?>>> columns;
+
+    private final Function<Tuple, D> mapper;
+
+    /**
+     * @param columns selects the columns of a row, joining what it needs to the root.
+     * @param mapper builds the DTO of a row.
+     */
+    ProjectionQuery(
+        EntityManager entityManager,
+        Class<E> entityType,
+        Function<Root<E>, List<Selection<?>>> columns,
+        Function<Tuple, D> mapper
+    ) {
+        this.entityManager = entityManager;
+        this.entityType = entityType;
+        this.columns = columns;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Get a page of DTOs.
+     *
+     * @param specification the filters to apply, {@code null} for none.
+     * @param pageable the pagination information.
+     * @return the page of DTOs.
+     */
+    Page<D> findPage(Specification<E> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<E> root = query.from(entityType);
+        query.multiselect(columns.apply(root));
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, criteriaBuilder) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Tuple> rows = typedQuery.getResultList();
+        List<D> content = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            content.add(mapper.apply(row));
+        }
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<E> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<E> root = query.from(entityType);
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, criteriaBuilder) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? criteriaBuilder.countDistinct(root) : criteriaBuilder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
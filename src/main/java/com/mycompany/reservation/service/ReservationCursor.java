@@ -0,0 +1,64 @@
+package com.mycompany.reservation.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Opaque cursors for keyset pagination of reservations ordered by {@code (date, id)}.
+ */
+public final class ReservationCursor {
+
+    public static final Sort ORDER = Sort.by(Sort.Order.asc("date"), Sort.Order.asc("id"));
+
+    private static final char SEPARATOR = ':';
+
+    private ReservationCursor() {}
+
+    /**
+     * Encode the position right after a reservation.
+     *
+     * @param date the date of the last reservation of a page.
+     * @param id the id of the last reservation of a page.
+     * @return the opaque cursor of the next page.
+     */
+    public static String encode(ZonedDateTime date, Long id) {
+        Instant instant = date.toInstant();
+        String raw = instant.getEpochSecond() + "" + SEPARATOR + instant.getNano() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode a cursor.
+     *
+     * @param cursor the cursor, {@code null} or blank for the first page.
+     * @return the matching scroll position.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(String.valueOf(SEPARATOR));
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed reservation cursor");
+        }
+        try {
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("date", instant.atZone(ZoneOffset.UTC));
+            keys.put("id", Long.valueOf(parts[2]));
+            return ScrollPosition.forward(keys);
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException("Malformed reservation cursor", e);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.mycompany.reservation.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.service.dto.CustomerDTO;
+import com.mycompany.reservation.service.dto.ReservationDTO;
+import com.mycompany.reservation.service.dto.ReservationFilterCriteria;
+import com.mycompany.reservation.service.mapper.ReservationMapper;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting {@link Reservation}s as CSV or newline delimited JSON.
+ * <p>
+ * Reservations are streamed from the database and written as they are read, and the persistence context is cleared every
+ * {@value #FETCH_SIZE} rows, so memory use does not depend on the number of exported rows.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReservationExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReservationExportService.class);
+
+    private static final String[] CSV_HEADER = {
+        "id",
+        "date",
+        "endDate",
+        "status",
+        "customerId",
+        "customerFirstName",
+        "customerLastName",
+        "customerEmail",
+        "customerPhone",
+        "businessId",
+        "serviceId",
+        "userId",
+        "userLogin",
+        "notes",
+    };
+
+    public static final int FETCH_SIZE = 500;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+        private final String extension;
+
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * Resolve a format from its name, ignoring case.
+         *
+         * @param value the name of the format.
+         * @return the format.
+         * @throws IllegalArgumentException if the format is unknown.
+         */
+        public static Format fromValue(String value) {
+            return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final ReservationMapper reservationMapper;
+
+    private final EntityManager entityManager;
+
+    private final ObjectWriter jsonWriter;
+
+    public ReservationExportService(
+        ReservationMapper reservationMapper,
+        EntityManager entityManager,
+        ObjectMapper objectMapper
+    ) {
+        this.reservationMapper = reservationMapper;
+        this.entityManager = entityManager;
+        this.jsonWriter = objectMapper.writerFor(ReservationDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Write the reservations matching the criteria to a stream, ordered by date.
+     *
+     * @param criteria the filters to apply.
+     * @param format the output format.
+     * @param out the stream to write to, left open.
+     * @return the number of exported reservations.
+     * @throws IOException if writing fails.
+     */
+    public long export(ReservationFilterCriteria criteria, Format format, OutputStream out) throws IOException {
+        ReservationFilterCriteria filters = criteria != null ? criteria : new ReservationFilterCriteria();
+        LOG.debug("Request to export Reservations as {} with filter {}", format, filters);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        long count = 0;
+        try (Stream<Reservation> reservations = streamMatching(ReservationSpecifications.matching(filters))) {
+            RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new JsonRowWriter(writer);
+            Iterator<Reservation> iterator = reservations.iterator();
+            while (iterator.hasNext()) {
+                Reservation reservation = iterator.next();
+                rowWriter.write(reservationMapper.toDto(reservation));
+                entityManager.detach(reservation);
+                if (++count % FETCH_SIZE == 0) {
+                    // drops the customers and users fetched along with the detached reservations
+                    entityManager.clear();
+                }
+            }
+            rowWriter.finish();
+        }
+        LOG.debug("Exported {} Reservations", count);
+        return count;
+    }
+
+    private Stream<Reservation> streamMatching(Specification<Reservation> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Reservation> query = criteriaBuilder.createQuery(Reservation.class);
+        Root<Reservation> root = query.from(Reservation.class);
+        root.fetch("customer", JoinType.LEFT);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("date")), criteriaBuilder.asc(root.get("id")));
+        return entityManager
+            .createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            // exported rows would otherwise evict the hot entries of the second level cache
+            .setHint(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS)
+            .getResultStream();
+    }
+
+    private interface RowWriter {
+        void write(ReservationDTO reservation) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writeRow(CSV_HEADER);
+        }
+
+        @Override
+        public void write(ReservationDTO reservation) throws IOException {
+            CustomerDTO customer = reservation.getCustomer();
+            writeRow(
+                new Object[] {
+                    reservation.getId(),
+                    reservation.getDate(),
+                    reservation.getEndDate(),
+                    reservation.getStatus(),
+                    customer != null ? customer.getId() : null,
+                    customer != null ? customer.getFirstName() : null,
+                    customer != null ? customer.getLastName() : null,
+                    customer != null ? customer.getEmail() : null,
+                    customer != null ? customer.getPhone() : null,
+                    reservation.getBusiness() != null ? reservation.getBusiness().getId() : null,
+                    reservation.getService() != null ? reservation.getService().getId() : null,
+                    reservation.getUserId(),
+                    reservation.getUserLogin(),
+                    reservation.getNotes(),
+                }
+            );
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] instanceof ZonedDateTime date) {
+                    writer.write(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(date));
+                } else if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private final class JsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        private JsonRowWriter(Writer writer) throws IOException {
+            this.generator = jsonWriter.createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(ReservationDTO reservation) throws IOException {
+            jsonWriter.writeValue(generator, reservation);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
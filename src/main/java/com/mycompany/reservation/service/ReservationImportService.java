@@ -0,0 +1,436 @@
+package com.mycompany.reservation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mycompany.reservation.domain.Business;
+import com.mycompany.reservation.domain.Customer;
+import com.mycompany.reservation.domain.OfferedService;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.User;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.repository.BusinessRepository;
+import com.mycompany.reservation.repository.CustomerRepository;
+import com.mycompany.reservation.repository.OfferedServiceRepository;
+import com.mycompany.reservation.repository.UserRepository;
+import com.mycompany.reservation.service.dto.ReservationImportResultDTO;
+import com.mycompany.reservation.service.dto.ReservationImportRowDTO;
+import com.mycompany.reservation.web.rest.errors.BadRequestAlertException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing {@link Reservation}s in bulk from a JSON array, newline delimited JSON or CSV.
+ * <p>
+ * The input is read as a stream and written in chunks of {@value #CHUNK_SIZE} rows, each in its own transaction. The
+ * customers, services, businesses and users a chunk references are loaded with one query per type, the slots of its
+ * reservations are locked and checked at once by {@link BookingGuard#saveAll(List)}, and the rows are inserted through
+ * Hibernate JDBC batching. A row that cannot be imported is reported and skipped; when a chunk fails in the database its rows
+ * are retried one transaction each, so a single bad row never rolls back its neighbours.
+ */
+@Service
+public class ReservationImportService {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReservationImportService.class);
+
+    private static final String ENTITY_NAME = "reservation";
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Set<String> CSV_REQUIRED_COLUMNS = Set.of("date", "status");
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final CustomerRepository customerRepository;
+
+    private final OfferedServiceRepository offeredServiceRepository;
+
+    private final BusinessRepository businessRepository;
+
+    private final UserRepository userRepository;
+
+    private final BookingGuard bookingGuard;
+
+    private final AvailabilityService availabilityService;
+
+    private final CustomerSummaryCache customerSummaryCache;
+
+    private final ReservationSketchService reservationSketchService;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectReader rowReader;
+
+    public ReservationImportService(
+        CustomerRepository customerRepository,
+        OfferedServiceRepository offeredServiceRepository,
+        BusinessRepository businessRepository,
+        UserRepository userRepository,
+        BookingGuard bookingGuard,
+        AvailabilityService availabilityService,
+        CustomerSummaryCache customerSummaryCache,
+        ReservationSketchService reservationSketchService,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper
+    ) {
+        this.customerRepository = customerRepository;
+        this.offeredServiceRepository = offeredServiceRepository;
+        this.businessRepository = businessRepository;
+        this.userRepository = userRepository;
+        this.bookingGuard = bookingGuard;
+        this.availabilityService = availabilityService;
+        this.customerSummaryCache = customerSummaryCache;
+        this.reservationSketchService = reservationSketchService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(ReservationImportRowDTO.class);
+    }
+
+    /**
+     * Import reservations from a JSON array or from newline delimited JSON objects.
+     *
+     * @param in the JSON input.
+     * @return the outcome of the import.
+     * @throws IOException if reading the input fails.
+     */
+    public ReservationImportResultDTO importJson(InputStream in) throws IOException {
+        LOG.debug("Request to import Reservations from JSON");
+        Import run = new Import();
+        try (MappingIterator<ReservationImportRowDTO> rows = rowReader.readValues(in)) {
+            while (true) {
+                long rowNumber = run.result.getTotalRows() + 1;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    run.add(rowNumber, rows.nextValue());
+                } catch (JsonMappingException e) {
+                    // the iterator skips the rest of the malformed value
+                    run.reject(rowNumber, "Geçersiz satır: " + e.getOriginalMessage());
+                } catch (JsonProcessingException e) {
+                    run.reject(rowNumber, "Geçersiz JSON, içe aktarma durduruldu: " + e.getOriginalMessage());
+                    break;
+                }
+            }
+        }
+        return run.finish();
+    }
+
+    /**
+     * Import reservations from CSV with a header record naming the columns.
+     * <p>
+     * The {@code date} and {@code status} columns are required; {@code notes}, {@code customerId}, {@code serviceId},
+     * {@code businessId} and {@code userId} are optional and other columns are ignored, so an export can be imported back.
+     *
+     * @param reader the CSV input.
+     * @return the outcome of the import.
+     * @throws IOException if reading the input fails.
+     */
+    public ReservationImportResultDTO importCsv(Reader reader) throws IOException {
+        LOG.debug("Request to import Reservations from CSV");
+        CsvRecordReader records = new CsvRecordReader(reader instanceof BufferedReader ? reader : new BufferedReader(reader));
+        List<String> header;
+        try {
+            header = records.next();
+        } catch (CsvRecordReader.MalformedCsvException e) {
+            // reported as a header missing its required columns
+            header = null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; header != null && i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).replace(BYTE_ORDER_MARK, "").trim(), i);
+        }
+        if (!columns.keySet().containsAll(CSV_REQUIRED_COLUMNS)) {
+            throw new BadRequestAlertException("CSV başlığında date ve status sütunları zorunludur", ENTITY_NAME, "importheaderinvalid");
+        }
+        Import run = new Import();
+        while (true) {
+            long rowNumber = run.result.getTotalRows() + 1;
+            List<String> record;
+            try {
+                record = records.next();
+            } catch (CsvRecordReader.MalformedCsvException e) {
+                run.reject(rowNumber, "Geçersiz CSV, içe aktarma durduruldu: " + e.getMessage());
+                break;
+            }
+            if (record == null) {
+                break;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                run.add(rowNumber, parseCsvRow(columns, record));
+            } catch (RuntimeException e) {
+                run.reject(rowNumber, "Geçersiz satır: " + e.getMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    private static ReservationImportRowDTO parseCsvRow(Map<String, Integer> columns, List<String> record) {
+        ReservationImportRowDTO row = new ReservationImportRowDTO();
+        String date = column(columns, record, "date");
+        row.setDate(date != null ? ZonedDateTime.parse(date, DateTimeFormatter.ISO_ZONED_DATE_TIME) : null);
+        String status = column(columns, record, "status");
+        row.setStatus(status != null ? ReservationStatus.valueOf(status.toUpperCase(Locale.ROOT)) : null);
+        row.setNotes(column(columns, record, "notes"));
+        row.setCustomerId(longColumn(columns, record, "customerId"));
+        row.setServiceId(longColumn(columns, record, "serviceId"));
+        row.setBusinessId(longColumn(columns, record, "businessId"));
+        row.setUserId(longColumn(columns, record, "userId"));
+        return row;
+    }
+
+    private static String column(Map<String, Integer> columns, List<String> record, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isBlank() ? null : value.trim();
+    }
+
+    private static Long longColumn(Map<String, Integer> columns, List<String> record, String name) {
+        String value = column(columns, record, name);
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    /**
+     * Write one chunk, falling back to one transaction per row when the chunk fails in the database or its slots stay locked by
+     * other writers.
+     */
+    private ChunkOutcome writeChunk(List<PendingRow> rows) {
+        try {
+            return transactionTemplate.execute(status -> persist(rows, true));
+        } catch (DataAccessException | PersistenceException e) {
+            LOG.debug("Chunk of {} reservations failed, retrying row by row: {}", rows.size(), e.getMessage());
+        }
+        ChunkOutcome outcome = new ChunkOutcome();
+        for (PendingRow row : rows) {
+            try {
+                ChunkOutcome single = transactionTemplate.execute(status -> persist(List.of(row), false));
+                outcome.imported += single.imported;
+                outcome.errors.addAll(single.errors);
+            } catch (DataAccessException | PersistenceException e) {
+                outcome.errors.add(new ReservationImportResultDTO.RowError(row.rowNumber(), "Kayıt reddedildi: " + rootMessage(e)));
+            }
+        }
+        return outcome;
+    }
+
+    /**
+     * Write rows in the current transaction, checking their slots all at once in bulk or one by one otherwise.
+     */
+    private ChunkOutcome persist(List<PendingRow> rows, boolean bulk) {
+        // imported rows are rarely read right away, keep them out of the second level cache
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        Map<Long, Customer> customers = loadAll(customerRepository, rows, ReservationImportRowDTO::getCustomerId, Customer::getId);
+        Map<Long, OfferedService> services = loadAll(
+            offeredServiceRepository,
+            rows,
+            ReservationImportRowDTO::getServiceId,
+            OfferedService::getId
+        );
+        Map<Long, Business> businesses = loadAll(businessRepository, rows, ReservationImportRowDTO::getBusinessId, Business::getId);
+        Map<Long, User> users = loadAll(userRepository, rows, ReservationImportRowDTO::getUserId, User::getId);
+
+        ChunkOutcome outcome = new ChunkOutcome();
+        List<PendingRow> valid = new ArrayList<>(rows.size());
+        List<Reservation> reservations = new ArrayList<>(rows.size());
+        for (PendingRow pending : rows) {
+            ReservationImportRowDTO row = pending.row();
+            String error = validate(row, customers, services, businesses, users);
+            if (error != null) {
+                outcome.errors.add(new ReservationImportResultDTO.RowError(pending.rowNumber(), error));
+                continue;
+            }
+            Reservation reservation = new Reservation().date(row.getDate()).status(row.getStatus()).notes(row.getNotes());
+            reservation.setCustomer(customers.get(row.getCustomerId()));
+            reservation.setService(services.get(row.getServiceId()));
+            reservation.setBusiness(businesses.get(row.getBusinessId()));
+            reservation.setUser(users.get(row.getUserId()));
+            valid.add(pending);
+            reservations.add(reservation);
+        }
+
+        // a chunk locks and checks its slots at once, its reservations going to the database in JDBC batches on flush
+        BitSet rejected = bulk ? bookingGuard.saveAll(reservations) : saveEach(reservations);
+        Set<Long> importedCustomerIds = new HashSet<>();
+        List<Reservation> imported = new ArrayList<>();
+        for (int i = 0; i < reservations.size(); i++) {
+            if (rejected.get(i)) {
+                String error = BookingGuard.SLOT_UNAVAILABLE_MESSAGE;
+                outcome.errors.add(new ReservationImportResultDTO.RowError(valid.get(i).rowNumber(), error));
+                continue;
+            }
+            Reservation saved = reservations.get(i);
+            availabilityService.recordReservation(saved);
+            imported.add(saved);
+            outcome.imported++;
+            if (saved.getCustomer() != null) {
+                importedCustomerIds.add(saved.getCustomer().getId());
+            }
+        }
+        reservationSketchService.recordReservations(imported);
+        entityManager.flush();
+        customerSummaryCache.evict(importedCustomerIds);
+        return outcome;
+    }
+
+    /**
+     * Save reservations one by one, each waiting for its slot as a booking does.
+     *
+     * @return the positions of the rejected reservations.
+     */
+    private BitSet saveEach(List<Reservation> reservations) {
+        BitSet rejected = new BitSet(reservations.size());
+        for (int i = 0; i < reservations.size(); i++) {
+            try {
+                bookingGuard.save(reservations.get(i));
+            } catch (BadRequestAlertException e) {
+                rejected.set(i);
+            }
+        }
+        return rejected;
+    }
+
+    private static String validate(
+        ReservationImportRowDTO row,
+        Map<Long, Customer> customers,
+        Map<Long, OfferedService> services,
+        Map<Long, Business> businesses,
+        Map<Long, User> users
+    ) {
+        if (row.getDate() == null) {
+            return "Rezervasyon tarihi zorunludur";
+        }
+        if (row.getStatus() == null) {
+            return "Rezervasyon durumu zorunludur";
+        }
+        if (row.getCustomerId() != null && !customers.containsKey(row.getCustomerId())) {
+            return "Geçersiz müşteri seçimi";
+        }
+        if (row.getServiceId() != null && !services.containsKey(row.getServiceId())) {
+            return "Geçersiz hizmet seçimi";
+        }
+        if (row.getBusinessId() != null && !businesses.containsKey(row.getBusinessId())) {
+            return "Geçersiz işletme seçimi";
+        }
+        if (row.getUserId() != null && !users.containsKey(row.getUserId())) {
+            return "Geçersiz kullanıcı seçimi";
+        }
+        return null;
+    }
+
+    private static <T> Map<Long, T> loadAll(
+        JpaRepository<T, Long> repository,
+        Collection<PendingRow> rows,
+        Function<ReservationImportRowDTO, Long> reference,
+        Function<T, Long> idOf
+    ) {
+        Set<Long> ids = rows.stream().map(PendingRow::row).map(reference).filter(Objects::nonNull).collect(Collectors.toSet());
+        return repository.findAllById(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private static String rootMessage(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private record PendingRow(long rowNumber, ReservationImportRowDTO row) {}
+
+    private static final class ChunkOutcome {
+
+        private long imported;
+
+        private final List<ReservationImportResultDTO.RowError> errors = new ArrayList<>();
+    }
+
+    /**
+     * State of one import: the rows waiting for the next chunk and the result so far.
+     */
+    private final class Import {
+
+        private final ReservationImportResultDTO result = new ReservationImportResultDTO();
+
+        private final List<PendingRow> pending = new ArrayList<>(CHUNK_SIZE);
+
+        void add(long rowNumber, ReservationImportRowDTO row) {
+            result.setTotalRows(rowNumber);
+            pending.add(new PendingRow(rowNumber, row));
+            if (pending.size() == CHUNK_SIZE) {
+                flushPending();
+            }
+        }
+
+        void reject(long rowNumber, String message) {
+            result.setTotalRows(rowNumber);
+            recordError(new ReservationImportResultDTO.RowError(rowNumber, message));
+        }
+
+        ReservationImportResultDTO finish() {
+            if (!pending.isEmpty()) {
+                flushPending();
+            }
+            LOG.info(
+                "Imported {} of {} reservations, {} rejected",
+                result.getImportedRows(),
+                result.getTotalRows(),
+                result.getFailedRows()
+            );
+            return result;
+        }
+
+        private void flushPending() {
+            ChunkOutcome outcome = writeChunk(List.copyOf(pending));
+            pending.clear();
+            result.setImportedRows(result.getImportedRows() + outcome.imported);
+            outcome.errors.forEach(this::recordError);
+        }
+
+        private void recordError(ReservationImportResultDTO.RowError error) {
+            result.setFailedRows(result.getFailedRows() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.mycompany.reservation.service;
+
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.ReservationDailyRollup;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.repository.ReservationDailyRollupRepository;
+import com.mycompany.reservation.service.dto.ReservationFilterCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Counts reservations from the {@link ReservationDailyRollup} table.
+ * <p>
+ * Days entirely inside a requested range are read from the rollups, the partial days at its edges from the
+ * {@code reservation} table, so the cost of a count depends on the number of days in the range and not on the number of
+ * reservations. Rollup days are UTC days, as reservation dates are stored in UTC.
+ */
+@Service
+public class ReservationRollupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReservationRollupService.class);
+
+    /**
+     * Number of days rebuilt per transaction; reservation writes wait while a chunk is rebuilt.
+     */
+    public static final int REBUILD_CHUNK_DAYS = 31;
+
+    private final ReservationDailyRollupRepository rollupRepository;
+
+    private final ReservationSketchService reservationSketchService;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ReservationRollupService(
+        ReservationDailyRollupRepository rollupRepository,
+        ReservationSketchService reservationSketchService,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.reservationSketchService = reservationSketchService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Count the reservations matching the criteria, by status.
+     * <p>
+     * Customers are not a dimension of the rollups: with a customer filter the reservations are counted directly.
+     *
+     * @param criteria the filters to apply.
+     * @return the number of matching reservations of every status that has some.
+     */
+    @Transactional(readOnly = true)
+    public Map<ReservationStatus, Long> countByStatus(ReservationFilterCriteria criteria) {
+        ReservationFilterCriteria filters = criteria != null ? criteria : new ReservationFilterCriteria();
+        Map<ReservationStatus, Long> counts = new EnumMap<>(ReservationStatus.class);
+        if (isEmptyRange(filters)) {
+            return counts;
+        }
+        DaySplit split = filters.getCustomerId() == null ? DaySplit.of(filters.getStartDate(), filters.getEndDate()) : null;
+        if (split == null) {
+            countReservations(ReservationSpecifications.matching(filters), counts);
+            return counts;
+        }
+        countRollups(filters.getBusinessId(), filters.getStatus(), split, counts);
+        Specification<Reservation> dimensions = ReservationSpecifications.belongsToBusiness(filters.getBusinessId()).and(
+            ReservationSpecifications.hasStatus(filters.getStatus())
+        );
+        split.edges().forEach(edge -> countReservations(dimensions.and(edge), counts));
+        return counts;
+    }
+
+    /**
+     * Count the distinct customers with reservations of a business in a date range.
+     * <p>
+     * Unless an exact count is requested, whole days are counted by merging the {@link HyperLogLog} sketches of their
+     * customers, with the customers of the partial days at the edges of the range added to the merged sketch.
+     *
+     * @param criteria the filters to apply; only the business and the dates are used.
+     * @param exact whether to count the customers from the reservation table instead.
+     * @return the number of distinct customers, estimated unless {@code exact}.
+     */
+    @Transactional(readOnly = true)
+    public long countDistinctCustomers(ReservationFilterCriteria criteria, boolean exact) {
+        ReservationFilterCriteria filters = criteria != null ? criteria : new ReservationFilterCriteria();
+        if (isEmptyRange(filters)) {
+            return 0;
+        }
+        Specification<Reservation> business = ReservationSpecifications.belongsToBusiness(filters.getBusinessId());
+        DaySplit split = exact ? null : DaySplit.of(filters.getStartDate(), filters.getEndDate());
+        if (split == null) {
+            return countDistinct("customer", business.and(inRange(filters)));
+        }
+        HyperLogLog customers = reservationSketchService.merge(filters.getBusinessId(), split.firstDay(), split.endDay());
+        split.edges().forEach(edge -> distinctIds("customer", business.and(edge)).forEach(customers::add));
+        return customers.estimate();
+    }
+
+    /**
+     * Count the distinct businesses with reservations of a customer in a date range.
+     * <p>
+     * Without a customer filter the businesses of whole days are read from the rollups; the count is exact either way.
+     *
+     * @param criteria the filters to apply; only the customer and the dates are used.
+     * @return the number of distinct businesses.
+     */
+    @Transactional(readOnly = true)
+    public long countDistinctBusinesses(ReservationFilterCriteria criteria) {
+        ReservationFilterCriteria filters = criteria != null ? criteria : new ReservationFilterCriteria();
+        if (isEmptyRange(filters)) {
+            return 0;
+        }
+        Specification<Reservation> customer = ReservationSpecifications.belongsToCustomer(filters.getCustomerId());
+        DaySplit split = filters.getCustomerId() == null ? DaySplit.of(filters.getStartDate(), filters.getEndDate()) : null;
+        if (split == null) {
+            return countDistinct("business", customer.and(inRange(filters)));
+        }
+        Set<Long> businesses = new HashSet<>(rolledUpBusinesses(split));
+        split.edges().forEach(edge -> businesses.addAll(distinctIds("business", edge)));
+        return businesses.size();
+    }
+
+    /**
+     * Recompute the rollups and customer sketches of the reservations since the first stored one, {@value #REBUILD_CHUNK_DAYS} days per
+     * transaction.
+     *
+     * @return the number of rebuilt days.
+     */
+    public long rebuildAll() {
+        LocalDate first = rollupRepository.findFirstReservationDay();
+        LocalDate last = rollupRepository.findLastReservationDay();
+        if (first == null || last == null) {
+            return 0;
+        }
+        return rebuild(first, last.plusDays(1));
+    }
+
+    /**
+     * Recompute the rollups and customer sketches of some days from the reservation table, {@value #REBUILD_CHUNK_DAYS} days
+     * per transaction.
+     *
+     * @param from the first day to rebuild.
+     * @param to the day after the last one to rebuild.
+     * @return the number of rebuilt days.
+     */
+    public long rebuild(LocalDate from, LocalDate to) {
+        LOG.debug("Request to rebuild reservation rollups from {} to {}", from, to);
+        long days = 0;
+        for (LocalDate chunkStart = from; chunkStart.isBefore(to); chunkStart = chunkStart.plusDays(REBUILD_CHUNK_DAYS)) {
+            LocalDate chunkEnd = chunkStart.plusDays(REBUILD_CHUNK_DAYS).isBefore(to) ? chunkStart.plusDays(REBUILD_CHUNK_DAYS) : to;
+            LocalDate chunkFrom = chunkStart;
+            Integer rows = transactionTemplate.execute(status -> {
+                rollupRepository.lockReservations();
+                rollupRepository.deleteDays(chunkFrom, chunkEnd);
+                reservationSketchService.rebuildDays(chunkFrom, chunkEnd);
+                return rollupRepository.insertDays(chunkFrom.atStartOfDay(), chunkEnd.atStartOfDay());
+            });
+            LOG.debug("Rebuilt reservation rollups from {} to {}: {} rows", chunkFrom, chunkEnd, rows);
+            days += chunkEnd.toEpochDay() - chunkStart.toEpochDay();
+        }
+        return days;
+    }
+
+    private void countRollups(Long businessId, ReservationStatus status, DaySplit split, Map<ReservationStatus, Long> counts) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<ReservationDailyRollup> root = query.from(ReservationDailyRollup.class);
+        Path<ReservationStatus> statusPath = root.get("status");
+        Path<LocalDate> dayPath = root.get("day");
+        List<Predicate> predicates = new ArrayList<>();
+        if (businessId != null) {
+            predicates.add(criteriaBuilder.equal(root.get("businessId"), businessId));
+        }
+        if (status != null) {
+            predicates.add(criteriaBuilder.equal(statusPath, status));
+        }
+        predicates.addAll(split.dayPredicates(criteriaBuilder, dayPath));
+        query.multiselect(statusPath, criteriaBuilder.sum(root.<Long>get("reservations")));
+        query.where(predicates.toArray(Predicate[]::new));
+        query.groupBy(statusPath);
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            add(counts, row.get(0, ReservationStatus.class), row.get(1, Long.class));
+        }
+    }
+
+    private void countReservations(Specification<Reservation> specification, Map<ReservationStatus, Long> counts) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Reservation> root = query.from(Reservation.class);
+        Path<ReservationStatus> statusPath = root.get("status");
+        query.multiselect(statusPath, criteriaBuilder.count(root));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(statusPath);
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            add(counts, row.get(0, ReservationStatus.class), row.get(1, Long.class));
+        }
+    }
+
+    private long countDistinct(String association, Specification<Reservation> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Reservation> root = query.from(Reservation.class);
+        query.select(criteriaBuilder.countDistinct(root.get(association).get("id")));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void add(Map<ReservationStatus, Long> counts, ReservationStatus status, Long count) {
+        if (count != null && count != 0) {
+            counts.merge(status, count, Long::sum);
+        }
+    }
+
+    private List<Long> rolledUpBusinesses(DaySplit split) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<ReservationDailyRollup> root = query.from(ReservationDailyRollup.class);
+        Path<Long> businessPath = root.get("businessId");
+        List<Predicate> predicates = new ArrayList<>(split.dayPredicates(criteriaBuilder, root.get("day")));
+        predicates.add(criteriaBuilder.isNotNull(businessPath));
+        predicates.add(criteriaBuilder.greaterThan(root.get("reservations"), 0L));
+        query.select(businessPath).distinct(true).where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private List<Long> distinctIds(String association, Specification<Reservation> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Reservation> root = query.from(Reservation.class);
+        Path<Long> idPath = root.get(association).get("id");
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        Predicate notNull = criteriaBuilder.isNotNull(idPath);
+        query.select(idPath).distinct(true).where(predicate != null ? criteriaBuilder.and(predicate, notNull) : notNull);
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static boolean isEmptyRange(ReservationFilterCriteria filters) {
+        return filters.getStartDate() != null && filters.getEndDate() != null && filters.getStartDate().isAfter(filters.getEndDate());
+    }
+
+    private static Specification<Reservation> inRange(ReservationFilterCriteria filters) {
+        return ReservationSpecifications.startsAfter(filters.getStartDate()).and(ReservationSpecifications.endsBefore(filters.getEndDate()));
+    }
+
+    /**
+     * A date range cut into the whole UTC days {@code [firstDay, endDay)}, either bound being open when the range is, and the
+     * partial days at its edges.
+     */
+    private record DaySplit(LocalDate firstDay, LocalDate endDay, List<Specification<Reservation>> edges) {
+        /**
+         * Split a range whose dates are included, both bounds included.
+         *
+         * @return the split, or {@code null} if the range does not cover a whole day.
+         */
+        static DaySplit of(ZonedDateTime start, ZonedDateTime end) {
+            LocalDate firstDay = null;
+            if (start != null) {
+                ZonedDateTime utc = start.withZoneSameInstant(ZoneOffset.UTC);
+                firstDay = utc.toLocalTime().equals(LocalTime.MIDNIGHT) ? utc.toLocalDate() : utc.toLocalDate().plusDays(1);
+            }
+            // every day before the one of the end is whole, as dates up to the end are included
+            LocalDate endDay = end == null ? null : end.withZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+            if (firstDay != null && endDay != null && !firstDay.isBefore(endDay)) {
+                return null;
+            }
+            List<Specification<Reservation>> edges = new ArrayList<>(2);
+            if (start != null && start.isBefore(startOf(firstDay))) {
+                edges.add(ReservationSpecifications.startsAfter(start).and(ReservationSpecifications.startsBefore(startOf(firstDay))));
+            }
+            if (end != null) {
+                edges.add(ReservationSpecifications.startsAfter(startOf(endDay)).and(ReservationSpecifications.endsBefore(end)));
+            }
+            return new DaySplit(firstDay, endDay, edges);
+        }
+
+        List<Predicate> dayPredicates(CriteriaBuilder criteriaBuilder, Path<LocalDate> dayPath) {
+            List<Predicate> predicates = new ArrayList<>(2);
+            if (firstDay != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(dayPath, firstDay));
+            }
+            if (endDay != null) {
+                predicates.add(criteriaBuilder.lessThan(dayPath, endDay));
+            }
+            return predicates;
+        }
+
+        private static ZonedDateTime startOf(LocalDate day) {
+            return day.atStartOfDay(ZoneOffset.UTC);
+        }
+    }
+}
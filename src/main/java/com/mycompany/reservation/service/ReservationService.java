@@ -1,31 +1,51 @@
 package com.mycompany.reservation.service;
 
+import com.mycompany.reservation.config.ApplicationProperties;
+import com.mycompany.reservation.domain.Customer;
 import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.User;
 import com.mycompany.reservation.domain.enumeration.ReservationStatus;
-import com.mycompany.reservation.repository.CustomerRepository;
 import com.mycompany.reservation.repository.ReservationRepository;
 import com.mycompany.reservation.repository.UserRepository;
 import com.mycompany.reservation.security.AuthoritiesConstants;
+import com.mycompany.reservation.security.CurrentUserResolver;
 import com.mycompany.reservation.security.SecurityUtils;
+import com.mycompany.reservation.service.dto.BusinessDTO;
+import com.mycompany.reservation.service.dto.CustomerDTO;
 import com.mycompany.reservation.service.dto.CustomerReservationSummaryDTO;
+import com.mycompany.reservation.service.dto.OfferedServiceDTO;
+import com.mycompany.reservation.service.dto.ReservationBatchResultDTO;
 import com.mycompany.reservation.service.dto.ReservationDTO;
 import com.mycompany.reservation.service.dto.ReservationFilterCriteria;
 import com.mycompany.reservation.service.dto.ReservationReportDTO;
 import com.mycompany.reservation.service.mapper.ReservationMapper;
+import com.mycompany.reservation.web.rest.errors.BadRequestAlertException;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Consumer;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -38,30 +58,63 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class ReservationService {
 
-    public static final String CUSTOMER_RESERVATION_SUMMARY_CACHE = "customerReservationSummary";
-
     private static final EnumSet<ReservationStatus> UPCOMING_STATUSES = EnumSet.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+
     private static final Logger LOG = LoggerFactory.getLogger(ReservationService.class);
 
     private final ReservationRepository reservationRepository;
 
     private final ReservationMapper reservationMapper;
 
-    private final CustomerRepository customerRepository;
-
     private final UserRepository userRepository;
 
+    private final CurrentUserResolver currentUserResolver;
+
+    private final AvailabilityService availabilityService;
+
+    private final BookingGuard bookingGuard;
+
+    private final CustomerSummaryCache customerSummaryCache;
+
+    private final ReservationRollupService reservationRollupService;
+
+    private final ReservationSketchService reservationSketchService;
+
+    private final boolean exactDistinctCounts;
+
+    private final ProjectionQuery<Reservation, ReservationDTO> listQuery;
+
     public ReservationService(
         ReservationRepository reservationRepository,
         ReservationMapper reservationMapper,
-        CustomerRepository customerRepository,
-        UserRepository userRepository
+        UserRepository userRepository,
+        CurrentUserResolver currentUserResolver,
+        AvailabilityService availabilityService,
+        BookingGuard bookingGuard,
+        CustomerSummaryCache customerSummaryCache,
+        ReservationRollupService reservationRollupService,
+        ReservationSketchService reservationSketchService,
+        ApplicationProperties applicationProperties,
+        EntityManager entityManager
     ) {
         this.reservationRepository = reservationRepository;
         this.reservationMapper = reservationMapper;
-        this.customerRepository = customerRepository;
         this.userRepository = userRepository;
+        this.currentUserResolver = currentUserResolver;
+        this.availabilityService = availabilityService;
+        this.bookingGuard = bookingGuard;
+        this.customerSummaryCache = customerSummaryCache;
+        this.reservationRollupService = reservationRollupService;
+        this.reservationSketchService = reservationSketchService;
+        this.exactDistinctCounts = applicationProperties.getReport().isExactDistinctCounts();
+        this.listQuery = new ProjectionQuery<>(
+            entityManager,
+            Reservation.class,
+            ReservationService::listColumns,
+            ReservationService::toListDto
+        );
     }
 
     /**
@@ -70,12 +123,14 @@ public class ReservationService {
      * @param reservationDTO the entity to save.
      * @return the persisted entity.
      */
-    @CacheEvict(cacheNames = CUSTOMER_RESERVATION_SUMMARY_CACHE, allEntries = true)
     public ReservationDTO save(ReservationDTO reservationDTO) {
         LOG.debug("Request to save Reservation : {}", reservationDTO);
         applyOwner(reservationDTO, true);
         Reservation reservation = reservationMapper.toEntity(reservationDTO);
-        reservation = reservationRepository.save(reservation);
+        reservation = bookingGuard.save(reservation);
+        availabilityService.recordReservation(reservation);
+        reservationSketchService.recordReservation(reservation);
+        customerSummaryCache.evict(customerIdOf(reservation));
         return reservationMapper.toDto(reservation);
     }
 
@@ -85,20 +140,22 @@ public class ReservationService {
      * @param reservationDTO the entity to save.
      * @return the persisted entity.
      */
-    @CacheEvict(cacheNames = CUSTOMER_RESERVATION_SUMMARY_CACHE, allEntries = true)
     public ReservationDTO update(ReservationDTO reservationDTO) {
         LOG.debug("Request to update Reservation : {}", reservationDTO);
         Reservation existingReservation = reservationRepository
             .findById(reservationDTO.getId())
             .orElseThrow(() -> new EntityNotFoundException("Reservation not found"));
         assertCanAccessReservation(existingReservation);
+        Long previousCustomerId = customerIdOf(existingReservation);
         applyOwner(reservationDTO, reservationDTO.getUserId() != null);
         Reservation reservation = reservationMapper.toEntity(reservationDTO);
-        reservation = reservationRepository.save(reservation);
+        reservation = bookingGuard.save(reservation);
+        availabilityService.recordReservation(reservation);
+        reservationSketchService.recordReservation(reservation);
+        customerSummaryCache.evict(previousCustomerId, customerIdOf(reservation));
         return reservationMapper.toDto(reservation);
     }
 
-    @CacheEvict(cacheNames = CUSTOMER_RESERVATION_SUMMARY_CACHE, allEntries = true)
     public ReservationDTO approve(Long reservationId, String notes) {
         LOG.debug("Request to approve Reservation : {}", reservationId);
         Reservation reservation = reservationRepository
@@ -112,17 +169,46 @@ public class ReservationService {
         if (notes != null) {
             reservation.setNotes(notes.isBlank() ? null : notes);
         }
-        reservation = reservationRepository.save(reservation);
+        reservation = bookingGuard.save(reservation);
+        availabilityService.recordReservation(reservation);
+        customerSummaryCache.evict(customerIdOf(reservation));
         return reservationMapper.toDto(reservation);
     }
 
+    /**
+     * Confirm several pending reservations with one update statement.
+     *
+     * @param ids the ids of the reservations to confirm.
+     * @return the outcome for every requested id.
+     */
+    public ReservationBatchResultDTO approveAll(Collection<Long> ids) {
+        LOG.debug("Request to approve Reservations : {}", ids);
+        return changeStatuses(ids, EnumSet.of(ReservationStatus.PENDING), ReservationStatus.CONFIRMED);
+    }
+
+    /**
+     * Cancel several pending or confirmed reservations with one update statement.
+     *
+     * @param ids the ids of the reservations to cancel.
+     * @return the outcome for every requested id.
+     */
+    public ReservationBatchResultDTO cancelAll(Collection<Long> ids) {
+        LOG.debug("Request to cancel Reservations : {}", ids);
+        ReservationBatchResultDTO result = changeStatuses(ids, UPCOMING_STATUSES, ReservationStatus.CANCELLED);
+        result
+            .getItems()
+            .stream()
+            .filter(item -> item.getOutcome() == ReservationBatchResultDTO.Outcome.UPDATED)
+            .forEach(item -> availabilityService.forgetReservation(item.getId()));
+        return result;
+    }
+
     /**
      * Partially update a reservation.
      *
      * @param reservationDTO the entity to update partially.
      * @return the persisted entity.
      */
-    @CacheEvict(cacheNames = CUSTOMER_RESERVATION_SUMMARY_CACHE, allEntries = true)
     public Optional<ReservationDTO> partialUpdate(ReservationDTO reservationDTO) {
         LOG.debug("Request to partially update Reservation : {}", reservationDTO);
 
@@ -133,11 +219,14 @@ public class ReservationService {
                 if (reservationDTO.getUserId() != null) {
                     applyOwner(reservationDTO, true);
                 }
+                Long previousCustomerId = customerIdOf(existingReservation);
                 reservationMapper.partialUpdate(existingReservation, reservationDTO);
-
-                return existingReservation;
+                Reservation reservation = bookingGuard.save(existingReservation);
+                availabilityService.recordReservation(reservation);
+                reservationSketchService.recordReservation(reservation);
+                customerSummaryCache.evict(previousCustomerId, customerIdOf(reservation));
+                return reservation;
             })
-            .map(reservationRepository::save)
             .map(reservationMapper::toDto);
     }
 
@@ -150,7 +239,24 @@ public class ReservationService {
     @Transactional(readOnly = true)
     public Page<ReservationDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Reservations");
-        return reservationRepository.findAll(pageable).map(reservationMapper::toDto);
+        return listQuery.findPage(null, pageable);
+    }
+
+    /**
+     * Get a window of reservations ordered by {@code (date, id)}, using keyset pagination.
+     * <p>
+     * Unlike {@link #findAll(Pageable)} this does not count the matching rows and its cost does not grow with the depth of
+     * the window.
+     *
+     * @param criteria the filters to apply.
+     * @param cursor the cursor returned with the previous window, {@code null} or blank for the first one.
+     * @param size the maximum number of reservations to return.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<ReservationDTO> findAll(ReservationFilterCriteria criteria, String cursor, int size) {
+        LOG.debug("Request to get Reservations after cursor {} with filter {}", cursor, criteria);
+        return scroll(ReservationSpecifications.matching(criteria), cursor, size);
     }
 
     @Transactional(readOnly = true)
@@ -158,8 +264,7 @@ public class ReservationService {
         LOG.debug("Request to get Reservations for customer {} with filter {}", customerId, criteria);
         ReservationFilterCriteria filters = criteria != null ? criteria : new ReservationFilterCriteria();
         filters.setCustomerId(customerId);
-        Specification<Reservation> specification = buildSpecification(filters);
-        return reservationRepository.findAll(specification, pageable).map(reservationMapper::toDto);
+        return listQuery.findPage(ReservationSpecifications.matching(filters), pageable);
     }
 
     @Transactional(readOnly = true)
@@ -167,9 +272,19 @@ public class ReservationService {
         Long currentUserId = getCurrentUserIdFromContext().orElseThrow(() -> new AccessDeniedException("Aktif kullanıcı bulunamadı"));
         LOG.debug("Request to get reservations for current user {} with filter {}", currentUserId, criteria);
         Specification<Reservation> specification = Specification.where(ReservationSpecifications.belongsToUser(currentUserId)).and(
-            buildSpecification(criteria)
+            ReservationSpecifications.matching(criteria)
+        );
+        return listQuery.findPage(specification, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<ReservationDTO> findForCurrentUser(ReservationFilterCriteria criteria, String cursor, int size) {
+        Long currentUserId = getCurrentUserIdFromContext().orElseThrow(() -> new AccessDeniedException("Aktif kullanıcı bulunamadı"));
+        LOG.debug("Request to get reservations for current user {} after cursor {} with filter {}", currentUserId, cursor, criteria);
+        Specification<Reservation> specification = Specification.where(ReservationSpecifications.belongsToUser(currentUserId)).and(
+            ReservationSpecifications.matching(criteria)
         );
-        return reservationRepository.findAll(specification, pageable).map(reservationMapper::toDto);
+        return scroll(specification, cursor, size);
     }
 
     @Transactional(readOnly = true)
@@ -179,84 +294,74 @@ public class ReservationService {
             ReservationSpecifications.hasStatusIn(UPCOMING_STATUSES)
         );
         PageRequest pageRequest = PageRequest.of(0, Math.max(size, 1), Sort.by(Sort.Direction.ASC, "date"));
-        return reservationRepository.findAll(specification, pageRequest).map(reservationMapper::toDto);
+        return listQuery.findPage(specification, pageRequest);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = CUSTOMER_RESERVATION_SUMMARY_CACHE, key = "#customerId")
     public CustomerReservationSummaryDTO getCustomerSummary(Long customerId) {
+        return customerSummaryCache.get(customerId, () -> summarizeCustomer(customerId));
+    }
+
+    private CustomerReservationSummaryDTO summarizeCustomer(Long customerId) {
         LOG.debug("Request reservation summary for customer {}", customerId);
         CustomerReservationSummaryDTO summary = new CustomerReservationSummaryDTO();
         summary.setCustomerId(customerId);
-        customerRepository
-            .findById(customerId)
-            .ifPresent(customer -> summary.setCustomerFullName(customer.getFirstName() + " " + customer.getLastName()));
-
-        ZonedDateTime now = ZonedDateTime.now();
-        summary.setTotalReservations(reservationRepository.countByCustomerId(customerId));
-        summary.setUpcomingReservations(reservationRepository.countByCustomerIdAndDateAfter(customerId, now));
-
         reservationRepository
-            .findFirstByCustomerIdOrderByDateDesc(customerId)
-            .map(Reservation::getDate)
-            .ifPresent(summary::setLastReservationDate);
-
-        reservationRepository
-            .findFirstByCustomerIdAndDateAfterOrderByDateAsc(customerId, now)
-            .map(Reservation::getDate)
-            .ifPresent(summary::setNextReservationDate);
-
-        Map<ReservationStatus, Consumer<Long>> statusConsumers = Map.of(
-            ReservationStatus.PENDING,
-            summary::setPendingReservations,
-            ReservationStatus.CONFIRMED,
-            summary::setConfirmedReservations,
-            ReservationStatus.CANCELLED,
-            summary::setCancelledReservations,
-            ReservationStatus.COMPLETED,
-            summary::setCompletedReservations
-        );
-
-        reservationRepository
-            .countByCustomerGroupedByStatus(customerId)
-            .forEach(statusCount -> statusConsumers.getOrDefault(statusCount.getStatus(), unused -> {}).accept(statusCount.getTotal()));
-
+            .summarizeCustomer(customerId, ZonedDateTime.now())
+            .ifPresent(row -> {
+                summary.setCustomerFullName(row.getFirstName() + " " + row.getLastName());
+                summary.setTotalReservations(row.getTotal());
+                summary.setUpcomingReservations(row.getUpcoming());
+                summary.setPendingReservations(row.getPending());
+                summary.setConfirmedReservations(row.getConfirmed());
+                summary.setCompletedReservations(row.getCompleted());
+                summary.setCancelledReservations(row.getCancelled());
+                summary.setLastReservationDate(row.getLastDate());
+                summary.setNextReservationDate(row.getNextDate());
+            });
         return summary;
     }
 
+    /**
+     * Get the report of the reservations matching the criteria.
+     *
+     * @param criteria the filters to apply.
+     * @param exact whether to count distinct customers exactly rather than estimate them, {@code null} for the configured
+     * default.
+     * @return the report.
+     */
     @Transactional(readOnly = true)
-    public ReservationReportDTO getReservationReport(ReservationFilterCriteria criteria) {
+    public ReservationReportDTO getReservationReport(ReservationFilterCriteria criteria, Boolean exact) {
         ReservationFilterCriteria filters = criteria != null ? criteria : new ReservationFilterCriteria();
-        Specification<Reservation> specification = buildSpecification(filters);
         ReservationReportDTO report = new ReservationReportDTO();
         report.setRangeStart(filters.getStartDate());
         report.setRangeEnd(filters.getEndDate());
 
-        report.setTotalReservations(reservationRepository.count(specification));
+        report.getStatusCounts().clear();
+        report.getStatusCounts().putAll(reservationRollupService.countByStatus(filters));
+        report.setTotalReservations(report.getStatusCounts().values().stream().mapToLong(Long::longValue).sum());
 
         ZonedDateTime now = ZonedDateTime.now();
-        Specification<Reservation> upcomingSpecification = specification
-            .and(ReservationSpecifications.startsAfter(now))
-            .and(ReservationSpecifications.hasStatusIn(UPCOMING_STATUSES));
-        report.setUpcomingReservations(reservationRepository.count(upcomingSpecification));
-
-        report.setDistinctCustomers(
-            reservationRepository.countDistinctCustomersByFilters(filters.getBusinessId(), filters.getStartDate(), filters.getEndDate())
-        );
-        report.setDistinctBusinesses(
-            reservationRepository.countDistinctBusinessesByFilters(filters.getCustomerId(), filters.getStartDate(), filters.getEndDate())
+        ReservationFilterCriteria upcoming = new ReservationFilterCriteria();
+        upcoming.setCustomerId(filters.getCustomerId());
+        upcoming.setBusinessId(filters.getBusinessId());
+        upcoming.setStatus(filters.getStatus());
+        upcoming.setStartDate(filters.getStartDate() != null && filters.getStartDate().isAfter(now) ? filters.getStartDate() : now);
+        upcoming.setEndDate(filters.getEndDate());
+        report.setUpcomingReservations(
+            reservationRollupService
+                .countByStatus(upcoming)
+                .entrySet()
+                .stream()
+                .filter(entry -> UPCOMING_STATUSES.contains(entry.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum()
         );
 
-        report.getStatusCounts().clear();
-        reservationRepository
-            .countByFilters(
-                filters.getCustomerId(),
-                filters.getBusinessId(),
-                filters.getStatus(),
-                filters.getStartDate(),
-                filters.getEndDate()
-            )
-            .forEach(statusCount -> report.getStatusCounts().put(statusCount.getStatus(), statusCount.getTotal()));
+        boolean exactCustomers = exact != null ? exact : exactDistinctCounts;
+        report.setDistinctCustomers(reservationRollupService.countDistinctCustomers(filters, exactCustomers));
+        report.setDistinctCustomersExact(exactCustomers);
+        report.setDistinctBusinesses(reservationRollupService.countDistinctBusinesses(filters));
 
         return report;
     }
@@ -284,7 +389,6 @@ public class ReservationService {
      *
      * @param id the id of the entity.
      */
-    @CacheEvict(cacheNames = CUSTOMER_RESERVATION_SUMMARY_CACHE, allEntries = true)
     public void delete(Long id) {
         LOG.debug("Request to delete Reservation : {}", id);
         Reservation reservation = reservationRepository
@@ -292,17 +396,68 @@ public class ReservationService {
             .orElseThrow(() -> new EntityNotFoundException("Reservation not found"));
         assertCanAccessReservation(reservation);
         reservationRepository.delete(reservation);
+        availabilityService.forgetReservation(id);
+        customerSummaryCache.evict(customerIdOf(reservation));
     }
 
-    private Specification<Reservation> buildSpecification(ReservationFilterCriteria criteria) {
-        ReservationFilterCriteria filters = criteria != null ? criteria : new ReservationFilterCriteria();
-        Specification<Reservation> specification = Specification.where(null);
-        specification = specification.and(ReservationSpecifications.belongsToCustomer(filters.getCustomerId()));
-        specification = specification.and(ReservationSpecifications.belongsToBusiness(filters.getBusinessId()));
-        specification = specification.and(ReservationSpecifications.hasStatus(filters.getStatus()));
-        specification = specification.and(ReservationSpecifications.startsAfter(filters.getStartDate()));
-        specification = specification.and(ReservationSpecifications.endsBefore(filters.getEndDate()));
-        return specification;
+    /**
+     * Move the reservations in one of the {@code from} statuses to the {@code to} status.
+     * <p>
+     * The rows are locked and checked with one query, then updated with one statement. Neither status blocks a slot the other
+     * does not, so the booking guard has nothing to check.
+     */
+    private ReservationBatchResultDTO changeStatuses(Collection<Long> ids, Set<ReservationStatus> from, ReservationStatus to) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        boolean isAdmin = SecurityUtils.hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN);
+        Long currentUserId = isAdmin ? null : getCurrentUserIdFromContext().orElse(null);
+
+        Map<Long, ReservationBatchResultDTO.Outcome> outcomes = new HashMap<>();
+        List<Long> eligible = new ArrayList<>();
+        Set<Long> customerIds = new HashSet<>();
+        for (ReservationRepository.StatusOwnerProjection row : reservationRepository.lockStatusOwnerByIdIn(requested)) {
+            ReservationBatchResultDTO.Outcome outcome;
+            if (!isAdmin && (currentUserId == null || !currentUserId.equals(row.getUserId()))) {
+                outcome = ReservationBatchResultDTO.Outcome.FORBIDDEN;
+            } else if (!from.contains(row.getStatus())) {
+                outcome = ReservationBatchResultDTO.Outcome.INVALID_STATUS;
+            } else {
+                outcome = ReservationBatchResultDTO.Outcome.UPDATED;
+                eligible.add(row.getId());
+                customerIds.add(row.getCustomerId());
+            }
+            outcomes.put(row.getId(), outcome);
+        }
+
+        ReservationBatchResultDTO result = new ReservationBatchResultDTO();
+        if (!eligible.isEmpty()) {
+            result.setUpdated(reservationRepository.updateStatusByIdIn(eligible, to));
+            customerSummaryCache.evict(customerIds);
+        }
+        requested.forEach(id ->
+            result
+                .getItems()
+                .add(new ReservationBatchResultDTO.Item(id, outcomes.getOrDefault(id, ReservationBatchResultDTO.Outcome.NOT_FOUND)))
+        );
+        return result;
+    }
+
+    private static Long customerIdOf(Reservation reservation) {
+        return reservation.getCustomer() != null ? reservation.getCustomer().getId() : null;
+    }
+
+    private Window<ReservationDTO> scroll(Specification<Reservation> specification, String cursor, int size) {
+        KeysetScrollPosition position;
+        try {
+            position = ReservationCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", "reservation", "cursorinvalid");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        return reservationRepository
+            .findBy(specification.and(ReservationSpecifications.fetchingCustomerAndUser()), query ->
+                query.sortBy(ReservationCursor.ORDER).limit(limit).scroll(position)
+            )
+            .map(reservationMapper::toDto);
     }
 
     private void applyOwner(ReservationDTO reservationDTO, boolean assignCurrentWhenMissing) {
@@ -313,7 +468,10 @@ public class ReservationService {
         Long resolvedOwnerId = determineOwnerId(requestedUserId);
         if (resolvedOwnerId != null) {
             reservationDTO.setUserId(resolvedOwnerId);
-            userRepository.findById(resolvedOwnerId).ifPresent(user -> reservationDTO.setUserLogin(user.getLogin()));
+            Optional<String> login = resolvedOwnerId.equals(getCurrentUserIdFromContext().orElse(null))
+                ? SecurityUtils.getCurrentUserLogin()
+                : userRepository.findById(resolvedOwnerId).map(User::getLogin);
+            login.ifPresent(reservationDTO::setUserLogin);
         }
     }
 
@@ -338,11 +496,7 @@ public class ReservationService {
     }
 
     private Optional<Long> getCurrentUserIdFromContext() {
-        Optional<Long> userId = SecurityUtils.getCurrentUserId();
-        if (userId.isPresent()) {
-            return userId;
-        }
-        return SecurityUtils.getCurrentUserLogin().flatMap(login -> userRepository.findOneByLogin(login).map(user -> user.getId()));
+        return currentUserResolver.getCurrentUserId();
     }
 
     private void assertCanAccessReservation(Reservation reservation) {
@@ -355,4 +509,62 @@ public class ReservationService {
             throw new AccessDeniedException("Rezervasyona erişim izniniz bulunmuyor");
         }
     }
+
+    private static List<Selection<?>> listColumns(Root<Reservation> root) {
+        // the columns ReservationMapper#toDto reads; service and business are mapped to their foreign keys, not joined
+        Join<Reservation, Customer> customer = root.join("customer", JoinType.LEFT);
+        Join<Reservation, User> user = root.join("user", JoinType.LEFT);
+        return List.of(
+            root.get("id").alias("id"),
+            root.get("date").alias("date"),
+            root.get("status").alias("status"),
+            root.get("notes").alias("notes"),
+            root.get("endDate").alias("endDate"),
+            root.get("service").get("id").alias("serviceId"),
+            root.get("business").get("id").alias("businessId"),
+            customer.get("id").alias("customerId"),
+            customer.get("firstName").alias("customerFirstName"),
+            customer.get("lastName").alias("customerLastName"),
+            customer.get("email").alias("customerEmail"),
+            customer.get("phone").alias("customerPhone"),
+            customer.get("notes").alias("customerNotes"),
+            user.get("id").alias("userId"),
+            user.get("login").alias("userLogin")
+        );
+    }
+
+    private static ReservationDTO toListDto(Tuple row) {
+        ReservationDTO reservation = new ReservationDTO();
+        reservation.setId(row.get("id", Long.class));
+        reservation.setDate(row.get("date", ZonedDateTime.class));
+        reservation.setStatus(row.get("status", ReservationStatus.class));
+        reservation.setNotes(row.get("notes", String.class));
+        reservation.setEndDate(row.get("endDate", ZonedDateTime.class));
+        Long serviceId = row.get("serviceId", Long.class);
+        if (serviceId != null) {
+            OfferedServiceDTO service = new OfferedServiceDTO();
+            service.setId(serviceId);
+            reservation.setService(service);
+        }
+        Long businessId = row.get("businessId", Long.class);
+        if (businessId != null) {
+            BusinessDTO business = new BusinessDTO();
+            business.setId(businessId);
+            reservation.setBusiness(business);
+        }
+        Long customerId = row.get("customerId", Long.class);
+        if (customerId != null) {
+            CustomerDTO customer = new CustomerDTO();
+            customer.setId(customerId);
+            customer.setFirstName(row.get("customerFirstName", String.class));
+            customer.setLastName(row.get("customerLastName", String.class));
+            customer.setEmail(row.get("customerEmail", String.class));
+            customer.setPhone(row.get("customerPhone", String.class));
+            customer.setNotes(row.get("customerNotes", String.class));
+            reservation.setCustomer(customer);
+        }
+        reservation.setUserId(row.get("userId", Long.class));
+        reservation.setUserLogin(row.get("userLogin", String.class));
+        return reservation;
+    }
 }
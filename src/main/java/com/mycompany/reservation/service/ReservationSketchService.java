@@ -0,0 +1,161 @@
+package com.mycompany.reservation.service;
+
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.ReservationCustomerSketch;
+import com.mycompany.reservation.repository.ReservationCustomerSketchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the {@link ReservationCustomerSketch}es: one {@link HyperLogLog} of customer ids per business and UTC day.
+ * <p>
+ * Sketches only grow: a reservation moved to another day or business, or deleted, still counts for its former day until the
+ * days are rebuilt with {@link #rebuildDays(LocalDate, LocalDate)}.
+ */
+@Service
+@Transactional
+public class ReservationSketchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReservationSketchService.class);
+
+    private static final byte[] EMPTY_SKETCH = new HyperLogLog().toBytes();
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(
+        Key::businessId,
+        Comparator.nullsFirst(Comparator.<Long>naturalOrder())
+    ).thenComparing(Key::day);
+
+    private final ReservationCustomerSketchRepository sketchRepository;
+
+    private final EntityManager entityManager;
+
+    public ReservationSketchService(ReservationCustomerSketchRepository sketchRepository, EntityManager entityManager) {
+        this.sketchRepository = sketchRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Add the customer of a stored reservation to the sketch of its business and day.
+     *
+     * @param reservation the reservation.
+     */
+    public void recordReservation(Reservation reservation) {
+        recordReservations(List.of(reservation));
+    }
+
+    /**
+     * Add the customers of stored reservations to the sketches of their businesses and days, updating every sketch once.
+     *
+     * @param reservations the reservations.
+     */
+    public void recordReservations(Collection<Reservation> reservations) {
+        // sketches are locked in key order, so concurrent writers cannot deadlock on them
+        Map<Key, List<Long>> customersByKey = new TreeMap<>(KEY_ORDER);
+        for (Reservation reservation : reservations) {
+            if (reservation.getCustomer() == null || reservation.getCustomer().getId() == null || reservation.getDate() == null) {
+                continue;
+            }
+            Long businessId = reservation.getBusiness() != null ? reservation.getBusiness().getId() : null;
+            LocalDate day = reservation.getDate().withZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+            customersByKey.computeIfAbsent(new Key(businessId, day), key -> new ArrayList<>()).add(reservation.getCustomer().getId());
+        }
+        customersByKey.forEach((key, customerIds) -> {
+            sketchRepository.insertIfMissing(key.businessId(), key.day(), EMPTY_SKETCH);
+            ReservationCustomerSketch stored = lock(key).orElseThrow();
+            HyperLogLog sketch = HyperLogLog.fromBytes(stored.getRegisters());
+            boolean changed = false;
+            for (Long customerId : customerIds) {
+                changed |= sketch.add(customerId);
+            }
+            if (changed) {
+                stored.setRegisters(sketch.toBytes());
+            }
+        });
+    }
+
+    /**
+     * Merge the sketches of the days in {@code [from, to)}.
+     *
+     * @param businessId the id of the business, {@code null} for all businesses.
+     * @param from the first day, {@code null} for no lower bound.
+     * @param to the day after the last one, {@code null} for no upper bound.
+     * @return the merged sketch.
+     */
+    @Transactional(readOnly = true)
+    public HyperLogLog merge(Long businessId, LocalDate from, LocalDate to) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<byte[]> query = criteriaBuilder.createQuery(byte[].class);
+        Root<ReservationCustomerSketch> root = query.from(ReservationCustomerSketch.class);
+        List<Predicate> predicates = new ArrayList<>();
+        if (businessId != null) {
+            predicates.add(criteriaBuilder.equal(root.get("businessId"), businessId));
+        }
+        if (from != null) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("day"), from));
+        }
+        if (to != null) {
+            predicates.add(criteriaBuilder.lessThan(root.get("day"), to));
+        }
+        query.select(root.get("registers")).where(predicates.toArray(Predicate[]::new));
+        HyperLogLog merged = new HyperLogLog();
+        for (byte[] registers : entityManager.createQuery(query).getResultList()) {
+            merged.merge(HyperLogLog.fromBytes(registers));
+        }
+        return merged;
+    }
+
+    /**
+     * Recompute the sketches of the days in {@code [from, to)} from the reservation table. Reservation writes should be
+     * blocked by the caller while the sketches are rebuilt.
+     *
+     * @param from the first day.
+     * @param to the day after the last one.
+     * @return the number of stored sketches.
+     */
+    public int rebuildDays(LocalDate from, LocalDate to) {
+        sketchRepository.deleteDays(from, to);
+        Map<Key, HyperLogLog> sketches = new HashMap<>();
+        for (Object[] row : sketchRepository.findBusinessDayCustomers(from.atStartOfDay(), to.atStartOfDay())) {
+            Long businessId = row[0] != null ? ((Number) row[0]).longValue() : null;
+            LocalDate day = row[1] instanceof Date date ? date.toLocalDate() : (LocalDate) row[1];
+            sketches.computeIfAbsent(new Key(businessId, day), key -> new HyperLogLog()).add(((Number) row[2]).longValue());
+        }
+        List<ReservationCustomerSketch> entities = new ArrayList<>(sketches.size());
+        sketches.forEach((key, sketch) -> {
+            ReservationCustomerSketch entity = new ReservationCustomerSketch();
+            entity.setBusinessId(key.businessId());
+            entity.setDay(key.day());
+            entity.setRegisters(sketch.toBytes());
+            entities.add(entity);
+        });
+        sketchRepository.saveAll(entities);
+        LOG.debug("Rebuilt {} customer sketches from {} to {}", entities.size(), from, to);
+        return entities.size();
+    }
+
+    private Optional<ReservationCustomerSketch> lock(Key key) {
+        return key.businessId() != null
+            ? sketchRepository.lockByBusinessIdAndDay(key.businessId(), key.day())
+            : sketchRepository.lockWithoutBusinessByDay(key.day());
+    }
+
+    private record Key(Long businessId, LocalDate day) {}
+}
@@ -2,6 +2,8 @@ package com.mycompany.reservation.service;
 
 import com.mycompany.reservation.domain.Reservation;
 import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.service.dto.ReservationFilterCriteria;
+import jakarta.persistence.criteria.JoinType;
 import java.time.ZonedDateTime;
 import java.util.Collection;
 import org.springframework.data.jpa.domain.Specification;
@@ -10,6 +12,17 @@ public final class ReservationSpecifications {
 
     private ReservationSpecifications() {}
 
+    public static Specification<Reservation> matching(ReservationFilterCriteria criteria) {
+        ReservationFilterCriteria filters = criteria != null ? criteria : new ReservationFilterCriteria();
+        Specification<Reservation> specification = Specification.where(null);
+        specification = specification.and(belongsToCustomer(filters.getCustomerId()));
+        specification = specification.and(belongsToBusiness(filters.getBusinessId()));
+        specification = specification.and(hasStatus(filters.getStatus()));
+        specification = specification.and(startsAfter(filters.getStartDate()));
+        specification = specification.and(endsBefore(filters.getEndDate()));
+        return specification;
+    }
+
     public static Specification<Reservation> belongsToCustomer(Long customerId) {
         return (root, query, criteriaBuilder) ->
             customerId == null ? null : criteriaBuilder.equal(root.get("customer").get("id"), customerId);
@@ -37,7 +50,25 @@ public final class ReservationSpecifications {
             startDate == null ? null : criteriaBuilder.greaterThanOrEqualTo(root.get("date"), startDate);
     }
 
+    public static Specification<Reservation> startsBefore(ZonedDateTime date) {
+        return (root, query, criteriaBuilder) -> date == null ? null : criteriaBuilder.lessThan(root.get("date"), date);
+    }
+
     public static Specification<Reservation> endsBefore(ZonedDateTime endDate) {
         return (root, query, criteriaBuilder) -> endDate == null ? null : criteriaBuilder.lessThanOrEqualTo(root.get("date"), endDate);
     }
+
+    /**
+     * Fetch the customer and the owner with the reservations, as {@code ReservationMapper#toDto} reads both. Leaves count
+     * queries alone.
+     */
+    public static Specification<Reservation> fetchingCustomerAndUser() {
+        return (root, query, criteriaBuilder) -> {
+            if (Reservation.class.equals(query.getResultType())) {
+                root.fetch("customer", JoinType.LEFT);
+                root.fetch("user", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
 }
@@ -0,0 +1,157 @@
+package com.mycompany.reservation.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Interval timeline of the slot-blocking reservations of a single business.
+ * <p>
+ * Bookings are kept ordered by start so that free slots for a day can be computed from the handful of bookings around that
+ * day instead of from the whole {@code reservation} table. Instances are thread safe.
+ */
+public final class ReservationTimeline {
+
+    private static final Comparator<Booking> BY_START = Comparator.comparingLong(Booking::start).thenComparingLong(Booking::reservationId);
+
+    private final NavigableSet<Booking> bookings = new TreeSet<>(BY_START);
+
+    private final Map<Long, Booking> bookingsByReservation = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long longestBookingSeconds;
+
+    /**
+     * Add or move the booking of a reservation.
+     *
+     * @param reservationId the id of the reservation.
+     * @param start the start of the booking.
+     * @param duration the length of the booking.
+     */
+    public void put(long reservationId, Instant start, Duration duration) {
+        long startSeconds = start.getEpochSecond();
+        long lengthSeconds = Math.max(duration.getSeconds(), 1L);
+        Booking booking = new Booking(reservationId, startSeconds, startSeconds + lengthSeconds);
+        lock.writeLock().lock();
+        try {
+            Booking previous = bookingsByReservation.put(reservationId, booking);
+            if (previous != null) {
+                bookings.remove(previous);
+            }
+            bookings.add(booking);
+            longestBookingSeconds = Math.max(longestBookingSeconds, lengthSeconds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the booking of a reservation.
+     *
+     * @param reservationId the id of the reservation.
+     * @return {@code true} if the reservation was part of the timeline.
+     */
+    public boolean remove(long reservationId) {
+        lock.writeLock().lock();
+        try {
+            Booking previous = bookingsByReservation.remove(reservationId);
+            if (previous == null) {
+                return false;
+            }
+            bookings.remove(previous);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bookings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compute the free slot starts inside a window.
+     *
+     * @param windowStart the first instant a slot may start at.
+     * @param windowEnd the last instant a slot may end at.
+     * @param duration the length of the requested slot.
+     * @param step the distance between two candidate slot starts.
+     * @param notBefore candidate slots starting before this instant are skipped, may be {@code null}.
+     * @return the start of every candidate slot that does not overlap a booking, in ascending order.
+     */
+    public List<Instant> freeSlots(Instant windowStart, Instant windowEnd, Duration duration, Duration step, Instant notBefore) {
+        long from = windowStart.getEpochSecond();
+        long to = windowEnd.getEpochSecond();
+        long length = Math.max(duration.getSeconds(), 1L);
+        long stepSeconds = Math.max(step.getSeconds(), 1L);
+        long[] busy = mergedBusyIntervals(from, to);
+
+        List<Instant> slots = new ArrayList<>();
+        long earliest = notBefore != null ? notBefore.getEpochSecond() : Long.MIN_VALUE;
+        int cursor = 0;
+        for (long slotStart = from; slotStart + length <= to; slotStart += stepSeconds) {
+            if (slotStart < earliest) {
+                continue;
+            }
+            while (cursor < busy.length && busy[cursor + 1] <= slotStart) {
+                cursor += 2;
+            }
+            if (cursor >= busy.length || busy[cursor] >= slotStart + length) {
+                slots.add(Instant.ofEpochSecond(slotStart));
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Bookings overlapping {@code [from, to)} merged into disjoint intervals, flattened as {@code start0, end0, start1, end1...}.
+     */
+    private long[] mergedBusyIntervals(long from, long to) {
+        lock.readLock().lock();
+        try {
+            long[] merged = new long[8];
+            int size = 0;
+            Booking probe = new Booking(Long.MIN_VALUE, from - longestBookingSeconds, 0L);
+            for (Booking booking : bookings.tailSet(probe, true)) {
+                if (booking.start() >= to) {
+                    break;
+                }
+                if (booking.end() <= from) {
+                    continue;
+                }
+                if (size > 0 && booking.start() <= merged[size - 1]) {
+                    merged[size - 1] = Math.max(merged[size - 1], booking.end());
+                    continue;
+                }
+                if (size == merged.length) {
+                    long[] grown = new long[size * 2];
+                    System.arraycopy(merged, 0, grown, 0, size);
+                    merged = grown;
+                }
+                merged[size++] = booking.start();
+                merged[size++] = booking.end();
+            }
+            long[] result = new long[size];
+            System.arraycopy(merged, 0, result, 0, size);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Booking(long reservationId, long start, long end) {}
+}
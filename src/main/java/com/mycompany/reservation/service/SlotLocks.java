@@ -0,0 +1,138 @@
+package com.mycompany.reservation.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks guarding the time slots of businesses.
+ * <p>
+ * Time is cut into fixed buckets and every {@code (business, bucket)} pair hashes onto one of a fixed number of locks, so
+ * bookings for different businesses or far apart windows rarely contend while overlapping bookings of the same business always
+ * share at least one lock. The stripes of a window are always acquired in ascending order, which keeps multi-stripe
+ * acquisitions deadlock free. Bulk writers lock the stripes of all their windows in one ascending pass with
+ * {@link #tryLock(Collection, Duration)}, and give up after a timeout rather than wait on a transaction locking in several
+ * passes.
+ */
+public final class SlotLocks {
+
+    private final ReentrantLock[] stripes;
+
+    private final long bucketSeconds;
+
+    public SlotLocks(int stripeCount, long bucketSeconds) {
+        if (stripeCount < 1 || bucketSeconds < 1) {
+            throw new IllegalArgumentException("stripeCount and bucketSeconds must be positive");
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    /**
+     * Lock every stripe covering the {@code [start, end)} window of a business.
+     *
+     * @param businessId the id of the business.
+     * @param start the start of the window.
+     * @param end the end of the window, must not be before {@code start}.
+     * @return the held locks, to be released with {@link Held#release()} by the same thread.
+     */
+    public Held lock(long businessId, Instant start, Instant end) {
+        BitSet indexes = new BitSet(stripes.length);
+        addStripes(businessId, start, end, indexes);
+        ReentrantLock[] held = new ReentrantLock[indexes.cardinality()];
+        for (int i = 0, index = indexes.nextSetBit(0); index >= 0; i++, index = indexes.nextSetBit(index + 1)) {
+            held[i] = stripes[index];
+            held[i].lock();
+        }
+        return new Held(held);
+    }
+
+    /**
+     * Lock every stripe covering any of the windows, in one ascending pass, waiting at most {@code timeout} in total.
+     *
+     * @param windows the windows to lock.
+     * @param timeout how long to wait for the stripes held by others.
+     * @return the held locks, to be released with {@link Held#release()} by the same thread, or {@code null} if they could not
+     * all be acquired in time; none of them is held then.
+     * @throws InterruptedException if the thread is interrupted while waiting; none of the locks is held then.
+     */
+    public Held tryLock(Collection<Window> windows, Duration timeout) throws InterruptedException {
+        BitSet indexes = new BitSet(stripes.length);
+        for (Window window : windows) {
+            addStripes(window.businessId(), window.start(), window.end(), indexes);
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        ReentrantLock[] held = new ReentrantLock[indexes.cardinality()];
+        int count = 0;
+        try {
+            for (int index = indexes.nextSetBit(0); index >= 0; index = indexes.nextSetBit(index + 1)) {
+                if (!stripes[index].tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+                held[count++] = stripes[index];
+            }
+        } finally {
+            if (count < held.length) {
+                new Held(held, count).release();
+            }
+        }
+        return count == held.length ? new Held(held) : null;
+    }
+
+    private void addStripes(long businessId, Instant start, Instant end, BitSet indexes) {
+        long firstBucket = Math.floorDiv(start.getEpochSecond(), bucketSeconds);
+        long lastBucket = Math.floorDiv(Math.max(end.getEpochSecond() - 1, start.getEpochSecond()), bucketSeconds);
+        if (lastBucket - firstBucket + 1 >= stripes.length) {
+            // a window longer than the stripe count simply takes every stripe
+            indexes.set(0, stripes.length);
+            return;
+        }
+        for (long bucket = firstBucket; bucket <= lastBucket; bucket++) {
+            indexes.set(stripeIndex(businessId, bucket));
+        }
+    }
+
+    private int stripeIndex(long businessId, long bucket) {
+        long hash = businessId * 0x9E3779B97F4A7C15L + bucket;
+        hash ^= (hash >>> 33);
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= (hash >>> 33);
+        return (int) Math.floorMod(hash, (long) stripes.length);
+    }
+
+    /**
+     * The {@code [start, end)} window of a business.
+     */
+    public record Window(long businessId, Instant start, Instant end) {}
+
+    /**
+     * Locks acquired by {@link #lock(long, Instant, Instant)} or {@link #tryLock(Collection, Duration)}.
+     */
+    public static final class Held {
+
+        private final ReentrantLock[] locks;
+
+        private final int count;
+
+        private Held(ReentrantLock[] locks) {
+            this(locks, locks.length);
+        }
+
+        private Held(ReentrantLock[] locks, int count) {
+            this.locks = locks;
+            this.count = count;
+        }
+
+        public void release() {
+            for (int i = count - 1; i >= 0; i--) {
+                locks[i].unlock();
+            }
+        }
+    }
+}
@@ -3,11 +3,14 @@ package com.mycompany.reservation.service;
 import com.mycompany.reservation.config.Constants;
 import com.mycompany.reservation.domain.Authority;
 import com.mycompany.reservation.domain.User;
+import com.mycompany.reservation.domain.UserAvatar;
 import com.mycompany.reservation.repository.AuthorityRepository;
+import com.mycompany.reservation.repository.UserAvatarRepository;
 import com.mycompany.reservation.repository.UserRepository;
 import com.mycompany.reservation.security.AuthoritiesConstants;
 import com.mycompany.reservation.security.SecurityUtils;
 import com.mycompany.reservation.service.dto.AdminUserDTO;
+import com.mycompany.reservation.service.dto.ContentVersionDTO;
 import com.mycompany.reservation.service.dto.UserAvatarDTO;
 import com.mycompany.reservation.service.dto.UserDTO;
 import java.io.IOException;
@@ -44,16 +47,24 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final UserAvatarRepository userAvatarRepository;
+
+    private final AvatarVariantService avatarVariantService;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        UserAvatarRepository userAvatarRepository,
+        AvatarVariantService avatarVariantService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.userAvatarRepository = userAvatarRepository;
+        this.avatarVariantService = avatarVariantService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -319,11 +330,27 @@ public class UserService {
         return authorityRepository.findAll().stream().map(Authority::getName).toList();
     }
 
+    @Transactional(readOnly = true)
     public Optional<UserAvatarDTO> getUserAvatar(String login) {
-        return userRepository
-            .findOneByLogin(login.toLowerCase())
-            .filter(user -> user.getProfileImage() != null && user.getProfileImage().length > 0)
-            .map(user -> new UserAvatarDTO(user.getProfileImage(), user.getProfileImageContentType()));
+        return userAvatarRepository
+            .findOneByUserLogin(login.toLowerCase())
+            .filter(avatar -> avatar.getData().length > 0)
+            .map(avatar ->
+                new UserAvatarDTO(avatar.getData(), avatar.getContentType(), new ContentVersionDTO(avatar.getContentSha256(), avatar.getUploadedAt()))
+            );
+    }
+
+    /**
+     * Get the version of the avatar of a user, without reading the image.
+     *
+     * @param login the login of the user.
+     * @return the version of the avatar, empty if the user has no avatar.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ContentVersionDTO> getUserAvatarVersion(String login) {
+        return userAvatarRepository
+            .findVersionByUserLogin(login.toLowerCase())
+            .map(version -> new ContentVersionDTO(version.getContentSha256(), version.getUploadedAt()));
     }
 
     public Optional<AdminUserDTO> updateUserAvatar(String login, MultipartFile file) throws IOException {
@@ -333,8 +360,14 @@ public class UserService {
         return userRepository
             .findOneByLogin(login.toLowerCase())
             .map(user -> {
-                user.setProfileImage(imageBytes);
-                user.setProfileImageContentType(contentType);
+                UserAvatar avatar = userAvatarRepository.findById(user.getId()).orElseGet(UserAvatar::new);
+                avatar.setUserId(user.getId());
+                avatar.setData(imageBytes);
+                avatar.setContentType(contentType);
+                avatar.setContentSha256(ContentHash.sha256Hex(imageBytes));
+                avatar.setUploadedAt(Instant.now());
+                userAvatarRepository.save(avatar);
+                avatarVariantService.createVariants(avatar);
                 user.setImageUrl("/users/" + user.getLogin() + "/avatar");
                 userRepository.save(user);
                 this.clearUserCaches(user);
@@ -345,6 +378,7 @@ public class UserService {
 
     private void clearUserCaches(User user) {
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
+        avatarVariantService.evict(user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
         }
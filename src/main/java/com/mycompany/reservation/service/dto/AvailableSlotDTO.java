@@ -0,0 +1,45 @@
+package com.mycompany.reservation.service.dto;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+/**
+ * A bookable time slot returned by the public availability endpoint.
+ */
+public class AvailableSlotDTO implements Serializable {
+
+    private ZonedDateTime start;
+    private ZonedDateTime end;
+
+    public AvailableSlotDTO() {}
+
+    public AvailableSlotDTO(ZonedDateTime start, ZonedDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public ZonedDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(ZonedDateTime start) {
+        this.start = start;
+    }
+
+    public ZonedDateTime getEnd() {
+        return end;
+    }
+
+    public void setEnd(ZonedDateTime end) {
+        this.end = end;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AvailableSlotDTO{" +
+            "start='" + getStart() + "'" +
+            ", end='" + getEnd() + "'" +
+            "}";
+    }
+}
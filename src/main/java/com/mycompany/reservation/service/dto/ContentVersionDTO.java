@@ -0,0 +1,12 @@
+package com.mycompany.reservation.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The version of stored binary content, to validate the copies clients cached.
+ *
+ * @param hash identifies the exact bytes, changes whenever they do.
+ * @param lastModified when the content was stored, {@code null} if unknown.
+ */
+public record ContentVersionDTO(String hash, Instant lastModified) implements Serializable {}
@@ -0,0 +1,28 @@
+package com.mycompany.reservation.service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Payload used when changing the status of several reservations at once.
+ */
+public class ReservationBatchRequestDTO implements Serializable {
+
+    public static final int MAX_IDS = 1000;
+
+    @NotEmpty
+    @Size(max = MAX_IDS)
+    private List<@NotNull Long> ids = new ArrayList<>();
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,66 @@
+package com.mycompany.reservation.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch status change, with one item per requested reservation id.
+ */
+public class ReservationBatchResultDTO implements Serializable {
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        FORBIDDEN,
+        INVALID_STATUS,
+    }
+
+    private int updated;
+    private List<Item> items = new ArrayList<>();
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public static class Item implements Serializable {
+
+        private Long id;
+        private Outcome outcome;
+
+        public Item() {}
+
+        public Item(Long id, Outcome outcome) {
+            this.id = id;
+            this.outcome = outcome;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public void setOutcome(Outcome outcome) {
+            this.outcome = outcome;
+        }
+    }
+}
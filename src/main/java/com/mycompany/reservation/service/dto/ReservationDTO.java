@@ -22,6 +22,8 @@ public class ReservationDTO implements Serializable {
 
     private String notes;
 
+    private ZonedDateTime endDate;
+
     private OfferedServiceDTO service;
 
     private CustomerDTO customer;
@@ -64,6 +66,14 @@ public class ReservationDTO implements Serializable {
         this.notes = notes;
     }
 
+    public ZonedDateTime getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(ZonedDateTime endDate) {
+        this.endDate = endDate;
+    }
+
     public OfferedServiceDTO getService() {
         return service;
     }
@@ -133,6 +143,7 @@ public class ReservationDTO implements Serializable {
             ", date='" + getDate() + "'" +
             ", status='" + getStatus() + "'" +
             ", notes='" + getNotes() + "'" +
+            ", endDate='" + getEndDate() + "'" +
             ", service=" + getService() +
             ", customer=" + getCustomer() +
             ", business=" + getBusiness() +
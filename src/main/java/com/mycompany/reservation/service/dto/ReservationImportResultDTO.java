@@ -0,0 +1,80 @@
+package com.mycompany.reservation.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk reservation import.
+ */
+public class ReservationImportResultDTO implements Serializable {
+
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private List<RowError> errors = new ArrayList<>();
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(long importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public long getFailedRows() {
+        return failedRows;
+    }
+
+    public void setFailedRows(long failedRows) {
+        this.failedRows = failedRows;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * A row that could not be imported, numbered from 1 in the order of the input.
+     */
+    public static class RowError implements Serializable {
+
+        private long row;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public void setRow(long row) {
+            this.row = row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.mycompany.reservation.service.dto;
+
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+/**
+ * A reservation of a bulk import, referencing its customer, service, business and user by id.
+ */
+public class ReservationImportRowDTO implements Serializable {
+
+    private ZonedDateTime date;
+
+    private ReservationStatus status;
+
+    private String notes;
+
+    private Long customerId;
+
+    private Long serviceId;
+
+    private Long businessId;
+
+    private Long userId;
+
+    public ZonedDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(ZonedDateTime date) {
+        this.date = date;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(Long serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public Long getBusinessId() {
+        return businessId;
+    }
+
+    public void setBusinessId(Long businessId) {
+        this.businessId = businessId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReservationImportRowDTO{" +
+            "date='" + getDate() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", customerId=" + getCustomerId() +
+            ", serviceId=" + getServiceId() +
+            ", businessId=" + getBusinessId() +
+            ", userId=" + getUserId() +
+            "}";
+    }
+}
@@ -10,6 +10,7 @@ public class ReservationReportDTO implements Serializable {
 
     private long totalReservations;
     private long distinctCustomers;
+    private boolean distinctCustomersExact;
     private long distinctBusinesses;
     private long upcomingReservations;
     private Map<ReservationStatus, Long> statusCounts = new EnumMap<>(ReservationStatus.class);
@@ -32,6 +33,14 @@ public class ReservationReportDTO implements Serializable {
         this.distinctCustomers = distinctCustomers;
     }
 
+    public boolean isDistinctCustomersExact() {
+        return distinctCustomersExact;
+    }
+
+    public void setDistinctCustomersExact(boolean distinctCustomersExact) {
+        this.distinctCustomersExact = distinctCustomersExact;
+    }
+
     public long getDistinctBusinesses() {
         return distinctBusinesses;
     }
@@ -1,6 +1,8 @@
 package com.mycompany.reservation.service.dto;
 
+import java.io.Serializable;
+
 /**
  * A DTO representing the binary data for a user's avatar image.
  */
-public record UserAvatarDTO(byte[] data, String contentType) {}
+public record UserAvatarDTO(byte[] data, String contentType, ContentVersionDTO version) implements Serializable {}
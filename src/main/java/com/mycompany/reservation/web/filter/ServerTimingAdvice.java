@@ -0,0 +1,40 @@
+package com.mycompany.reservation.web.filter;
+
+import com.mycompany.reservation.management.SqlRequestStats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the JDBC work of the request to the {@code Server-Timing} header of response bodies, just before they are written.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "application.sql-metrics", name = "server-timing", havingValue = "true")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+        Object body,
+        MethodParameter returnType,
+        MediaType selectedContentType,
+        Class<? extends HttpMessageConverter<?>> selectedConverterType,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            response.getHeaders().set(SqlMetricsInterceptor.SERVER_TIMING_HEADER, stats.toServerTiming());
+        }
+        return body;
+    }
+}
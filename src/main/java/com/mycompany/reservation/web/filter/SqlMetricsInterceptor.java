@@ -0,0 +1,66 @@
+package com.mycompany.reservation.web.filter;
+
+import com.mycompany.reservation.management.SqlMetersService;
+import com.mycompany.reservation.management.SqlRequestStats;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Counts the JDBC work of every request served by a controller and records it by controller method, see
+ * {@link SqlRequestStats}.
+ * <p>
+ * Responses with a body get their {@code Server-Timing} header from {@link ServerTimingAdvice}, as they are written before
+ * {@link #postHandle}; the header is only added here to responses that are not committed yet.
+ */
+public class SqlMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final SqlMetersService sqlMetersService;
+
+    private final boolean serverTiming;
+
+    public SqlMetricsInterceptor(SqlMetersService sqlMetersService, boolean serverTiming) {
+        this.sqlMetersService = sqlMetersService;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // error and async dispatches belong to a request already counted
+        if (handler instanceof HandlerMethod handlerMethod && request.getDispatcherType() == DispatcherType.REQUEST) {
+            SqlRequestStats.start(handlerMethod.getBeanType().getSimpleName(), handlerMethod.getMethod().getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (serverTiming && stats != null && !response.isCommitted() && !response.containsHeader(SERVER_TIMING_HEADER)) {
+            response.setHeader(SERVER_TIMING_HEADER, stats.toServerTiming());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the rest of the work runs on another thread, record what the request thread did
+        record();
+    }
+
+    private void record() {
+        SqlRequestStats stats = SqlRequestStats.stop();
+        if (stats != null) {
+            sqlMetersService.record(stats);
+        }
+    }
+}
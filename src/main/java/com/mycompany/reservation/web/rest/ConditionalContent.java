@@ -0,0 +1,67 @@
+package com.mycompany.reservation.web.rest;
+
+import com.mycompany.reservation.service.dto.ContentVersionDTO;
+import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Conditional responses for stored binary content: strong ETags from the content hash, {@code Last-Modified} from the
+ * upload time, and {@code 304 (Not Modified)} answers decided before the content is read.
+ */
+final class ConditionalContent {
+
+    /**
+     * Shared caches may keep the avatars of {@code /users/{login}/avatar} but revalidate them on every use, which checks the
+     * authentication of the client.
+     */
+    static final CacheControl AVATAR_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    /**
+     * Only the browser may keep documents, and the avatar of {@code /account/avatar} whose URL is the same for every user, and
+     * revalidates them on every use.
+     */
+    static final CacheControl DOCUMENT_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private ConditionalContent() {}
+
+    /**
+     * Check whether the copy the client cached is still the current version, following RFC 9110: {@code If-None-Match},
+     * compared weakly, takes precedence over {@code If-Modified-Since}.
+     *
+     * @param requestHeaders the headers of the request.
+     * @param version the current version of the content.
+     * @return true if the content should not be sent again.
+     */
+    static boolean isNotModified(HttpHeaders requestHeaders, ContentVersionDTO version) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            String etag = etag(version);
+            return ifNoneMatch.stream().anyMatch(tag -> tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag));
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return (
+            ifModifiedSince != -1 && version.lastModified() != null && version.lastModified().getEpochSecond() <= ifModifiedSince / 1000
+        );
+    }
+
+    /**
+     * @param status the status of the response.
+     * @param version the version of the content sent, or not sent again.
+     * @param cacheControl the caching allowed for the content.
+     * @return a response builder with the validators and {@code Cache-Control} headers.
+     */
+    static ResponseEntity.BodyBuilder response(HttpStatus status, ContentVersionDTO version, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).eTag(etag(version)).cacheControl(cacheControl);
+        if (version.lastModified() != null) {
+            builder.lastModified(version.lastModified());
+        }
+        return builder;
+    }
+
+    private static String etag(ContentVersionDTO version) {
+        return "\"" + version.hash() + "\"";
+    }
+}
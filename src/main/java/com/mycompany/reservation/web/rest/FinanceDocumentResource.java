@@ -1,20 +1,27 @@
 package com.mycompany.reservation.web.rest;
 
 import com.mycompany.reservation.domain.FinanceDocument;
+import com.mycompany.reservation.security.AuthoritiesConstants;
+import com.mycompany.reservation.service.ContentCodec;
+import com.mycompany.reservation.service.FinanceDocumentMigrationService;
 import com.mycompany.reservation.service.FinanceDocumentService;
+import com.mycompany.reservation.service.dto.ContentVersionDTO;
 import com.mycompany.reservation.service.dto.FinanceDocumentDTO;
 import com.mycompany.reservation.web.rest.errors.BadRequestAlertException;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Locale;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import tech.jhipster.web.util.HeaderUtil;
@@ -32,11 +39,17 @@ public class FinanceDocumentResource {
 
     private final FinanceDocumentService financeDocumentService;
 
+    private final FinanceDocumentMigrationService financeDocumentMigrationService;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
-    public FinanceDocumentResource(FinanceDocumentService financeDocumentService) {
+    public FinanceDocumentResource(
+        FinanceDocumentService financeDocumentService,
+        FinanceDocumentMigrationService financeDocumentMigrationService
+    ) {
         this.financeDocumentService = financeDocumentService;
+        this.financeDocumentMigrationService = financeDocumentMigrationService;
     }
 
     @PostMapping(value = "", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -60,20 +73,100 @@ public class FinanceDocumentResource {
         return financeDocumentDTO.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * {@code GET  /finance-documents/:id/download} : download the content of a document.
+     * <p>
+     * Answers {@code 304 (Not Modified)}, without reading the content, when the client sends the current ETag or a date
+     * after the upload. The content is streamed from the blob store, and a {@code Range} header gets the requested parts
+     * only, with status {@code 206 (Partial Content)}. A content stored compressed is sent as is to the clients accepting
+     * {@code gzip}, decompressed while it is sent to the others.
+     *
+     * @param id the id of the document.
+     * @param requestHeaders the headers of the request.
+     * @return the content, or status {@code 304 (Not Modified)}, or status {@code 404 (Not Found)}.
+     * @throws IOException if the content is missing from the blob store.
+     */
     @GetMapping("/{id}/download")
-    public ResponseEntity<ByteArrayResource> downloadFinanceDocument(@PathVariable Long id) {
+    public ResponseEntity<Resource> downloadFinanceDocument(@PathVariable Long id, @RequestHeader HttpHeaders requestHeaders)
+        throws IOException {
         LOG.debug("REST request to download FinanceDocument : {}", id);
+        boolean gzipAccepted = acceptsGzip(requestHeaders);
+        Optional<ContentVersionDTO> version = financeDocumentService.findVersion(id, gzipAccepted);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (ConditionalContent.isNotModified(requestHeaders, version.orElseThrow())) {
+            return ConditionalContent.response(
+                HttpStatus.NOT_MODIFIED,
+                version.orElseThrow(),
+                ConditionalContent.DOCUMENT_CACHE_CONTROL
+            )
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
         Optional<FinanceDocument> financeDocument = financeDocumentService.findEntity(id);
         if (financeDocument.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         FinanceDocument document = financeDocument.get();
-        ByteArrayResource resource = new ByteArrayResource(document.getData());
-        return ResponseEntity.ok()
+        FinanceDocumentService.DocumentContent content = financeDocumentService.getContent(document, gzipAccepted);
+        ResponseEntity.BodyBuilder response = ConditionalContent.response(
+            HttpStatus.OK,
+            content.version(),
+            ConditionalContent.DOCUMENT_CACHE_CONTROL
+        )
+            .varyBy(HttpHeaders.ACCEPT_ENCODING)
             .contentType(MediaType.parseMediaType(document.getContentType()))
-            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + document.getFileName())
-            .contentLength(document.getSize())
-            .body(resource);
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + document.getFileName());
+        if (content.encoding() != ContentCodec.IDENTITY) {
+            response.header(HttpHeaders.CONTENT_ENCODING, content.encoding().token());
+        }
+        return response.body(content.resource());
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header accepts {@code gzip}, by name or through {@code *}, with a non-zero quality.
+     */
+    static boolean acceptsGzip(HttpHeaders requestHeaders) {
+        Double gzip = null;
+        Double any = null;
+        for (String header : requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : header.split(",")) {
+                String[] parameters = coding.split(";");
+                String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+                double quality = 1;
+                for (int i = 1; i < parameters.length; i++) {
+                    String parameter = parameters[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            quality = Double.parseDouble(parameter.substring(2));
+                        } catch (NumberFormatException e) {
+                            quality = 0;
+                        }
+                    }
+                }
+                if (name.equals("gzip") || name.equals("x-gzip")) {
+                    gzip = quality;
+                } else if (name.equals("*")) {
+                    any = quality;
+                }
+            }
+        }
+        return gzip != null ? gzip > 0 : any != null && any > 0;
+    }
+
+    /**
+     * {@code POST  /finance-documents/blobs/migrate} : move the content of the documents uploaded before the blob store out of
+     * the database, and delete the copies of duplicate contents no document references any more.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of moved documents in body.
+     * @throws IOException if a content cannot be stored or a copy cannot be deleted.
+     */
+    @PostMapping("/blobs/migrate")
+    @PreAuthorize("hasAuthority('" + AuthoritiesConstants.ADMIN + "')")
+    public ResponseEntity<Long> migrateToBlobStore() throws IOException {
+        LOG.debug("REST request to move FinanceDocuments to the blob store");
+        return ResponseEntity.ok(financeDocumentMigrationService.migrateToBlobStore());
     }
 
     @DeleteMapping("/{id}")
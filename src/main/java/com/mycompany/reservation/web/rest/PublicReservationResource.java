@@ -1,18 +1,25 @@
 package com.mycompany.reservation.web.rest;
 
+import com.mycompany.reservation.service.AvailabilityService;
 import com.mycompany.reservation.service.GuestReservationService;
+import com.mycompany.reservation.service.dto.AvailableSlotDTO;
 import com.mycompany.reservation.service.dto.GuestReservationRequest;
 import com.mycompany.reservation.service.dto.ReservationDTO;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import tech.jhipster.web.util.HeaderUtil;
 
@@ -31,8 +38,11 @@ public class PublicReservationResource {
 
     private final GuestReservationService guestReservationService;
 
-    public PublicReservationResource(GuestReservationService guestReservationService) {
+    private final AvailabilityService availabilityService;
+
+    public PublicReservationResource(GuestReservationService guestReservationService, AvailabilityService availabilityService) {
         this.guestReservationService = guestReservationService;
+        this.availabilityService = availabilityService;
     }
 
     @PostMapping("/reservations")
@@ -43,4 +53,22 @@ public class PublicReservationResource {
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, reservation.getId().toString()))
             .body(reservation);
     }
+
+    /**
+     * {@code GET  /public/availability} : get the free slots of a business for a service on a given day.
+     *
+     * @param businessId the id of the business.
+     * @param serviceId the id of the offered service.
+     * @param date the day to look at.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of free slots in body.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<List<AvailableSlotDTO>> getAvailability(
+        @RequestParam("businessId") Long businessId,
+        @RequestParam("serviceId") Long serviceId,
+        @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        LOG.debug("REST request to get availability of business {} for service {} on {}", businessId, serviceId, date);
+        return ResponseEntity.ok(availabilityService.findAvailableSlots(businessId, serviceId, date));
+    }
 }
@@ -3,16 +3,28 @@ package com.mycompany.reservation.web.rest;
 import com.mycompany.reservation.domain.enumeration.ReservationStatus;
 import com.mycompany.reservation.repository.ReservationRepository;
 import com.mycompany.reservation.security.AuthoritiesConstants;
+import com.mycompany.reservation.service.ReservationCursor;
+import com.mycompany.reservation.service.ReservationExportService;
+import com.mycompany.reservation.service.ReservationImportService;
+import com.mycompany.reservation.service.ReservationRollupService;
 import com.mycompany.reservation.service.ReservationService;
 import com.mycompany.reservation.service.dto.ReservationApprovalDTO;
+import com.mycompany.reservation.service.dto.ReservationBatchRequestDTO;
+import com.mycompany.reservation.service.dto.ReservationBatchResultDTO;
 import com.mycompany.reservation.service.dto.ReservationDTO;
 import com.mycompany.reservation.service.dto.ReservationFilterCriteria;
+import com.mycompany.reservation.service.dto.ReservationImportResultDTO;
 import com.mycompany.reservation.service.dto.ReservationReportDTO;
 import com.mycompany.reservation.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Objects;
@@ -22,11 +34,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -43,6 +59,8 @@ public class ReservationResource {
 
     private static final String ENTITY_NAME = "reservation";
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -50,9 +68,24 @@ public class ReservationResource {
 
     private final ReservationRepository reservationRepository;
 
-    public ReservationResource(ReservationService reservationService, ReservationRepository reservationRepository) {
+    private final ReservationExportService reservationExportService;
+
+    private final ReservationImportService reservationImportService;
+
+    private final ReservationRollupService reservationRollupService;
+
+    public ReservationResource(
+        ReservationService reservationService,
+        ReservationRepository reservationRepository,
+        ReservationExportService reservationExportService,
+        ReservationImportService reservationImportService,
+        ReservationRollupService reservationRollupService
+    ) {
         this.reservationService = reservationService;
         this.reservationRepository = reservationRepository;
+        this.reservationExportService = reservationExportService;
+        this.reservationImportService = reservationImportService;
+        this.reservationRollupService = reservationRollupService;
     }
 
     /**
@@ -158,6 +191,37 @@ public class ReservationResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /reservations?cursor=} : get a window of reservations ordered by date and id, using keyset pagination.
+     * <p>
+     * Pass an empty {@code cursor} for the first window and the {@code X-Next-Cursor} header of a response for the next one.
+     * No total count is computed.
+     *
+     * @param cursor the cursor of the window.
+     * @param size the maximum number of reservations to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of reservations in body.
+     */
+    @GetMapping(value = "", params = "cursor")
+    @PreAuthorize("hasAuthority('" + AuthoritiesConstants.ADMIN + "')")
+    public ResponseEntity<List<ReservationDTO>> getAllReservationsByCursor(
+        @RequestParam("cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size,
+        @RequestParam(value = "customerId", required = false) Long customerId,
+        @RequestParam(value = "businessId", required = false) Long businessId,
+        @RequestParam(value = "status", required = false) ReservationStatus status,
+        @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime start,
+        @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime end
+    ) {
+        LOG.debug("REST request to get a window of Reservations after cursor {}", cursor);
+        ReservationFilterCriteria criteria = new ReservationFilterCriteria();
+        criteria.setCustomerId(customerId);
+        criteria.setBusinessId(businessId);
+        criteria.setStatus(status);
+        criteria.setStartDate(start);
+        criteria.setEndDate(end);
+        return windowResponse(reservationService.findAll(criteria, cursor, size));
+    }
+
     @GetMapping("/my")
     public ResponseEntity<List<ReservationDTO>> getCurrentUserReservations(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
@@ -177,6 +241,24 @@ public class ReservationResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    @GetMapping(value = "/my", params = "cursor")
+    public ResponseEntity<List<ReservationDTO>> getCurrentUserReservationsByCursor(
+        @RequestParam("cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size,
+        @RequestParam(value = "status", required = false) ReservationStatus status,
+        @RequestParam(value = "businessId", required = false) Long businessId,
+        @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime start,
+        @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime end
+    ) {
+        LOG.debug("REST request to get a window of reservations for current user after cursor {}", cursor);
+        ReservationFilterCriteria criteria = new ReservationFilterCriteria();
+        criteria.setStatus(status);
+        criteria.setBusinessId(businessId);
+        criteria.setStartDate(start);
+        criteria.setEndDate(end);
+        return windowResponse(reservationService.findForCurrentUser(criteria, cursor, size));
+    }
+
     @GetMapping("/report")
     @PreAuthorize("hasAuthority('" + AuthoritiesConstants.ADMIN + "')")
     public ResponseEntity<ReservationReportDTO> getReservationReport(
@@ -184,7 +266,8 @@ public class ReservationResource {
         @RequestParam(value = "businessId", required = false) Long businessId,
         @RequestParam(value = "status", required = false) ReservationStatus status,
         @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime start,
-        @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime end
+        @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime end,
+        @RequestParam(value = "exact", required = false) Boolean exact
     ) {
         LOG.debug("REST request for reservation report");
         ReservationFilterCriteria criteria = new ReservationFilterCriteria();
@@ -193,10 +276,127 @@ public class ReservationResource {
         criteria.setStatus(status);
         criteria.setStartDate(start);
         criteria.setEndDate(end);
-        ReservationReportDTO report = reservationService.getReservationReport(criteria);
+        ReservationReportDTO report = reservationService.getReservationReport(criteria, exact);
         return ResponseEntity.ok(report);
     }
 
+    /**
+     * {@code POST  /reservations/report/rollups/rebuild} : recompute the daily rollups read by the report.
+     *
+     * @param from the first day to rebuild, defaults to the day of the first reservation.
+     * @param to the last day to rebuild, defaults to the day of the last reservation.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of rebuilt days in body.
+     */
+    @PostMapping("/report/rollups/rebuild")
+    @PreAuthorize("hasAuthority('" + AuthoritiesConstants.ADMIN + "')")
+    public ResponseEntity<Long> rebuildReportRollups(
+        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LOG.debug("REST request to rebuild reservation report rollups from {} to {}", from, to);
+        if (from == null && to == null) {
+            return ResponseEntity.ok(reservationRollupService.rebuildAll());
+        }
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new BadRequestAlertException("Geçersiz tarih aralığı", ENTITY_NAME, "daterangeinvalid");
+        }
+        return ResponseEntity.ok(reservationRollupService.rebuild(from, to.plusDays(1)));
+    }
+
+    /**
+     * {@code POST  /reservations/approve-batch} : confirm several pending reservations.
+     *
+     * @param request the ids of the reservations to confirm.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the outcome for every id in body.
+     */
+    @PostMapping("/approve-batch")
+    @PreAuthorize("hasAuthority('" + AuthoritiesConstants.ADMIN + "')")
+    public ResponseEntity<ReservationBatchResultDTO> approveReservations(@Valid @RequestBody ReservationBatchRequestDTO request) {
+        LOG.debug("REST request to approve Reservations : {}", request.getIds());
+        return ResponseEntity.ok(reservationService.approveAll(request.getIds()));
+    }
+
+    /**
+     * {@code POST  /reservations/cancel-batch} : cancel several pending or confirmed reservations.
+     *
+     * @param request the ids of the reservations to cancel.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the outcome for every id in body.
+     */
+    @PostMapping("/cancel-batch")
+    public ResponseEntity<ReservationBatchResultDTO> cancelReservations(@Valid @RequestBody ReservationBatchRequestDTO request) {
+        LOG.debug("REST request to cancel Reservations : {}", request.getIds());
+        return ResponseEntity.ok(reservationService.cancelAll(request.getIds()));
+    }
+
+    /**
+     * {@code POST  /reservations/import} : import reservations from a JSON array or newline delimited JSON.
+     * <p>
+     * Rows that cannot be imported are reported in the result and do not stop the import.
+     *
+     * @param body the streamed request body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the import result in body.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @PreAuthorize("hasAuthority('" + AuthoritiesConstants.ADMIN + "')")
+    public ResponseEntity<ReservationImportResultDTO> importReservations(InputStream body) throws IOException {
+        LOG.debug("REST request to import Reservations from JSON");
+        return ResponseEntity.ok(reservationImportService.importJson(body));
+    }
+
+    /**
+     * {@code POST  /reservations/import} : import reservations from CSV with a header record.
+     *
+     * @param body the streamed request body, UTF-8 encoded.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the import result in body.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasAuthority('" + AuthoritiesConstants.ADMIN + "')")
+    public ResponseEntity<ReservationImportResultDTO> importReservationsFromCsv(InputStream body) throws IOException {
+        LOG.debug("REST request to import Reservations from CSV");
+        return ResponseEntity.ok(reservationImportService.importCsv(new InputStreamReader(body, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * {@code GET  /reservations/export} : stream the reservations matching the filters, ordered by date.
+     *
+     * @param format the output format, {@code csv} or {@code ndjson}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the exported reservations in body.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('" + AuthoritiesConstants.ADMIN + "')")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+        @RequestParam(value = "format", defaultValue = "csv") String format,
+        @RequestParam(value = "customerId", required = false) Long customerId,
+        @RequestParam(value = "businessId", required = false) Long businessId,
+        @RequestParam(value = "status", required = false) ReservationStatus status,
+        @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime start,
+        @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime end
+    ) {
+        LOG.debug("REST request to export Reservations as {}", format);
+        ReservationExportService.Format exportFormat;
+        try {
+            exportFormat = ReservationExportService.Format.fromValue(format);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "exportformatinvalid");
+        }
+        ReservationFilterCriteria criteria = new ReservationFilterCriteria();
+        criteria.setCustomerId(customerId);
+        criteria.setBusinessId(businessId);
+        criteria.setStatus(status);
+        criteria.setStartDate(start);
+        criteria.setEndDate(end);
+        StreamingResponseBody body = out -> reservationExportService.export(criteria, exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("reservations." + exportFormat.getExtension()).build().toString()
+            )
+            .body(body);
+    }
+
     @GetMapping("/upcoming")
     @PreAuthorize("hasAuthority('" + AuthoritiesConstants.ADMIN + "')")
     public ResponseEntity<List<ReservationDTO>> getUpcomingReservations(@RequestParam(value = "size", defaultValue = "5") int size) {
@@ -250,4 +450,16 @@ public class ReservationResource {
             throw new BadRequestAlertException(ex.getMessage(), ENTITY_NAME, "invalidstatus");
         }
     }
+
+    private ResponseEntity<List<ReservationDTO>> windowResponse(Window<ReservationDTO> window) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty()) {
+            ReservationDTO last = window.getContent().get(window.size() - 1);
+            String nextCursor = ReservationCursor.encode(last.getDate(), last.getId());
+            headers.add(NEXT_CURSOR_HEADER, nextCursor);
+            String nextLink = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("cursor", nextCursor).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
 }
@@ -1,13 +1,17 @@
 package com.mycompany.reservation.web.rest;
 
 import com.mycompany.reservation.security.SecurityUtils;
+import com.mycompany.reservation.service.AvatarVariantService;
 import com.mycompany.reservation.service.UserService;
 import com.mycompany.reservation.service.dto.AdminUserDTO;
+import com.mycompany.reservation.service.dto.ContentVersionDTO;
 import com.mycompany.reservation.service.dto.UserAvatarDTO;
 import java.io.IOException;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +19,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
@@ -31,8 +36,11 @@ public class UserAvatarResource {
 
     private final UserService userService;
 
-    public UserAvatarResource(UserService userService) {
+    private final AvatarVariantService avatarVariantService;
+
+    public UserAvatarResource(UserService userService, AvatarVariantService avatarVariantService) {
         this.userService = userService;
+        this.avatarVariantService = avatarVariantService;
     }
 
     @PostMapping(value = "/account/avatar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -52,18 +60,57 @@ public class UserAvatarResource {
         return ResponseUtil.wrapOrNotFound(userService.updateUserAvatar(login, file));
     }
 
+    /**
+     * {@code GET  /users/:login/avatar} : get the avatar of a user.
+     * <p>
+     * Answers {@code 304 (Not Modified)}, without reading the image, when the client sends the current ETag or a date
+     * after the upload.
+     *
+     * @param login the login of the user.
+     * @param size the size of the square thumbnail to get instead of the uploaded image: 32, 64 or 128.
+     * @param requestHeaders the headers of the request.
+     * @return the avatar, or status {@code 304 (Not Modified)}, or status {@code 404 (Not Found)}.
+     */
     @GetMapping(value = "/users/{login}/avatar")
-    public ResponseEntity<byte[]> getUserAvatar(@PathVariable("login") String login) {
-        LOG.debug("REST request to get avatar for user: {}", login);
-        return buildAvatarResponse(userService.getUserAvatar(login));
+    public ResponseEntity<byte[]> getUserAvatar(
+        @PathVariable("login") String login,
+        @RequestParam(name = "size", required = false) Integer size,
+        @RequestHeader HttpHeaders requestHeaders
+    ) {
+        LOG.debug("REST request to get avatar for user: {}, size: {}", login, size);
+        return getAvatar(login, size, requestHeaders, ConditionalContent.AVATAR_CACHE_CONTROL);
     }
 
     @GetMapping(value = "/account/avatar")
-    public ResponseEntity<byte[]> getCurrentUserAvatar() {
+    public ResponseEntity<byte[]> getCurrentUserAvatar(
+        @RequestParam(name = "size", required = false) Integer size,
+        @RequestHeader HttpHeaders requestHeaders
+    ) {
         String login = SecurityUtils.getCurrentUserLogin()
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Current user could not be determined"));
-        LOG.debug("REST request to get current user avatar");
-        return buildAvatarResponse(userService.getUserAvatar(login));
+        LOG.debug("REST request to get current user avatar, size: {}", size);
+        // one URL for the avatar of every user: no shared cache may keep it
+        return getAvatar(login, size, requestHeaders, ConditionalContent.DOCUMENT_CACHE_CONTROL);
+    }
+
+    private ResponseEntity<byte[]> getAvatar(String login, Integer size, HttpHeaders requestHeaders, CacheControl cacheControl) {
+        if (size != null && !AvatarVariantService.SIZES.contains(size)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Avatar boyutu 32, 64 veya 128 olmalı");
+        }
+        Optional<ContentVersionDTO> version = size == null
+            ? userService.getUserAvatarVersion(login)
+            : avatarVariantService.getUserAvatarVersion(login, size);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (ConditionalContent.isNotModified(requestHeaders, version.orElseThrow())) {
+            return notModified(version.orElseThrow(), cacheControl);
+        }
+        return buildAvatarResponse(
+            size == null ? userService.getUserAvatar(login) : avatarVariantService.getUserAvatar(login, size),
+            requestHeaders,
+            cacheControl
+        );
     }
 
     private void validateFile(MultipartFile file) {
@@ -81,15 +128,28 @@ public class UserAvatarResource {
         }
     }
 
-    private ResponseEntity<byte[]> buildAvatarResponse(Optional<UserAvatarDTO> avatarOptional) {
+    private ResponseEntity<byte[]> buildAvatarResponse(
+        Optional<UserAvatarDTO> avatarOptional,
+        HttpHeaders requestHeaders,
+        CacheControl cacheControl
+    ) {
         return avatarOptional
             .map(avatar -> {
+                if (ConditionalContent.isNotModified(requestHeaders, avatar.version())) {
+                    return notModified(avatar.version(), cacheControl);
+                }
                 MediaType mediaType = MediaType.APPLICATION_OCTET_STREAM;
                 if (avatar.contentType() != null) {
                     mediaType = MediaType.parseMediaType(avatar.contentType());
                 }
-                return ResponseEntity.ok().contentType(mediaType).body(avatar.data());
+                return ConditionalContent.response(HttpStatus.OK, avatar.version(), cacheControl)
+                    .contentType(mediaType)
+                    .body(avatar.data());
             })
             .orElseGet(() -> ResponseEntity.notFound().build());
     }
+
+    private static ResponseEntity<byte[]> notModified(ContentVersionDTO version, CacheControl cacheControl) {
+        return ConditionalContent.response(HttpStatus.NOT_MODIFIED, version, cacheControl).build();
+    }
 }
@@ -0,0 +1,36 @@
+package com.mycompany.reservation;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while running an action, to guard against query count regressions.
+ * <p>
+ * Statistics are global to the session factory, so the count includes statements from other threads running meanwhile.
+ */
+public final class StatementCounter {
+
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public long count(Action action) throws Exception {
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            action.run();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(enabled);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
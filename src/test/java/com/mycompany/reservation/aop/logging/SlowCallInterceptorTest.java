@@ -0,0 +1,82 @@
+package com.mycompany.reservation.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.PageRequest;
+
+class SlowCallInterceptorTest {
+
+    @Test
+    void keepsOnlyTheCallsSlowerThanTheThreshold() {
+        SlowCallBuffer buffer = new SlowCallBuffer(10);
+        ProxyFactory proxyFactory = new ProxyFactory(new Sleeper());
+        proxyFactory.addAdvice(new SlowCallInterceptor(buffer, Duration.ofMillis(50)));
+        Sleeper sleeper = (Sleeper) proxyFactory.getProxy();
+
+        sleeper.sleep(0, "secret");
+        sleeper.sleep(60, "secret");
+
+        assertThat(buffer.slowestFirst())
+            .singleElement()
+            .satisfies(call -> {
+                assertThat(call.method()).isEqualTo("Sleeper.sleep");
+                assertThat(call.arguments()).isEqualTo("60, String[6]");
+                assertThat(call.duration()).isGreaterThanOrEqualTo(Duration.ofMillis(60));
+                assertThat(call.thread()).isEqualTo(Thread.currentThread().getName());
+            });
+    }
+
+    @Test
+    void keepsTheMostRecentCallsSlowestFirst() {
+        SlowCallBuffer buffer = new SlowCallBuffer(3);
+        for (int millis = 1; millis <= 5; millis++) {
+            buffer.add(new SlowCall("call " + millis, "", Duration.ofMillis(millis % 2 == 0 ? millis * 10 : millis), "main", Instant.now()));
+        }
+
+        assertThat(buffer.slowestFirst()).extracting(SlowCall::method).containsExactly("call 4", "call 5", "call 3");
+
+        buffer.clear();
+        assertThat(buffer.slowestFirst()).isEmpty();
+    }
+
+    @Test
+    void summarizesArgumentsWithoutTheirContent() {
+        assertThat(
+            SlowCallInterceptor.summarize(
+                new Object[] {
+                    null,
+                    42L,
+                    ReservationStatus.CONFIRMED,
+                    "password",
+                    new ArrayList<>(List.of(1, 2)),
+                    new HashMap<>(Map.of("a", 1)),
+                    new byte[16],
+                    PageRequest.of(0, 20),
+                    new Sleeper(),
+                }
+            )
+        ).isEqualTo(
+            "null, 42, CONFIRMED, String[8], ArrayList[2], HashMap[1], byte[16], Page request [number: 0, size 20, sort: UNSORTED], Sleeper"
+        );
+    }
+
+    static class Sleeper {
+
+        void sleep(long millis, String secret) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.mycompany.reservation.aop.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+
+/**
+ * Measures what {@link MethodTimingInterceptor} adds to a call going through a Spring AOP proxy.
+ * <p>
+ * Only runs on demand: {@code ./mvnw test -Dtest=MethodTimingInterceptorBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MethodTimingInterceptorBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MethodTimingInterceptorBenchmarkTest.class);
+
+    private static final int WARMUP_CALLS = 2_000_000;
+
+    private static final int MEASURED_CALLS = 10_000_000;
+
+    @Test
+    void timingAddsNoAllocationToAdvisedCalls() {
+        // reads the clock around the call like the timing interceptor, but keeps the total in a field rather than a timer;
+        // a bare pass-through is no baseline, the JIT elides part of the invocation then
+        long[] total = new long[1];
+        MethodInterceptor clocked = invocation -> {
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                total[0] += System.nanoTime() - start;
+            }
+        };
+        Counter clockedCounter = proxy(clocked);
+        Counter timedCounter = proxy(new MethodTimingInterceptor(SimpleMeterRegistry::new));
+        // both warmed up before measuring, so the shared proxy code is compiled for both interceptors alike
+        call(clockedCounter, WARMUP_CALLS);
+        call(timedCounter, WARMUP_CALLS);
+        Result proxied = measure("clocked", clockedCounter);
+        Result timed = measure("timed", timedCounter);
+
+        LOG.info(
+            "Timing adds {} ns and {} bytes per call",
+            String.format("%.1f", timed.nanosPerCall() - proxied.nanosPerCall()),
+            String.format("%.1f", timed.bytesPerCall() - proxied.bytesPerCall())
+        );
+        // below one byte per call: looking the timer up and recording in it allocates nothing
+        assertThat(timed.bytesPerCall() - proxied.bytesPerCall()).isLessThan(1);
+    }
+
+    private static Counter proxy(MethodInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(new Counter());
+        proxyFactory.addAdvice(interceptor);
+        return (Counter) proxyFactory.getProxy();
+    }
+
+    private static void call(Counter counter, int calls) {
+        for (int i = 0; i < calls; i++) {
+            counter.increment();
+        }
+    }
+
+    private Result measure(String name, Counter counter) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        call(counter, MEASURED_CALLS);
+        double nanosPerCall = (double) (System.nanoTime() - start) / MEASURED_CALLS;
+        double bytesPerCall = (double) (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / MEASURED_CALLS;
+        LOG.info("{}: {} ns and {} bytes per call", name, String.format("%.1f", nanosPerCall), String.format("%.1f", bytesPerCall));
+        return new Result(nanosPerCall, bytesPerCall);
+    }
+
+    private record Result(double nanosPerCall, double bytesPerCall) {}
+
+    static class Counter {
+
+        private long count;
+
+        // returns nothing, so no boxed result blurs the allocations of the advice
+        void increment() {
+            count++;
+        }
+    }
+}
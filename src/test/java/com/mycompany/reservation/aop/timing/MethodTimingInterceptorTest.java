@@ -0,0 +1,77 @@
+package com.mycompany.reservation.aop.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.reservation.config.MethodTimingConfiguration;
+import com.mycompany.reservation.management.CacheMetersService;
+import com.mycompany.reservation.service.ReservationService;
+import com.mycompany.reservation.web.rest.ReservationResource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+class MethodTimingInterceptorTest {
+
+    private MeterRegistry meterRegistry;
+
+    private Greeter greeter;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ProxyFactory proxyFactory = new ProxyFactory(new Greeter());
+        proxyFactory.addAdvice(new MethodTimingInterceptor(() -> meterRegistry));
+        greeter = (Greeter) proxyFactory.getProxy();
+    }
+
+    @Test
+    void recordsEveryCallInTheTimerOfItsMethod() {
+        assertThat(meterRegistry.find(MethodTimingInterceptor.METER_NAME).timers()).isEmpty();
+
+        greeter.greet("first");
+        greeter.greet("second");
+        assertThatThrownBy(() -> greeter.fail()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.find(MethodTimingInterceptor.METER_NAME).timers()).hasSize(2);
+        assertThat(timer("greet").count()).isEqualTo(2);
+        assertThat(timer("fail").count()).isEqualTo(1);
+    }
+
+    @Test
+    void advisesTheMethodsTheLoggingAspectLogs() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        Advisor advisor = MethodTimingConfiguration.methodTimingAdvisor(beanFactory.getBeanProvider(MeterRegistry.class));
+
+        assertThat(AopUtils.canApply(advisor, ReservationService.class)).isTrue();
+        assertThat(AopUtils.canApply(advisor, ReservationResource.class)).isTrue();
+        assertThat(AopUtils.canApply(advisor, CacheMetersService.class)).isFalse();
+        assertThat(AopUtils.canApply(advisor, Greeter.class)).isFalse();
+    }
+
+    private Timer timer(String method) {
+        return meterRegistry
+            .get(MethodTimingInterceptor.METER_NAME)
+            .tag(MethodTimingInterceptor.CLASS_DIMENSION, "Greeter")
+            .tag(MethodTimingInterceptor.METHOD_DIMENSION, method)
+            .timer();
+    }
+
+    static class Greeter {
+
+        String greet(String name) {
+            return "Hello " + name;
+        }
+
+        void fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+}
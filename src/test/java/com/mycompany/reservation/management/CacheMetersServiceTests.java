@@ -0,0 +1,48 @@
+package com.mycompany.reservation.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheMetersServiceTests {
+
+    private static final String CACHE_GETS_METER_EXPECTED_NAME = "app.cache.gets";
+
+    private static final String CACHE_HIT_RATIO_METER_EXPECTED_NAME = "app.cache.hit-ratio";
+
+    private MeterRegistry meterRegistry;
+
+    private CacheMetersService cacheMetersService;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        cacheMetersService = new CacheMetersService(meterRegistry);
+    }
+
+    @Test
+    void testMetersAreCreatedPerCacheOnFirstLookup() {
+        assertThat(meterRegistry.find(CACHE_GETS_METER_EXPECTED_NAME).counters()).isEmpty();
+
+        cacheMetersService.trackMiss("first");
+        cacheMetersService.trackHit("second");
+
+        assertThat(meterRegistry.find(CACHE_GETS_METER_EXPECTED_NAME).counters()).hasSize(4);
+        assertThat(meterRegistry.find(CACHE_HIT_RATIO_METER_EXPECTED_NAME).gauges()).hasSize(2);
+    }
+
+    @Test
+    void testCountMethodsShouldBeBoundToCorrectCounters() {
+        cacheMetersService.trackHit("summary");
+        cacheMetersService.trackHit("summary");
+        cacheMetersService.trackMiss("summary");
+
+        assertThat(meterRegistry.get(CACHE_GETS_METER_EXPECTED_NAME).tag("cache", "summary").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(CACHE_GETS_METER_EXPECTED_NAME).tag("cache", "summary").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(CACHE_HIT_RATIO_METER_EXPECTED_NAME).tag("cache", "summary").gauge().value()).isEqualTo(2d / 3);
+    }
+}
@@ -0,0 +1,83 @@
+package com.mycompany.reservation.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.mycompany.reservation.IntegrationTest;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Integration tests for {@link InstrumentedDataSource}.
+ */
+@IntegrationTest
+class InstrumentedDataSourceIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final ListAppender<ILoggingEvent> logs = new ListAppender<>();
+
+    @BeforeEach
+    void captureLogs() {
+        logs.start();
+        ((Logger) LoggerFactory.getLogger(InstrumentedDataSource.class)).addAppender(logs);
+    }
+
+    @AfterEach
+    void releaseLogs() {
+        ((Logger) LoggerFactory.getLogger(InstrumentedDataSource.class)).detachAppender(logs);
+        SqlRequestStats.stop();
+    }
+
+    @Test
+    void applicationDataSourceIsInstrumented() {
+        assertThat(dataSource).isInstanceOf(InstrumentedDataSource.class);
+    }
+
+    @Test
+    void countsStatementsRowsAndTimeOfTheCurrentRequest() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new InstrumentedDataSource(pooledDataSource(), Duration.ofHours(1)));
+        // not counted, no request is being served
+        jdbcTemplate.queryForList("select 1");
+
+        SqlRequestStats stats = SqlRequestStats.start("TestResource", "list");
+        assertThat(jdbcTemplate.queryForList("select * from generate_series(1, 5)", Integer.class)).hasSize(5);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from generate_series(1, ?)", Integer.class, 3)).isEqualTo(3);
+        jdbcTemplate.execute("select 1");
+
+        assertThat(SqlRequestStats.stop()).isSameAs(stats);
+        assertThat(stats.getStatements()).isEqualTo(3);
+        assertThat(stats.getRows()).isEqualTo(6);
+        assertThat(stats.getNanos()).isPositive();
+        assertThat(stats.toServerTiming()).matches("db;dur=\\d+\\.\\d;desc=\"3 statements, 6 rows\"");
+        assertThat(logs.list).isEmpty();
+    }
+
+    @Test
+    void logsSlowStatementsWithTheirEndpoint() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new InstrumentedDataSource(pooledDataSource(), Duration.ZERO));
+        SqlRequestStats.start("TestResource", "slow");
+        jdbcTemplate.queryForList("select pg_sleep(0.01)");
+
+        assertThat(logs.list)
+            .singleElement()
+            .extracting(ILoggingEvent::getFormattedMessage)
+            .asString()
+            .contains("TestResource#slow")
+            .contains("select pg_sleep(0.01)");
+    }
+
+    private DataSource pooledDataSource() {
+        // the application data source is instrumented already
+        return ((InstrumentedDataSource) dataSource).getTargetDataSource();
+    }
+}
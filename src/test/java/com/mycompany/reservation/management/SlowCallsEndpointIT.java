@@ -0,0 +1,67 @@
+package com.mycompany.reservation.management;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.aop.logging.SlowCall;
+import com.mycompany.reservation.aop.logging.SlowCallBuffer;
+import com.mycompany.reservation.security.AuthoritiesConstants;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for {@link SlowCallsEndpoint}.
+ */
+@AutoConfigureMockMvc
+@IntegrationTest
+class SlowCallsEndpointIT {
+
+    @Autowired
+    private SlowCallBuffer slowCallBuffer;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void cleanup() {
+        slowCallBuffer.clear();
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void listsTheSlowCallsSlowestFirst() throws Exception {
+        Instant endedAt = Instant.parse("2026-01-01T10:00:00Z");
+        slowCallBuffer.add(new SlowCall("ReservationService.findAll", "Page request", Duration.ofMillis(600), "http-1", endedAt));
+        slowCallBuffer.add(new SlowCall("CustomerService.save", "CustomerDTO", Duration.ofMillis(1200), "http-2", endedAt));
+
+        mockMvc
+            .perform(get("/management/slowcalls"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[0].method").value("CustomerService.save"))
+            .andExpect(jsonPath("$[0].arguments").value("CustomerDTO"))
+            .andExpect(jsonPath("$[0].duration").value("PT1.2S"))
+            .andExpect(jsonPath("$[0].thread").value("http-2"))
+            .andExpect(jsonPath("$[0].endedAt").value("2026-01-01T10:00:00Z"))
+            .andExpect(jsonPath("$[1].method").value("ReservationService.findAll"));
+
+        mockMvc.perform(delete("/management/slowcalls")).andExpect(status().isNoContent());
+        mockMvc.perform(get("/management/slowcalls")).andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @WithMockUser
+    void isOnlyAvailableToAdmins() throws Exception {
+        mockMvc.perform(get("/management/slowcalls")).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,185 @@
+package com.mycompany.reservation.scale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.security.AuthoritiesConstants;
+import com.mycompany.reservation.service.ReservationRollupService;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Checks the reservation listings, report, customer summary and export stay within their latency budgets at production volumes,
+ * on a dataset loaded by {@link ScaleDataGenerator}: a million reservations by default.
+ * <p>
+ * Only runs on demand, loading the dataset takes minutes: {@code ./mvnw verify -Dit.test=ReservationScaleIT -Dscale=true}. The
+ * {@code scale.*} system properties set the volumes, see {@link ScaleDataGenerator.Volumes#fromSystemProperties()}, and
+ * {@code scale.budget-factor} multiplies every budget for slower machines.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "scale", matches = "true")
+@Timeout(value = 5, unit = TimeUnit.MINUTES)
+class ReservationScaleIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReservationScaleIT.class);
+
+    private static final long SEED = 20250101L;
+
+    private static final int WARMUP_RUNS = 3;
+
+    private static final int MEASURED_RUNS = 11;
+
+    private static final double BUDGET_FACTOR = Double.parseDouble(System.getProperty("scale.budget-factor", "1"));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReservationRollupService reservationRollupService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private ScaleDataGenerator generator;
+
+    private ScaleDataGenerator.Dataset dataset;
+
+    @BeforeAll
+    @Timeout(value = 60, unit = TimeUnit.MINUTES)
+    void loadDataset() throws Exception {
+        generator = new ScaleDataGenerator(dataSource, SEED);
+        dataset = generator.load(ScaleDataGenerator.Volumes.fromSystemProperties(), "admin");
+        rebuildRollups();
+    }
+
+    @AfterAll
+    @Timeout(value = 60, unit = TimeUnit.MINUTES)
+    void deleteDataset() throws Exception {
+        if (dataset != null) {
+            generator.delete(dataset);
+            rebuildRollups();
+        }
+    }
+
+    @Test
+    void listingPagesStayWithinBudget() throws Exception {
+        // counts every reservation for the total, the cursor windows do not
+        assertWithinBudget("first page by date", Duration.ofMillis(600), "/api/reservations?page=0&size=20&sort=date,desc");
+        assertWithinBudget("first cursor window", Duration.ofMillis(300), "/api/reservations?cursor=&size=20");
+        assertWithinBudget(
+            "first cursor window of a business",
+            Duration.ofMillis(300),
+            "/api/reservations?cursor=&size=20&businessId=" + dataset.businessId(1)
+        );
+        assertWithinBudget(
+            "reservations of a customer",
+            Duration.ofMillis(300),
+            "/api/customers/" + dataset.customerId(1) + "/reservations?page=0&size=20&sort=date,desc"
+        );
+    }
+
+    @Test
+    void reportStaysWithinBudget() throws Exception {
+        ZonedDateTime start = firstDay().plusDays(10).plusHours(13);
+        // merges the customer sketches of every business and day
+        assertWithinBudget("report of every reservation", Duration.ofMillis(1500), "/api/reservations/report");
+        assertWithinBudget(
+            "report of a business over a year",
+            Duration.ofMillis(500),
+            "/api/reservations/report?businessId=" + dataset.businessId(1) + "&start=" + start + "&end=" + start.plusYears(1)
+        );
+        assertWithinBudget(
+            "exact report of a quarter",
+            Duration.ofMillis(1000),
+            "/api/reservations/report?exact=true&start=" + start + "&end=" + start.plusMonths(3)
+        );
+    }
+
+    @Test
+    void customerSummaryStaysWithinBudget() throws Exception {
+        assertWithinBudget(
+            "summary of a customer",
+            Duration.ofMillis(200),
+            "/api/customers/" + dataset.customerId(2) + "/reservations/summary"
+        );
+    }
+
+    @Test
+    void exportStaysWithinBudget() throws Exception {
+        ZonedDateTime start = firstDay().plusMonths(6);
+        assertWithinBudget(
+            "export of a business over a month",
+            Duration.ofMillis(1000),
+            "/api/reservations/export?businessId=" + dataset.businessId(1) + "&start=" + start + "&end=" + start.plusMonths(1)
+        );
+    }
+
+    /**
+     * Checks the median latency of a request, after warming it up, is within its budget.
+     */
+    private void assertWithinBudget(String name, Duration budget, String url) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            perform(url);
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            perform(url);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        Duration median = Duration.ofNanos(nanos[MEASURED_RUNS / 2]);
+        Duration scaledBudget = Duration.ofNanos((long) (budget.toNanos() * BUDGET_FACTOR));
+        LOG.info(
+            "{}: median {} ms, slowest {} ms, budget {} ms",
+            name,
+            median.toMillis(),
+            Duration.ofNanos(nanos[MEASURED_RUNS - 1]).toMillis(),
+            scaledBudget.toMillis()
+        );
+        assertThat(median).as(name).isLessThanOrEqualTo(scaledBudget);
+    }
+
+    private void perform(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url)).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        } else {
+            assertThat(result.getResponse().getStatus()).as(url).isEqualTo(200);
+        }
+    }
+
+    private void rebuildRollups() {
+        LocalDate firstDay = ScaleDataGenerator.FIRST_DAY;
+        reservationRollupService.rebuild(firstDay, firstDay.plusDays(dataset.volumes().days()));
+    }
+
+    private static ZonedDateTime firstDay() {
+        return ScaleDataGenerator.FIRST_DAY.atStartOfDay(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,407 @@
+package com.mycompany.reservation.scale;
+
+import com.mycompany.reservation.domain.enumeration.BusinessType;
+import com.mycompany.reservation.domain.enumeration.FinanceEntryType;
+import com.mycompany.reservation.domain.enumeration.PaymentMethod;
+import com.mycompany.reservation.domain.enumeration.PaymentStatus;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bulk loads a large, deterministic dataset of businesses, services, customers, reservations, payments and finance entries with
+ * PostgreSQL {@code COPY}.
+ * <p>
+ * The same seed and volumes always produce the same rows. Ids are taken as one block from {@code sequence_generator}, so the
+ * rows never collide with the ones Hibernate creates, and {@link #delete(Dataset)} removes exactly what was loaded.
+ * Reservations are spread over {@link Volumes#days()} days from {@link #FIRST_DAY}, far from the dates other tests use.
+ */
+public class ScaleDataGenerator {
+
+    public static final LocalDate FIRST_DAY = LocalDate.of(2091, 1, 1);
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScaleDataGenerator.class);
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int OPENING_HOUR = 8;
+
+    private static final int SLOT_MINUTES = 30;
+
+    private static final int SLOTS_PER_DAY = 24;
+
+    private static final String[] FIRST_NAMES = { "Ada", "Ali", "Ayse", "Can", "Deniz", "Elif", "Emre", "Zeynep", "Mehmet", "Selin" };
+
+    private static final String[] LAST_NAMES = { "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Aydin", "Ozturk", "Arslan" };
+
+    private static final ReservationStatus[] STATUSES = ReservationStatus.values();
+
+    private static final PaymentMethod[] PAYMENT_METHODS = PaymentMethod.values();
+
+    private static final PaymentStatus[] PAYMENT_STATUSES = PaymentStatus.values();
+
+    private static final BusinessType[] BUSINESS_TYPES = BusinessType.values();
+
+    private final DataSource dataSource;
+
+    private final long seed;
+
+    public ScaleDataGenerator(DataSource dataSource, long seed) {
+        this.dataSource = dataSource;
+        this.seed = seed;
+    }
+
+    /**
+     * How many rows to load.
+     *
+     * @param businesses the number of businesses.
+     * @param servicesPerBusiness the number of services of every business.
+     * @param customers the number of customers, spread over the businesses.
+     * @param reservations the number of reservations, spread over the customers.
+     * @param days the number of days the reservations are spread over.
+     * @param payments the number of payments, one for each of the first reservations, at most one per reservation.
+     * @param financeEntries the number of finance entries.
+     */
+    public record Volumes(int businesses, int servicesPerBusiness, int customers, int reservations, int days, int payments, int financeEntries) {
+        public Volumes {
+            payments = Math.min(payments, reservations);
+        }
+
+        /**
+         * @return the volumes set by the {@code scale.*} system properties, a million reservations by default.
+         */
+        public static Volumes fromSystemProperties() {
+            int reservations = Integer.getInteger("scale.reservations", 1_000_000);
+            return new Volumes(
+                Integer.getInteger("scale.businesses", 100),
+                Integer.getInteger("scale.services-per-business", 5),
+                Integer.getInteger("scale.customers", reservations / 10),
+                reservations,
+                Integer.getInteger("scale.days", 730),
+                Integer.getInteger("scale.payments", reservations / 2),
+                Integer.getInteger("scale.finance-entries", reservations / 10)
+            );
+        }
+
+        long rows() {
+            return (long) businesses * (1 + servicesPerBusiness) + customers + reservations + payments + financeEntries;
+        }
+    }
+
+    /**
+     * The loaded rows: their ids are the {@link Volumes#rows()} values from {@code firstId}, table after table.
+     */
+    public record Dataset(Volumes volumes, long firstId, long ownerId) {
+        public long businessId(int index) {
+            return firstId + index;
+        }
+
+        public long serviceId(int business, int index) {
+            return firstId + volumes.businesses() + (long) business * volumes.servicesPerBusiness() + index;
+        }
+
+        public long customerId(int index) {
+            return firstId + (long) volumes.businesses() * (1 + volumes.servicesPerBusiness()) + index;
+        }
+
+        public long reservationId(int index) {
+            return customerId(volumes.customers()) + index;
+        }
+
+        long paymentId(int index) {
+            return reservationId(volumes.reservations()) + index;
+        }
+
+        long financeEntryId(int index) {
+            return paymentId(volumes.payments()) + index;
+        }
+
+        long lastId() {
+            return firstId + volumes.rows() - 1;
+        }
+
+        /**
+         * @return the business of a customer, customers being dealt to businesses in turn like reservations.
+         */
+        public int businessOf(int customer) {
+            return customer % volumes.businesses();
+        }
+    }
+
+    /**
+     * Load the rows and analyze the tables, so queries are planned as on a production database of that size.
+     *
+     * @param volumes how many rows to load.
+     * @param ownerLogin the login of the user owning every tenth reservation.
+     * @return the loaded rows.
+     */
+    public Dataset load(Volumes volumes, String ownerLogin) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            Dataset dataset = new Dataset(volumes, reserveIds(connection, volumes.rows()), ownerId(connection, ownerLogin));
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            try {
+                copyBusinesses(pgConnection, dataset);
+                copyServices(pgConnection, dataset);
+                copyCustomers(pgConnection, dataset);
+                int[] paidReservationCustomers = copyReservations(pgConnection, dataset);
+                copyPayments(pgConnection, dataset, paidReservationCustomers);
+                copyFinanceEntries(pgConnection, dataset);
+            } catch (SQLException | RuntimeException e) {
+                // every table is committed by its own COPY
+                delete(dataset);
+                throw e;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("analyze business, offered_service, customer, reservation, payment, finance_entry");
+            }
+            LOG.info("Loaded {} rows in {} s", volumes.rows(), (System.nanoTime() - start) / 1_000_000_000);
+            return dataset;
+        }
+    }
+
+    /**
+     * Delete the rows of a dataset.
+     *
+     * @param dataset the loaded rows.
+     */
+    public void delete(Dataset dataset) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            for (String table : new String[] { "payment", "reservation", "customer", "offered_service", "business", "finance_entry" }) {
+                statement.executeUpdate("delete from " + table + " where id between " + dataset.firstId() + " and " + dataset.lastId());
+                if (table.equals("payment")) {
+                    // payment.reservation_id has no index: every deleted reservation scans the payments, dead rows included
+                    statement.execute("vacuum payment");
+                }
+            }
+            statement.execute("analyze business, offered_service, customer, reservation, payment, finance_entry");
+        }
+    }
+
+    private static long reserveIds(Connection connection, long count) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // moves the sequence past the whole block, Hibernate allocates its next ids after it
+            try (ResultSet resultSet = statement.executeQuery("select nextval('sequence_generator')")) {
+                resultSet.next();
+                long first = resultSet.getLong(1) + 1;
+                statement.execute("select setval('sequence_generator', " + (first + count) + ")");
+                return first;
+            }
+        }
+    }
+
+    private static long ownerId(Connection connection, String login) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select id from jhi_user where login = ?")) {
+            statement.setString(1, login);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new IllegalArgumentException("Unknown user " + login);
+                }
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private void copyBusinesses(PGConnection connection, Dataset dataset) throws SQLException {
+        Random random = random("business");
+        try (Copy copy = new Copy(connection, "business (id, name, type, address, phone, email)")) {
+            for (int i = 0; i < dataset.volumes().businesses(); i++) {
+                copy
+                    .value(dataset.businessId(i))
+                    .value("Scale business " + i)
+                    .value(BUSINESS_TYPES[random.nextInt(BUSINESS_TYPES.length)].name())
+                    .value("Street " + random.nextInt(1000))
+                    .value(phone(random))
+                    .last("business-" + i + "@example.com");
+            }
+        }
+    }
+
+    private void copyServices(PGConnection connection, Dataset dataset) throws SQLException {
+        Random random = random("offered_service");
+        try (Copy copy = new Copy(connection, "offered_service (id, name, duration, price, business_id)")) {
+            for (int business = 0; business < dataset.volumes().businesses(); business++) {
+                for (int i = 0; i < dataset.volumes().servicesPerBusiness(); i++) {
+                    copy
+                        .value(dataset.serviceId(business, i))
+                        .value("Service " + i)
+                        .value(15 * (1 + random.nextInt(8)))
+                        .value(price(random))
+                        .last(dataset.businessId(business));
+                }
+            }
+        }
+    }
+
+    private void copyCustomers(PGConnection connection, Dataset dataset) throws SQLException {
+        Random random = random("customer");
+        try (Copy copy = new Copy(connection, "customer (id, first_name, last_name, email, phone, notes, business_id)")) {
+            for (int i = 0; i < dataset.volumes().customers(); i++) {
+                copy
+                    .value(dataset.customerId(i))
+                    .value(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                    .value(LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i)
+                    .value("customer-" + i + "@example.com")
+                    .value(phone(random))
+                    .value(random.nextInt(4) == 0 ? "Regular" : null)
+                    .last(dataset.businessId(dataset.businessOf(i)));
+            }
+        }
+    }
+
+    /**
+     * Reservations are dealt to businesses in turn and never overlap within a business, as the slot constraint requires: the
+     * n-th reservation of a business takes the n-th day of the range, then the next half hour of the first day, and so on.
+     *
+     * @return the customers of the reservations that get a payment.
+     */
+    private int[] copyReservations(PGConnection connection, Dataset dataset) throws SQLException {
+        Random random = random("reservation");
+        Volumes volumes = dataset.volumes();
+        int customersPerBusiness = Math.max(1, volumes.customers() / volumes.businesses());
+        if ((long) volumes.businesses() * volumes.days() * SLOTS_PER_DAY < volumes.reservations()) {
+            throw new IllegalArgumentException("More reservations than the slots of " + volumes.days() + " days");
+        }
+        int[] paidReservationCustomers = new int[volumes.payments()];
+        LocalDateTime firstSlot = FIRST_DAY.atTime(OPENING_HOUR, 0);
+        try (
+            Copy copy = new Copy(connection, "reservation (id, date, end_date, status, notes, service_id, customer_id, business_id, user_id)")
+        ) {
+            for (int i = 0; i < volumes.reservations(); i++) {
+                int business = i % volumes.businesses();
+                int slot = i / volumes.businesses();
+                int customer = business + volumes.businesses() * random.nextInt(customersPerBusiness);
+                if (i < paidReservationCustomers.length) {
+                    paidReservationCustomers[i] = customer;
+                }
+                LocalDateTime date = firstSlot.plusDays(slot % volumes.days()).plusMinutes(SLOT_MINUTES * (slot / volumes.days()));
+                copy
+                    .value(dataset.reservationId(i))
+                    .value(TIMESTAMP.format(date))
+                    .value(TIMESTAMP.format(date.plusMinutes(random.nextBoolean() ? SLOT_MINUTES / 2 : SLOT_MINUTES)))
+                    .value(STATUSES[random.nextInt(STATUSES.length)].name())
+                    .value(random.nextInt(5) == 0 ? "Reservation " + i : null)
+                    .value(dataset.serviceId(business, random.nextInt(volumes.servicesPerBusiness())))
+                    .value(dataset.customerId(customer))
+                    .value(dataset.businessId(business))
+                    .last(i % 10 == 0 ? dataset.ownerId() : null);
+            }
+        }
+        return paidReservationCustomers;
+    }
+
+    private void copyPayments(PGConnection connection, Dataset dataset, int[] reservationCustomers) throws SQLException {
+        Random random = random("payment");
+        try (
+            Copy copy = new Copy(connection, "payment (id, amount, method, status, transaction_id, reservation_id, customer_id, business_id)")
+        ) {
+            for (int i = 0; i < reservationCustomers.length; i++) {
+                copy
+                    .value(dataset.paymentId(i))
+                    .value(price(random))
+                    .value(PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)].name())
+                    .value(PAYMENT_STATUSES[random.nextInt(PAYMENT_STATUSES.length)].name())
+                    .value("tx-" + i)
+                    .value(dataset.reservationId(i))
+                    .value(dataset.customerId(reservationCustomers[i]))
+                    .last(dataset.businessId(dataset.businessOf(reservationCustomers[i])));
+            }
+        }
+    }
+
+    private void copyFinanceEntries(PGConnection connection, Dataset dataset) throws SQLException {
+        Random random = random("finance_entry");
+        Volumes volumes = dataset.volumes();
+        try (Copy copy = new Copy(connection, "finance_entry (id, entry_date, entry_type, amount, description)")) {
+            for (int i = 0; i < volumes.financeEntries(); i++) {
+                FinanceEntryType type = random.nextInt(3) == 0 ? FinanceEntryType.EXPENSE : FinanceEntryType.INCOME;
+                copy
+                    .value(dataset.financeEntryId(i))
+                    .value(FIRST_DAY.plusDays(random.nextInt(volumes.days())).toString())
+                    .value(type.name())
+                    .value(price(random))
+                    .last(type == FinanceEntryType.EXPENSE ? "Supplies" : "Sales");
+            }
+        }
+    }
+
+    /**
+     * Every table gets its own generator, so changing the volume of one table does not change the rows of the others.
+     */
+    private Random random(String table) {
+        return new Random(seed * 31 + table.hashCode());
+    }
+
+    private static String phone(Random random) {
+        return "555" + (1_000_000 + random.nextInt(9_000_000));
+    }
+
+    private static String price(Random random) {
+        return (10 + random.nextInt(490)) + "." + (random.nextInt(4) * 25);
+    }
+
+    /**
+     * One {@code COPY ... FROM STDIN} in PostgreSQL text format, buffered.
+     */
+    private static final class Copy implements AutoCloseable {
+
+        private final CopyIn copyIn;
+
+        private final StringBuilder row = new StringBuilder(256);
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private int buffered;
+
+        private Copy(PGConnection connection, String tableAndColumns) throws SQLException {
+            this.copyIn = connection.getCopyAPI().copyIn("copy " + tableAndColumns + " from stdin");
+        }
+
+        Copy value(Object value) {
+            // generated values never hold tabs, newlines or backslashes, so they need no escaping
+            row.append(value == null ? "\\N" : value).append('\t');
+            return this;
+        }
+
+        void last(Object value) throws SQLException {
+            row.append(value == null ? "\\N" : value).append('\n');
+            byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+            row.setLength(0);
+            if (buffered + bytes.length > buffer.length) {
+                flush();
+            }
+            System.arraycopy(bytes, 0, buffer, buffered, bytes.length);
+            buffered += bytes.length;
+        }
+
+        private void flush() throws SQLException {
+            copyIn.writeToCopy(buffer, 0, buffered);
+            buffered = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (copyIn.isActive()) {
+                flush();
+                copyIn.endCopy();
+            }
+        }
+    }
+}
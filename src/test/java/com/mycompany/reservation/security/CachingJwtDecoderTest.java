@@ -0,0 +1,147 @@
+package com.mycompany.reservation.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.reservation.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private JwtDecoder delegate;
+
+    private ConcurrentMapCache cache;
+
+    private MeterRegistry meterRegistry;
+
+    private MutableClock clock;
+
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(JwtDecoder.class);
+        cache = new ConcurrentMapCache(CachingJwtDecoder.CACHE_NAME);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(NOW);
+        decoder = new CachingJwtDecoder(delegate, cache, new SecurityMetersService(meterRegistry), clock);
+    }
+
+    @Test
+    void verifiesATokenOnce() {
+        Jwt jwt = jwt(NOW.plus(Duration.ofHours(1)));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+
+        verify(delegate, times(1)).decode(anyString());
+        assertThat(count("hit")).isEqualTo(2);
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(meterRegistry.get(SecurityMetersService.TOKEN_CACHE_HIT_RATIO_METER_NAME).gauge().value()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void keysTheCacheByADigestOfTheToken() {
+        when(delegate.decode("token")).thenReturn(jwt(NOW.plus(Duration.ofHours(1))));
+
+        decoder.decode("token");
+
+        assertThat(cache.getNativeCache()).hasSize(1).doesNotContainKey("token");
+    }
+
+    @Test
+    void verifiesTheTokenAgainOnceExpired() {
+        Jwt jwt = jwt(NOW.plus(Duration.ofMinutes(1)));
+        when(delegate.decode("token")).thenReturn(jwt).thenThrow(new BadJwtException("Jwt expired at " + jwt.getExpiresAt()));
+
+        decoder.decode("token");
+        clock.instant = NOW.plus(Duration.ofMinutes(2));
+
+        assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void doesNotCacheTokensWithoutExpiry() {
+        when(delegate.decode("token")).thenReturn(jwt(null));
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+        assertThat(cache.getNativeCache()).isEmpty();
+    }
+
+    @Test
+    void doesNotCacheInvalidTokens() {
+        when(delegate.decode("token")).thenThrow(new BadJwtException("Invalid signature"));
+
+        assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+
+        verify(delegate, times(2)).decode("token");
+        assertThat(cache.getNativeCache()).isEmpty();
+    }
+
+    private double count(String result) {
+        return meterRegistry
+            .get(SecurityMetersService.TOKEN_CACHE_GETS_METER_NAME)
+            .tag(SecurityMetersService.TOKEN_CACHE_RESULT_DIMENSION, result)
+            .counter()
+            .count();
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue("token")
+            .header("alg", "HS512")
+            .subject("user")
+            .issuedAt(NOW.minus(Duration.ofMinutes(5)))
+            .expiresAt(expiresAt)
+            .build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.mycompany.reservation.security;
+
+import static com.mycompany.reservation.security.SecurityUtils.USER_ID_CLAIM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.reservation.domain.User;
+import com.mycompany.reservation.repository.UserRepository;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class CurrentUserResolverTest {
+
+    private UserRepository userRepository;
+
+    private CurrentUserResolver currentUserResolver;
+
+    @BeforeEach
+    void setup() {
+        userRepository = mock(UserRepository.class);
+        currentUserResolver = new CurrentUserResolver(userRepository);
+        User user = new User();
+        user.setId(3L);
+        user.setLogin("user");
+        when(userRepository.findOneWithAuthoritiesByLogin("user")).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readsTheIdFromTheToken() {
+        Instant now = Instant.now();
+        Jwt jwt = Jwt.withTokenValue("token")
+            .header("alg", "HS512")
+            .subject("user")
+            .expiresAt(now.plusSeconds(60))
+            .claim(USER_ID_CLAIM, 1L)
+            .build();
+        authenticate(new UsernamePasswordAuthenticationToken(jwt, "token"));
+
+        assertThat(currentUserResolver.getCurrentUserId()).contains(1L);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void looksUpTheUserOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        authenticate(new UsernamePasswordAuthenticationToken("user", "user"));
+
+        assertThat(currentUserResolver.getCurrentUserId()).contains(3L);
+        assertThat(currentUserResolver.getCurrentUserId()).contains(3L);
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin(anyString());
+    }
+
+    @Test
+    void resolvesAgainWhenTheAuthenticationChanges() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        authenticate(new UsernamePasswordAuthenticationToken("user", "user"));
+        assertThat(currentUserResolver.getCurrentUserId()).contains(3L);
+
+        authenticate(new UsernamePasswordAuthenticationToken("unknown", "unknown"));
+
+        assertThat(currentUserResolver.getCurrentUserId()).isEmpty();
+    }
+
+    @Test
+    void looksUpTheUserEveryTimeOutsideOfARequest() {
+        authenticate(new UsernamePasswordAuthenticationToken("user", "user"));
+
+        currentUserResolver.getCurrentUserId();
+        currentUserResolver.getCurrentUserId();
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("user");
+    }
+
+    @Test
+    void resolvesNothingWithoutAuthentication() {
+        assertThat(currentUserResolver.getCurrentUserId()).isEmpty();
+        verifyNoInteractions(userRepository);
+    }
+
+    private static void authenticate(UsernamePasswordAuthenticationToken authentication) {
+        var securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(authentication);
+        SecurityContextHolder.setContext(securityContext);
+    }
+}
@@ -62,6 +62,23 @@ class SecurityUtilsUnitTest {
         assertThat(contextUserId.orElse(null)).isEqualTo(userId);
     }
 
+    @Test
+    void testGetCurrentUserIdOfAuthenticatedUser() {
+        var securityContext = SecurityContextHolder.createEmptyContext();
+        var user = new DomainUserDetailsService.UserWithId("admin", "admin", Collections.emptyList(), 2L);
+        securityContext.setAuthentication(new UsernamePasswordAuthenticationToken(user, "admin"));
+        SecurityContextHolder.setContext(securityContext);
+        assertThat(SecurityUtils.getCurrentUserId()).contains(2L);
+    }
+
+    @Test
+    void testGetCurrentUserIdWithoutClaim() {
+        var securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(new UsernamePasswordAuthenticationToken("admin", "admin"));
+        SecurityContextHolder.setContext(securityContext);
+        assertThat(SecurityUtils.getCurrentUserId()).isEmpty();
+    }
+
     @Test
     void testIsAuthenticated() {
         SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
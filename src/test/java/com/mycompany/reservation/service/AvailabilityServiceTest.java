@@ -0,0 +1,48 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the cache of {@link AvailabilityService}.
+ */
+class AvailabilityServiceTest {
+
+    @Test
+    void testCacheKeepsAtMostMaxEntries() {
+        AvailabilityService.ExpiringCache<String> cache = new AvailabilityService.ExpiringCache<>(2, Duration.ofMinutes(5));
+
+        cache.put(1L, "first");
+        cache.put(2L, "second");
+        cache.put(3L, "third");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isEqualTo("second");
+        assertThat(cache.get(3L)).isEqualTo("third");
+    }
+
+    @Test
+    void testCacheDropsExpiredEntries() {
+        AvailabilityService.ExpiringCache<String> cache = new AvailabilityService.ExpiringCache<>(2, Duration.ZERO);
+
+        cache.put(1L, "first");
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testCacheReplacesEntry() {
+        AvailabilityService.ExpiringCache<String> cache = new AvailabilityService.ExpiringCache<>(2, Duration.ofMinutes(5));
+
+        cache.put(1L, "first");
+        cache.put(1L, "again");
+        cache.remove(2L);
+
+        assertThat(cache.get(1L)).isEqualTo("again");
+        assertThat(cache.values()).containsExactly("again");
+    }
+}
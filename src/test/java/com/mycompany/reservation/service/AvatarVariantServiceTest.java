@@ -0,0 +1,67 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+class AvatarVariantServiceTest {
+
+    @Test
+    void resizeCropsTheCenterSquare() throws IOException {
+        // red left and right margins around a blue square
+        BufferedImage source = new BufferedImage(300, 100, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 300; x++) {
+            for (int y = 0; y < 100; y++) {
+                source.setRGB(x, y, x >= 100 && x < 200 ? Color.BLUE.getRGB() : Color.RED.getRGB());
+            }
+        }
+
+        BufferedImage thumbnail = AvatarVariantService.resize(AvatarVariantService.read(png(source)), 32);
+
+        assertThat(thumbnail.getWidth()).isEqualTo(32);
+        assertThat(thumbnail.getHeight()).isEqualTo(32);
+        assertThat(new Color(thumbnail.getRGB(0, 0))).isEqualTo(Color.BLUE);
+        assertThat(new Color(thumbnail.getRGB(31, 31))).isEqualTo(Color.BLUE);
+    }
+
+    @Test
+    void resizeScalesLargeImagesDown() {
+        BufferedImage thumbnail = AvatarVariantService.resize(new BufferedImage(2000, 2000, BufferedImage.TYPE_INT_RGB), 64);
+
+        assertThat(thumbnail.getWidth()).isEqualTo(64);
+        assertThat(thumbnail.getHeight()).isEqualTo(64);
+    }
+
+    @Test
+    void resizeScalesSmallImagesUp() {
+        BufferedImage thumbnail = AvatarVariantService.resize(new BufferedImage(20, 20, BufferedImage.TYPE_INT_RGB), 128);
+
+        assertThat(thumbnail.getWidth()).isEqualTo(128);
+    }
+
+    @Test
+    void readRefusesUnknownFormats() throws IOException {
+        assertThat(AvatarVariantService.read(new byte[] { (byte) 0x89, 'P', 'N', 'G', 1, 2, 3 })).isNull();
+        assertThat(AvatarVariantService.read("<svg/>".getBytes())).isNull();
+    }
+
+    @Test
+    void readRefusesHugeImages() throws IOException {
+        // a few kilobytes compressed, 80 megabytes decoded
+        byte[] huge = png(new BufferedImage(5000, 4000, BufferedImage.TYPE_BYTE_BINARY));
+
+        assertThat(huge.length).isLessThan(2 * 1024 * 1024);
+        assertThat(AvatarVariantService.read(huge)).isNull();
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
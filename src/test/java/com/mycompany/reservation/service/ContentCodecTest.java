@@ -0,0 +1,95 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ContentCodec}.
+ */
+class ContentCodecTest {
+
+    @Test
+    void gzipEncodesCompressibleContent() throws Exception {
+        StringBuilder csv = new StringBuilder("date;customer;amount\n");
+        for (int i = 0; i < 20_000; i++) {
+            csv.append("2025-01-").append(10 + (i % 20)).append(";customer ").append(i % 300).append(";").append(i % 997).append(".50\n");
+        }
+        byte[] content = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        byte[] encoded = encode(ContentCodec.GZIP, content);
+
+        assertThat(encoded.length).isLessThan(content.length / 5);
+        assertThat(gunzip(encoded)).isEqualTo(content);
+        assertThat(ContentCodec.GZIP.decode(new ByteArrayInputStream(encoded)).readAllBytes()).isEqualTo(content);
+    }
+
+    @Test
+    void gzipEncodesAnyContent() throws Exception {
+        byte[] random = new byte[200_000];
+        new Random(42).nextBytes(random);
+
+        assertThat(gunzip(encode(ContentCodec.GZIP, random))).isEqualTo(random);
+        assertThat(gunzip(encode(ContentCodec.GZIP, new byte[0]))).isEmpty();
+    }
+
+    @Test
+    void gzipEncodesByteByByte() throws Exception {
+        byte[] content = "fatura".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = ContentCodec.GZIP.encode(new ByteArrayInputStream(content))) {
+            for (int b = in.read(); b != -1; b = in.read()) {
+                out.write(b);
+            }
+        }
+
+        assertThat(gunzip(out.toByteArray())).isEqualTo(content);
+    }
+
+    @Test
+    void identityLeavesContentAsIs() throws Exception {
+        byte[] content = { 1, 2, 3 };
+
+        assertThat(encode(ContentCodec.IDENTITY, content)).isEqualTo(content);
+    }
+
+    @Test
+    void choosesEncodingFromContentType() {
+        assertThat(ContentCodec.forContentType("text/csv; charset=UTF-8")).isEqualTo(ContentCodec.GZIP);
+        assertThat(ContentCodec.forContentType("application/xml")).isEqualTo(ContentCodec.GZIP);
+        assertThat(ContentCodec.forContentType("application/pdf")).isEqualTo(ContentCodec.GZIP);
+        assertThat(ContentCodec.forContentType("image/svg+xml")).isEqualTo(ContentCodec.GZIP);
+        assertThat(ContentCodec.forContentType(null)).isEqualTo(ContentCodec.GZIP);
+        assertThat(ContentCodec.forContentType("image/jpeg")).isEqualTo(ContentCodec.IDENTITY);
+        assertThat(ContentCodec.forContentType("Application/ZIP")).isEqualTo(ContentCodec.IDENTITY);
+        assertThat(ContentCodec.forContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")).isEqualTo(
+            ContentCodec.IDENTITY
+        );
+    }
+
+    @Test
+    void readsEncodingFromToken() {
+        assertThat(ContentCodec.of("gzip")).isEqualTo(ContentCodec.GZIP);
+        assertThat(ContentCodec.of(null)).isEqualTo(ContentCodec.IDENTITY);
+        assertThatThrownBy(() -> ContentCodec.of("br")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] encode(ContentCodec codec, byte[] content) throws Exception {
+        try (InputStream in = codec.encode(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] gunzip(byte[] encoded) throws Exception {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CsvRecordReader} utility class.
+ */
+class CsvRecordReaderTest {
+
+    @Test
+    void testPlainRecords() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b,c\r\n1,,3\n"));
+        assertThat(reader.next()).containsExactly("a", "b", "c");
+        assertThat(reader.next()).containsExactly("1", "", "3");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void testQuotedFields() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"x, y\",\"say \"\"hi\"\"\",\"two\r\nlines\""));
+        assertThat(reader.next()).containsExactly("x, y", "say \"hi\"", "two\r\nlines");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void testTrailingEmptyField() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,\r"));
+        assertThat(reader.next()).containsExactly("a", "");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void testUnterminatedQuoteIsRejected() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"open"));
+        assertThatIOException().isThrownBy(reader::next).isInstanceOf(CsvRecordReader.MalformedCsvException.class);
+    }
+}
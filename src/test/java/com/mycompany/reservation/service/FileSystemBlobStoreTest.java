@@ -0,0 +1,99 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.reservation.config.ApplicationProperties;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for {@link FileSystemBlobStore}.
+ */
+class FileSystemBlobStoreTest {
+
+    private static final byte[] CONTENT = "finance document".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    private FileSystemBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new FileSystemBlobStore(directory);
+    }
+
+    @Test
+    void storesAndReadsContent() throws Exception {
+        BlobStore.StoredBlob blob = blobStore.store(new ByteArrayInputStream(CONTENT));
+
+        assertThat(blob.size()).isEqualTo(CONTENT.length);
+        Resource resource = blobStore.get(blob.key());
+        assertThat(resource.contentLength()).isEqualTo(CONTENT.length);
+        assertThat(resource.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void storesEveryContentUnderItsOwnKey() throws Exception {
+        BlobStore.StoredBlob first = blobStore.store(new ByteArrayInputStream(CONTENT));
+        BlobStore.StoredBlob second = blobStore.store(new ByteArrayInputStream(new byte[0]));
+
+        assertThat(first.key()).isNotEqualTo(second.key());
+        assertThat(blobStore.get(second.key()).contentLength()).isZero();
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(2).noneMatch(path -> path.toString().endsWith(".tmp"));
+        }
+    }
+
+    @Test
+    void deletesContent() throws Exception {
+        BlobStore.StoredBlob blob = blobStore.store(new ByteArrayInputStream(CONTENT));
+
+        blobStore.delete(blob.key());
+        blobStore.delete(blob.key());
+
+        assertThatThrownBy(() -> blobStore.get(blob.key())).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void rejectsKeysOutsideOfTheStore() {
+        assertThatThrownBy(() -> blobStore.get("../application.yml")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void checksDirectoryAtStartup() throws Exception {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getBlobStore().setDirectory(directory.resolve("created"));
+        new FileSystemBlobStore(properties, new MockEnvironment());
+        assertThat(directory.resolve("created")).isDirectory();
+
+        // a file where the directory should be
+        Files.writeString(directory.resolve("file"), "not a directory");
+        properties.getBlobStore().setDirectory(directory.resolve("file").resolve("blob-store"));
+        assertThatThrownBy(() -> new FileSystemBlobStore(properties, new MockEnvironment()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("cannot be written");
+    }
+
+    @Test
+    void requiresAbsoluteDirectoryInProduction() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getBlobStore().setDirectory(Path.of("data", "blob-store"));
+        MockEnvironment production = new MockEnvironment();
+        production.setActiveProfiles("prod");
+
+        assertThatThrownBy(() -> new FileSystemBlobStore(properties, production))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("absolute");
+    }
+}
@@ -0,0 +1,233 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.domain.Business;
+import com.mycompany.reservation.domain.OfferedService;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.enumeration.BusinessType;
+import com.mycompany.reservation.repository.BusinessRepository;
+import com.mycompany.reservation.repository.CustomerRepository;
+import com.mycompany.reservation.repository.OfferedServiceRepository;
+import com.mycompany.reservation.repository.ReservationRepository;
+import com.mycompany.reservation.service.dto.GuestReservationRequest;
+import com.mycompany.reservation.web.rest.errors.BadRequestAlertException;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link GuestReservationService}.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "spring.datasource.hikari.maximum-pool-size=16")
+class GuestReservationServiceIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GuestReservationServiceIT.class);
+
+    private static final int THREADS = 16;
+
+    private static final int ATTEMPTS = 2000;
+
+    private static final int CANDIDATE_STARTS = 400;
+
+    private static final int SERVICE_DURATION_MINUTES = 30;
+
+    private static final double MIN_ATTEMPTS_PER_SECOND = 1000;
+
+    private static final double FLOOR_FACTOR = Double.parseDouble(System.getProperty("benchmark.floor-factor", "1"));
+
+    @Autowired
+    private GuestReservationService guestReservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OfferedServiceRepository offeredServiceRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    private Business business;
+
+    private OfferedService offeredService;
+
+    private final List<Long> customerIds = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        business = businessRepository.saveAndFlush(new Business().name("Stress test business").type(BusinessType.HAIRDRESSER));
+        offeredService = offeredServiceRepository.saveAndFlush(
+            new OfferedService().name("Stress test service").duration(SERVICE_DURATION_MINUTES).business(business)
+        );
+    }
+
+    @AfterEach
+    void cleanup() {
+        reservationRepository.deleteAll(reservationsOfBusiness());
+        customerRepository.deleteAllById(customerIds);
+        offeredServiceRepository.delete(offeredService);
+        businessRepository.delete(business);
+    }
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void assertThatConcurrentBookingsNeverOverlap() throws Exception {
+        Burst burst = book(ZonedDateTime.now().plusDays(30).truncatedTo(ChronoUnit.HOURS), 0);
+
+        assertThat(burst.accepted() + burst.rejected()).isEqualTo(ATTEMPTS);
+        assertThat(burst.accepted()).isPositive();
+        assertThat(burst.rejected()).isPositive();
+        assertNoOverlaps(burst.accepted());
+    }
+
+    @Test
+    void assertThatServiceOnlyBookingsCannotShareASlot() {
+        ZonedDateTime start = ZonedDateTime.now().plusDays(90).truncatedTo(ChronoUnit.HOURS);
+        GuestReservationRequest first = guestRequest(0, start);
+        first.setBusinessId(null);
+        GuestReservationRequest second = guestRequest(1, start.plusMinutes(15));
+        second.setBusinessId(null);
+
+        guestReservationService.createReservation(first);
+
+        assertThatThrownBy(() -> guestReservationService.createReservation(second))
+            .isInstanceOf(BadRequestAlertException.class)
+            .extracting(e -> ((BadRequestAlertException) e).getErrorKey())
+            .isEqualTo("slotunavailable");
+        assertNoOverlaps(1);
+    }
+
+    /**
+     * Checks a burst of bookings is absorbed at {@link #MIN_ATTEMPTS_PER_SECOND} or more, after a burst warming it up.
+     * <p>
+     * Only runs on demand, its floor depends on the machine: {@code ./mvnw verify -Dit.test=GuestReservationServiceIT
+     * -Dbenchmark=true}. {@code benchmark.floor-factor} scales the floor for slower machines.
+     */
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void assertThatBookingBurstsKeepUp() throws Exception {
+        ZonedDateTime firstStart = ZonedDateTime.now().plusDays(60).truncatedTo(ChronoUnit.HOURS);
+        Burst warmup = book(firstStart, 0);
+        // the measured burst books another calendar range, not the slots the warm-up already took
+        Burst burst = book(firstStart.plusMinutes(15L * CANDIDATE_STARTS), ATTEMPTS);
+
+        assertNoOverlaps(warmup.accepted() + burst.accepted());
+        assertThat(burst.attemptsPerSecond()).isGreaterThanOrEqualTo(MIN_ATTEMPTS_PER_SECOND * FLOOR_FACTOR);
+    }
+
+    /**
+     * Runs {@link #ATTEMPTS} guest bookings on {@link #THREADS} threads, starting at random quarter hours from {@code firstStart}.
+     */
+    private Burst book(ZonedDateTime firstStart, int firstGuest) throws Exception {
+        Random random = new Random(42);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Callable<Void>> attempts = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            // 15 minute steps with 30 minute bookings: neighbouring candidates partially overlap
+            ZonedDateTime start = firstStart.plusMinutes(15L * random.nextInt(CANDIDATE_STARTS));
+            GuestReservationRequest request = guestRequest(firstGuest + i, start);
+            attempts.add(() -> {
+                try {
+                    guestReservationService.createReservation(request);
+                    accepted.incrementAndGet();
+                } catch (BadRequestAlertException e) {
+                    assertThat(e.getErrorKey()).isEqualTo("slotunavailable");
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long startNanos = System.nanoTime();
+        try {
+            for (Future<Void> future : executor.invokeAll(attempts)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        Burst burst = new Burst(accepted.get(), rejected.get(), (System.nanoTime() - startNanos) / 1_000_000_000d);
+        LOG.info(
+            "{} booking attempts in {} s ({} per second): {} accepted, {} rejected",
+            ATTEMPTS,
+            String.format("%.2f", burst.seconds()),
+            Math.round(burst.attemptsPerSecond()),
+            burst.accepted(),
+            burst.rejected()
+        );
+        return burst;
+    }
+
+    private void assertNoOverlaps(int expectedReservations) {
+        List<Reservation> stored = reservationsOfBusiness();
+        assertThat(stored).hasSize(expectedReservations);
+        stored.sort(Comparator.comparing(Reservation::getDate));
+        for (int i = 1; i < stored.size(); i++) {
+            Reservation previous = stored.get(i - 1);
+            Reservation current = stored.get(i);
+            assertThat(current.getDate().toInstant())
+                .as("reservation %s overlaps reservation %s", current.getId(), previous.getId())
+                .isAfterOrEqualTo(previous.getEndDate().toInstant());
+        }
+    }
+
+    private GuestReservationRequest guestRequest(int index, ZonedDateTime start) {
+        GuestReservationRequest request = new GuestReservationRequest();
+        request.setFirstName("Guest");
+        request.setLastName("Number " + index);
+        request.setEmail("stress-guest-" + index + "@example.com");
+        request.setPhone("5550000000");
+        request.setReservationDate(start);
+        request.setOfferedServiceId(offeredService.getId());
+        request.setBusinessId(business.getId());
+        return request;
+    }
+
+    private List<Reservation> reservationsOfBusiness() {
+        List<Reservation> reservations = new ArrayList<>(
+            reservationRepository.findAll(ReservationSpecifications.belongsToBusiness(business.getId()))
+        );
+        reservations.forEach(reservation -> {
+            if (reservation.getCustomer() != null && !customerIds.contains(reservation.getCustomer().getId())) {
+                customerIds.add(reservation.getCustomer().getId());
+            }
+        });
+        return reservations;
+    }
+
+    private record Burst(int accepted, int rejected, double seconds) {
+        double attemptsPerSecond() {
+            return (accepted + rejected) / seconds;
+        }
+    }
+}
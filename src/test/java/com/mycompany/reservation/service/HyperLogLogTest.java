@@ -0,0 +1,81 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link HyperLogLog} sketch.
+ */
+class HyperLogLogTest {
+
+    @Test
+    void testSmallCardinalitiesAreNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 50; id++) {
+            sketch.add(id);
+            sketch.add(id);
+        }
+        assertThat(sketch.estimate()).isCloseTo(50L, within(1L));
+        assertThat(sketch.add(7)).isFalse();
+    }
+
+    @Test
+    void testLargeCardinalityWithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 200_000; id++) {
+            sketch.add(id);
+        }
+        // three standard errors
+        assertThat(sketch.estimate()).isCloseTo(200_000L, within(14_000L));
+    }
+
+    @Test
+    void testMergeEstimatesTheUnion() {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (long id = 0; id < 30_000; id++) {
+            if (id < 20_000) {
+                left.add(id);
+            }
+            if (id >= 10_000) {
+                right.add(id);
+            }
+            union.add(id);
+        }
+        assertThat(left.merge(right)).isTrue();
+        assertThat(left.estimate()).isEqualTo(union.estimate());
+        assertThat(left.merge(union)).isFalse();
+    }
+
+    @Test
+    void testSparseAndDenseRoundTrip() {
+        HyperLogLog sparse = new HyperLogLog();
+        for (long id = 0; id < 20; id++) {
+            sparse.add(id);
+        }
+        byte[] sparseBytes = sparse.toBytes();
+        assertThat(sparseBytes.length).isLessThan(100);
+        assertThat(HyperLogLog.fromBytes(sparseBytes).estimate()).isEqualTo(sparse.estimate());
+        assertThat(HyperLogLog.fromBytes(new HyperLogLog().toBytes()).estimate()).isZero();
+
+        HyperLogLog dense = new HyperLogLog();
+        for (long id = 0; id < 10_000; id++) {
+            dense.add(id);
+        }
+        byte[] denseBytes = dense.toBytes();
+        assertThat(denseBytes).hasSize(2 + (1 << HyperLogLog.PRECISION));
+        assertThat(HyperLogLog.fromBytes(denseBytes).estimate()).isEqualTo(dense.estimate());
+    }
+
+    @Test
+    void testMalformedBytesAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> HyperLogLog.fromBytes(new byte[] { 0 }));
+        assertThatIllegalArgumentException().isThrownBy(() -> HyperLogLog.fromBytes(new byte[] { 0, 12 }));
+        assertThatIllegalArgumentException().isThrownBy(() -> HyperLogLog.fromBytes(new byte[] { 1, HyperLogLog.PRECISION, 3 }));
+        assertThatIllegalArgumentException().isThrownBy(() -> HyperLogLog.fromBytes(new byte[] { 0, HyperLogLog.PRECISION, 0x7f, 0, 1 }));
+    }
+}
@@ -0,0 +1,169 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.domain.Business;
+import com.mycompany.reservation.domain.Customer;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.User;
+import com.mycompany.reservation.domain.enumeration.BusinessType;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.repository.BusinessRepository;
+import com.mycompany.reservation.repository.CustomerRepository;
+import com.mycompany.reservation.repository.ReservationRepository;
+import com.mycompany.reservation.repository.UserRepository;
+import com.mycompany.reservation.service.mapper.BusinessMapper;
+import com.mycompany.reservation.service.mapper.CustomerMapper;
+import com.mycompany.reservation.service.mapper.ReservationMapper;
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Compares the latency and the allocations of the listings read through {@link ProjectionQuery} with the same listings read
+ * as entities and mapped with MapStruct.
+ * <p>
+ * Only runs on demand: {@code ./mvnw verify -Dit.test=ProjectionQueryBenchmarkIT -Dbenchmark=true}.
+ */
+@IntegrationTest
+@Transactional
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProjectionQueryBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProjectionQueryBenchmarkIT.class);
+
+    private static final int ROWS = 2000;
+
+    private static final int WARMUP_ITERATIONS = 200;
+
+    private static final int MEASURED_ITERATIONS = 500;
+
+    private static final Pageable PAGE = PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "id"));
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BusinessService businessService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReservationMapper reservationMapper;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    @Autowired
+    private BusinessMapper businessMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    void init() {
+        User user = userRepository.findOneByLogin("admin").orElseThrow();
+        ZonedDateTime date = ZonedDateTime.of(2097, 1, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < ROWS; i++) {
+            Business business = new Business().name("Benchmark business " + i).type(BusinessType.HAIRDRESSER).address("Address " + i);
+            em.persist(business);
+            Customer customer = new Customer()
+                .firstName("Benchmark")
+                .lastName("Customer " + i)
+                .email("benchmark-" + i + "@example.com")
+                .phone("5550000000")
+                .business(business);
+            em.persist(customer);
+            em.persist(
+                new Reservation()
+                    .date(date.plusMinutes(i))
+                    .endDate(date.plusMinutes(i + 30))
+                    .status(ReservationStatus.CONFIRMED)
+                    .notes("Benchmark reservation " + i)
+                    .customer(customer)
+                    .business(business)
+                    .user(user)
+            );
+            if (i % 500 == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    void projectionsAllocateLessThanEntities() {
+        Result reservationEntities = measure("reservations as entities", () ->
+            reservationRepository.findAll(ReservationSpecifications.fetchingCustomerAndUser(), PAGE).map(reservationMapper::toDto)
+        );
+        Result reservationProjections = measure("reservations as projections", () -> reservationService.findAll(PAGE));
+        Result customerEntities = measure("customers as entities", () -> customerRepository.findAll(PAGE).map(customerMapper::toDto));
+        Result customerProjections = measure("customers as projections", () -> customerService.findAll(PAGE));
+        Result businessEntities = measure("businesses as entities", () -> businessRepository.findAll(PAGE).map(businessMapper::toDto));
+        Result businessProjections = measure("businesses as projections", () -> businessService.findAll(PAGE));
+
+        assertThat(reservationProjections.allocatedBytes()).isLessThan(reservationEntities.allocatedBytes());
+        assertThat(customerProjections.allocatedBytes()).isLessThan(customerEntities.allocatedBytes());
+        assertThat(businessProjections.allocatedBytes()).isLessThan(businessEntities.allocatedBytes());
+    }
+
+    private Result measure(String name, Supplier<?> listing) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            listing.get();
+            // every request starts with an empty persistence context
+            em.clear();
+        }
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            listing.get();
+            em.clear();
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Result result = new Result(nanos / MEASURED_ITERATIONS, allocated / MEASURED_ITERATIONS);
+        LOG.info(
+            "{}: {} us and {} KiB per page of {}",
+            name,
+            result.nanos() / 1000,
+            result.allocatedBytes() / 1024,
+            PAGE.getPageSize()
+        );
+        return result;
+    }
+
+    private record Result(long nanos, long allocatedBytes) {}
+}
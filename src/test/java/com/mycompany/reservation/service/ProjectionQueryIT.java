@@ -0,0 +1,145 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.domain.Business;
+import com.mycompany.reservation.domain.Customer;
+import com.mycompany.reservation.domain.OfferedService;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.User;
+import com.mycompany.reservation.domain.enumeration.BusinessType;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.repository.BusinessRepository;
+import com.mycompany.reservation.repository.CustomerRepository;
+import com.mycompany.reservation.repository.ReservationRepository;
+import com.mycompany.reservation.repository.UserRepository;
+import com.mycompany.reservation.service.dto.ReservationFilterCriteria;
+import com.mycompany.reservation.service.mapper.BusinessMapper;
+import com.mycompany.reservation.service.mapper.CustomerMapper;
+import com.mycompany.reservation.service.mapper.ReservationMapper;
+import jakarta.persistence.EntityManager;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ProjectionQuery}, checking the listings built from projections match the ones built from
+ * entities.
+ */
+@IntegrationTest
+@Transactional
+class ProjectionQueryIT {
+
+    private static final ZonedDateTime FIRST_DATE = ZonedDateTime.of(2098, 5, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BusinessService businessService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReservationMapper reservationMapper;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    @Autowired
+    private BusinessMapper businessMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    private Business business;
+
+    @BeforeEach
+    void init() {
+        business = new Business()
+            .name("Projection test business")
+            .type(BusinessType.HAIRDRESSER)
+            .address("Address")
+            .email("projection@example.com");
+        em.persist(business);
+        em.persist(new Business().name("Projection test business without details").type(BusinessType.HAIRDRESSER));
+        OfferedService service = new OfferedService().name("Projection test service").duration(30).business(business);
+        em.persist(service);
+        User user = userRepository.findOneByLogin("admin").orElseThrow();
+        for (int i = 0; i < 12; i++) {
+            // every third customer has no business, every fourth reservation no customer and every fifth no owner
+            Customer customer = new Customer()
+                .firstName("Projected")
+                .lastName("Customer " + (i % 5))
+                .email("projected-" + i + "@example.com")
+                .phone("5550000000")
+                .notes(i % 2 == 0 ? "notes " + i : null)
+                .business(i % 3 == 0 ? null : business);
+            em.persist(customer);
+            em.persist(
+                new Reservation()
+                    .date(FIRST_DATE.plusHours(i))
+                    .endDate(FIRST_DATE.plusHours(i).plusMinutes(30))
+                    .status(i % 2 == 0 ? ReservationStatus.PENDING : ReservationStatus.CONFIRMED)
+                    .notes("reservation " + i)
+                    .customer(i % 4 == 0 ? null : customer)
+                    .business(i % 6 == 0 ? null : business)
+                    .service(i % 2 == 0 ? service : null)
+                    .user(i % 5 == 0 ? null : user)
+            );
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void reservationPagesMatchEntityPages() {
+        Pageable newestFirst = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"));
+        assertThat(reservationService.findAll(newestFirst))
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyElementsOf(reservationRepository.findAll(newestFirst).map(reservationMapper::toDto));
+
+        ReservationFilterCriteria criteria = new ReservationFilterCriteria();
+        criteria.setBusinessId(business.getId());
+        criteria.setStartDate(FIRST_DATE);
+        Pageable byCustomerName = PageRequest.of(1, 4, Sort.by("customer.lastName", "id"));
+        var projected = reservationService.findByCustomer(null, criteria, byCustomerName);
+        var loaded = reservationRepository
+            .findAll(ReservationSpecifications.matching(criteria), byCustomerName)
+            .map(reservationMapper::toDto);
+        assertThat(projected.getTotalElements()).isEqualTo(loaded.getTotalElements()).isEqualTo(10);
+        assertThat(projected).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(loaded);
+    }
+
+    @Test
+    void customerAndBusinessPagesMatchEntityPages() {
+        Pageable newestFirst = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+        assertThat(customerService.findAll(newestFirst))
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyElementsOf(customerRepository.findAll(newestFirst).map(customerMapper::toDto));
+        assertThat(businessService.findAll(newestFirst))
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyElementsOf(businessRepository.findAll(newestFirst).map(businessMapper::toDto));
+        assertThat(customerService.findAll(Pageable.unpaged()).getTotalElements()).isEqualTo(customerRepository.count());
+    }
+}
@@ -0,0 +1,39 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+
+/**
+ * Test class for the {@link ReservationCursor} utility class.
+ */
+class ReservationCursorTest {
+
+    @Test
+    void testRoundTrip() {
+        ZonedDateTime date = ZonedDateTime.of(2030, 1, 7, 10, 15, 30, 123_456_000, ZoneId.of("Europe/Istanbul"));
+        KeysetScrollPosition position = ReservationCursor.decode(ReservationCursor.encode(date, 42L));
+        assertThat(position.isInitial()).isFalse();
+        assertThat(position.getKeys()).containsOnlyKeys("date", "id");
+        assertThat(((ZonedDateTime) position.getKeys().get("date")).toInstant()).isEqualTo(date.toInstant());
+        assertThat(position.getKeys()).containsEntry("id", 42L);
+    }
+
+    @Test
+    void testBlankCursorIsInitialPosition() {
+        assertThat(ReservationCursor.decode(null).isInitial()).isTrue();
+        assertThat(ReservationCursor.decode("").isInitial()).isTrue();
+        assertThat(ReservationCursor.decode(" ").isInitial()).isTrue();
+    }
+
+    @Test
+    void testMalformedCursorIsRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ReservationCursor.decode("not a cursor!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> ReservationCursor.decode("YWJj"));
+        assertThatIllegalArgumentException().isThrownBy(() -> ReservationCursor.decode("eDp5Ono"));
+    }
+}
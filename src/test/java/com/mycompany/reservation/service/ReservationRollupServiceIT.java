@@ -0,0 +1,219 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.domain.Business;
+import com.mycompany.reservation.domain.Customer;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.enumeration.BusinessType;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.repository.BusinessRepository;
+import com.mycompany.reservation.repository.CustomerRepository;
+import com.mycompany.reservation.repository.ReservationRepository;
+import com.mycompany.reservation.service.dto.ReservationFilterCriteria;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ReservationRollupService}, {@link ReservationSketchService} and the triggers maintaining the
+ * rollups.
+ */
+@IntegrationTest
+@Transactional
+class ReservationRollupServiceIT {
+
+    private static final ZonedDateTime FIRST_DAY = LocalDate.of(2031, 3, 10).atStartOfDay(ZoneOffset.UTC);
+
+    @Autowired
+    private ReservationRollupService reservationRollupService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ReservationSketchService reservationSketchService;
+
+    @Autowired
+    private EntityManager em;
+
+    private Business business;
+
+    @BeforeEach
+    void init() {
+        business = businessRepository.saveAndFlush(new Business().name("Rollup test business").type(BusinessType.HAIRDRESSER));
+    }
+
+    @Test
+    void rollupsFollowReservationWrites() {
+        Reservation first = reserve(FIRST_DAY.plusHours(9), ReservationStatus.PENDING);
+        Reservation second = reserve(FIRST_DAY.plusHours(10), ReservationStatus.PENDING);
+        Reservation third = reserve(FIRST_DAY.plusHours(11), ReservationStatus.CONFIRMED);
+        assertThat(rollupsOfDay(FIRST_DAY)).containsOnly(
+            Map.entry(ReservationStatus.PENDING, 2L),
+            Map.entry(ReservationStatus.CONFIRMED, 1L)
+        );
+
+        first.setStatus(ReservationStatus.CONFIRMED);
+        second.setDate(FIRST_DAY.plusDays(1).plusHours(10));
+        second.setEndDate(second.getDate().plusMinutes(30));
+        third.setNotes("only the notes change");
+        reservationRepository.saveAllAndFlush(List.of(first, second, third));
+        assertThat(rollupsOfDay(FIRST_DAY)).containsOnly(Map.entry(ReservationStatus.CONFIRMED, 2L));
+        assertThat(rollupsOfDay(FIRST_DAY.plusDays(1))).containsOnly(Map.entry(ReservationStatus.PENDING, 1L));
+
+        reservationRepository.updateStatusByIdIn(List.of(first.getId(), third.getId()), ReservationStatus.CANCELLED);
+        assertThat(rollupsOfDay(FIRST_DAY)).containsOnly(Map.entry(ReservationStatus.CANCELLED, 2L));
+
+        reservationRepository.deleteById(second.getId());
+        reservationRepository.flush();
+        assertThat(rollupsOfDay(FIRST_DAY.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    void countByStatusMatchesReservationsAcrossPartialDays() {
+        ReservationStatus[] statuses = { ReservationStatus.PENDING, ReservationStatus.CONFIRMED, ReservationStatus.COMPLETED };
+        for (int hour = 0; hour < 5 * 24; hour += 5) {
+            reserve(FIRST_DAY.plusHours(hour), statuses[hour % statuses.length]);
+        }
+
+        assertMatchesReservations(FIRST_DAY, FIRST_DAY.plusDays(5));
+        assertMatchesReservations(FIRST_DAY.plusHours(7), FIRST_DAY.plusDays(3).plusHours(14));
+        assertMatchesReservations(FIRST_DAY.plusHours(7), FIRST_DAY.plusHours(20));
+        assertMatchesReservations(FIRST_DAY.plusDays(1), FIRST_DAY.plusDays(2));
+        assertMatchesReservations(FIRST_DAY.plusHours(30).withZoneSameInstant(ZoneId.of("Europe/Istanbul")), FIRST_DAY.plusDays(4));
+        assertMatchesReservations(FIRST_DAY.plusDays(2), null);
+        assertMatchesReservations(null, FIRST_DAY.plusDays(2).plusHours(3));
+
+        ReservationFilterCriteria confirmedOnly = criteria(FIRST_DAY.plusHours(7), FIRST_DAY.plusDays(3).plusHours(14));
+        confirmedOnly.setStatus(ReservationStatus.CONFIRMED);
+        assertThat(reservationRollupService.countByStatus(confirmedOnly)).containsOnlyKeys(ReservationStatus.CONFIRMED);
+        assertThat(reservationRollupService.countByStatus(criteria(FIRST_DAY.plusDays(1), FIRST_DAY))).isEmpty();
+    }
+
+    @Test
+    void rebuildRestoresRollupsAndSketches() {
+        Customer customer = customerRepository.saveAndFlush(
+            new Customer().firstName("Rebuilt").lastName("Customer").email("rebuilt@example.com").phone("5550000000")
+        );
+        reserve(FIRST_DAY.plusHours(9), ReservationStatus.PENDING, customer, business);
+        reserve(FIRST_DAY.plusDays(40).plusHours(9), ReservationStatus.CONFIRMED);
+        em
+            .createNativeQuery("update reservation_daily_rollup set reservations = 99 where business_id = :businessId")
+            .setParameter("businessId", business.getId())
+            .executeUpdate();
+        em
+            .createNativeQuery("delete from reservation_daily_rollup where business_id = :businessId and day = :day")
+            .setParameter("businessId", business.getId())
+            .setParameter("day", FIRST_DAY.toLocalDate())
+            .executeUpdate();
+
+        long days = reservationRollupService.rebuild(FIRST_DAY.toLocalDate(), FIRST_DAY.toLocalDate().plusDays(41));
+
+        assertThat(days).isEqualTo(41);
+        assertThat(rollupsOfDay(FIRST_DAY)).containsOnly(Map.entry(ReservationStatus.PENDING, 1L));
+        assertThat(rollupsOfDay(FIRST_DAY.plusDays(40))).containsOnly(Map.entry(ReservationStatus.CONFIRMED, 1L));
+        HyperLogLog customers = reservationSketchService.merge(
+            business.getId(),
+            FIRST_DAY.toLocalDate(),
+            FIRST_DAY.toLocalDate().plusDays(41)
+        );
+        assertThat(customers.estimate()).isEqualTo(1);
+    }
+
+    @Test
+    void countDistinctCustomersFromSketches() {
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Customer customer = customerRepository.saveAndFlush(
+                new Customer().firstName("Sketch").lastName("Customer " + i).email("sketch-" + i + "@example.com").phone("5550000000")
+            );
+            // every customer books on two days, two of them without a business
+            reservations.add(reserve(FIRST_DAY.plusHours(i + 1), ReservationStatus.CONFIRMED, customer, i < 10 ? business : null));
+            reservations.add(reserve(FIRST_DAY.plusDays(2).plusHours(i), ReservationStatus.COMPLETED, customer, business));
+        }
+        reservationSketchService.recordReservations(reservations);
+        reservationSketchService.recordReservations(reservations);
+
+        // two customer ids can share a register, whatever the sequence gave them, and count once in the estimate
+        ReservationFilterCriteria filters = criteria(FIRST_DAY, FIRST_DAY.plusDays(3));
+        assertThat(reservationRollupService.countDistinctCustomers(filters, false)).isCloseTo(12L, within(1L));
+        assertThat(reservationRollupService.countDistinctCustomers(filters, true)).isEqualTo(12);
+
+        ReservationFilterCriteria firstDayOnly = criteria(FIRST_DAY, FIRST_DAY.plusDays(1));
+        assertThat(reservationRollupService.countDistinctCustomers(firstDayOnly, false)).isCloseTo(10L, within(1L));
+        firstDayOnly.setBusinessId(null);
+        assertThat(reservationRollupService.countDistinctCustomers(firstDayOnly, false)).isGreaterThanOrEqualTo(11);
+
+        // the partial days at the edges are read from the reservation table
+        ReservationFilterCriteria partial = criteria(FIRST_DAY.plusHours(10), FIRST_DAY.plusDays(2).plusHours(5));
+        assertThat(reservationRollupService.countDistinctCustomers(partial, false)).isEqualTo(
+            reservationRollupService.countDistinctCustomers(partial, true)
+        );
+    }
+
+    private void assertMatchesReservations(ZonedDateTime start, ZonedDateTime end) {
+        Map<ReservationStatus, Long> expected = new EnumMap<>(ReservationStatus.class);
+        for (ReservationStatus status : ReservationStatus.values()) {
+            ReservationFilterCriteria filters = criteria(start, end);
+            filters.setStatus(status);
+            long count = reservationRepository.count(ReservationSpecifications.matching(filters));
+            if (count > 0) {
+                expected.put(status, count);
+            }
+        }
+        assertThat(reservationRollupService.countByStatus(criteria(start, end))).as("between %s and %s", start, end).isEqualTo(expected);
+    }
+
+    private Map<ReservationStatus, Long> rollupsOfDay(ZonedDateTime day) {
+        Map<ReservationStatus, Long> rollups = new EnumMap<>(ReservationStatus.class);
+        List<?> rows = em
+            .createNativeQuery(
+                "select status, reservations from reservation_daily_rollup where business_id = :businessId and day = :day and reservations <> 0"
+            )
+            .setParameter("businessId", business.getId())
+            .setParameter("day", day.toLocalDate())
+            .getResultList();
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            rollups.put(ReservationStatus.valueOf((String) columns[0]), ((Number) columns[1]).longValue());
+        }
+        return rollups;
+    }
+
+    private ReservationFilterCriteria criteria(ZonedDateTime start, ZonedDateTime end) {
+        ReservationFilterCriteria criteria = new ReservationFilterCriteria();
+        criteria.setBusinessId(business.getId());
+        criteria.setStartDate(start);
+        criteria.setEndDate(end);
+        return criteria;
+    }
+
+    private Reservation reserve(ZonedDateTime date, ReservationStatus status) {
+        return reserve(date, status, null, business);
+    }
+
+    private Reservation reserve(ZonedDateTime date, ReservationStatus status, Customer customer, Business owner) {
+        Reservation reservation = new Reservation().date(date).status(status).customer(customer).business(owner);
+        reservation.setEndDate(date.plusMinutes(30));
+        return reservationRepository.saveAndFlush(reservation);
+    }
+}
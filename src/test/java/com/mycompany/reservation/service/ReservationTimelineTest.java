@@ -0,0 +1,82 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ReservationTimeline} utility class.
+ */
+class ReservationTimelineTest {
+
+    private static final Instant OPENING = Instant.parse("2030-01-07T09:00:00Z");
+    private static final Instant CLOSING = Instant.parse("2030-01-07T12:00:00Z");
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Duration HALF_HOUR = Duration.ofMinutes(30);
+
+    private ReservationTimeline timeline;
+
+    @BeforeEach
+    void setUp() {
+        timeline = new ReservationTimeline();
+    }
+
+    @Test
+    void testEmptyTimelineHasEverySlot() {
+        List<Instant> slots = timeline.freeSlots(OPENING, CLOSING, HOUR, HOUR, null);
+        assertThat(slots).containsExactly(OPENING, OPENING.plus(HOUR), OPENING.plus(HOUR.multipliedBy(2)));
+    }
+
+    @Test
+    void testBookingBlocksOverlappingSlots() {
+        timeline.put(1L, Instant.parse("2030-01-07T10:00:00Z"), HALF_HOUR);
+        List<Instant> slots = timeline.freeSlots(OPENING, CLOSING, HOUR, HALF_HOUR, null);
+        assertThat(slots).containsExactly(
+            Instant.parse("2030-01-07T09:00:00Z"),
+            Instant.parse("2030-01-07T10:30:00Z"),
+            Instant.parse("2030-01-07T11:00:00Z")
+        );
+    }
+
+    @Test
+    void testBookingStartingBeforeWindowIsTakenIntoAccount() {
+        timeline.put(1L, Instant.parse("2030-01-07T07:00:00Z"), Duration.ofHours(3));
+        List<Instant> slots = timeline.freeSlots(OPENING, CLOSING, HOUR, HOUR, null);
+        assertThat(slots).containsExactly(Instant.parse("2030-01-07T10:00:00Z"), Instant.parse("2030-01-07T11:00:00Z"));
+    }
+
+    @Test
+    void testOverlappingBookingsAreMerged() {
+        timeline.put(1L, Instant.parse("2030-01-07T09:00:00Z"), Duration.ofMinutes(90));
+        timeline.put(2L, Instant.parse("2030-01-07T09:30:00Z"), HALF_HOUR);
+        List<Instant> slots = timeline.freeSlots(OPENING, CLOSING, HOUR, HALF_HOUR, null);
+        assertThat(slots).containsExactly(Instant.parse("2030-01-07T10:30:00Z"), Instant.parse("2030-01-07T11:00:00Z"));
+    }
+
+    @Test
+    void testMovedBookingFreesItsPreviousSlot() {
+        timeline.put(1L, Instant.parse("2030-01-07T09:00:00Z"), HOUR);
+        timeline.put(1L, Instant.parse("2030-01-07T11:00:00Z"), HOUR);
+        List<Instant> slots = timeline.freeSlots(OPENING, CLOSING, HOUR, HOUR, null);
+        assertThat(timeline.size()).isEqualTo(1);
+        assertThat(slots).containsExactly(Instant.parse("2030-01-07T09:00:00Z"), Instant.parse("2030-01-07T10:00:00Z"));
+    }
+
+    @Test
+    void testRemovedBookingFreesItsSlot() {
+        timeline.put(1L, Instant.parse("2030-01-07T10:00:00Z"), HOUR);
+        assertThat(timeline.remove(1L)).isTrue();
+        assertThat(timeline.remove(1L)).isFalse();
+        assertThat(timeline.freeSlots(OPENING, CLOSING, HOUR, HOUR, null)).hasSize(3);
+    }
+
+    @Test
+    void testSlotsBeforeNotBeforeAreSkipped() {
+        List<Instant> slots = timeline.freeSlots(OPENING, CLOSING, HOUR, HOUR, Instant.parse("2030-01-07T10:15:00Z"));
+        assertThat(slots).containsExactly(Instant.parse("2030-01-07T11:00:00Z"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.mycompany.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SlotLocks} utility class.
+ */
+class SlotLocksTest {
+
+    private static final Instant MONDAY = Instant.parse("2030-01-07T09:00:00Z");
+
+    @Test
+    void testLocksAreReentrantAndReleased() {
+        SlotLocks slotLocks = new SlotLocks(8, 3600);
+        SlotLocks.Held first = slotLocks.lock(1L, MONDAY, MONDAY.plus(Duration.ofHours(5)));
+        SlotLocks.Held second = slotLocks.lock(1L, MONDAY, MONDAY.plus(Duration.ofMinutes(30)));
+        second.release();
+        first.release();
+    }
+
+    @Test
+    void testWindowLongerThanStripeCountTakesEveryStripe() {
+        SlotLocks slotLocks = new SlotLocks(4, 60);
+        SlotLocks.Held held = slotLocks.lock(1L, MONDAY, MONDAY.plus(Duration.ofDays(1)));
+        held.release();
+    }
+
+    @Test
+    void testTryLockGivesUpWithoutHoldingAnyStripe() throws Exception {
+        SlotLocks slotLocks = new SlotLocks(1024, 3600);
+        List<SlotLocks.Window> windows = List.of(
+            new SlotLocks.Window(1L, MONDAY, MONDAY.plus(Duration.ofHours(3))),
+            new SlotLocks.Window(2L, MONDAY, MONDAY.plus(Duration.ofMinutes(30)))
+        );
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            Instant taken = MONDAY.plus(Duration.ofHours(2));
+            SlotLocks.Held held = other.submit(() -> slotLocks.lock(1L, taken, taken.plus(Duration.ofHours(1)))).get();
+
+            assertThat(slotLocks.tryLock(windows, Duration.ofMillis(50))).isNull();
+            // the attempt keeps none of the stripes it got before giving up
+            assertThat(other.submit(() -> locksAndReleases(slotLocks, windows)).get()).isTrue();
+
+            other.submit(held::release).get();
+            held = slotLocks.tryLock(windows, Duration.ofMillis(50));
+            assertThat(held).isNotNull();
+            assertThat(other.submit(() -> locksAndReleases(slotLocks, windows)).get()).isFalse();
+            held.release();
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrentBookingsThroughLocksNeverOverlap() throws Exception {
+        SlotLocks slotLocks = new SlotLocks(1024, 3600);
+        int businesses = 4;
+        int attempts = 200_000;
+        ReservationTimeline[] timelines = new ReservationTimeline[businesses];
+        for (int i = 0; i < businesses; i++) {
+            timelines[i] = new ReservationTimeline();
+        }
+        Duration length = Duration.ofMinutes(30);
+        AtomicInteger accepted = new AtomicInteger();
+        Random random = new Random(7);
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            long reservationId = i;
+            int business = random.nextInt(businesses);
+            Instant start = MONDAY.plus(Duration.ofMinutes(15L * random.nextInt(2000)));
+            tasks.add(() -> {
+                SlotLocks.Held held = slotLocks.lock(business, start, start.plus(length));
+                try {
+                    if (!timelines[business].freeSlots(start, start.plus(length), length, length, null).isEmpty()) {
+                        timelines[business].put(reservationId, start, length);
+                        accepted.incrementAndGet();
+                    }
+                } finally {
+                    held.release();
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        long startNanos = System.nanoTime();
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000d;
+
+        assertThat(attempts / seconds).as("booking attempts per second").isGreaterThan(5_000);
+        int stored = 0;
+        for (ReservationTimeline timeline : timelines) {
+            // a booking overlapping another one would hide a slot that was accepted, so every accepted
+            // booking must leave exactly its own 30 minutes busy
+            stored += timeline.size();
+        }
+        assertThat(stored).isEqualTo(accepted.get());
+        for (int business = 0; business < businesses; business++) {
+            Instant end = MONDAY.plus(Duration.ofMinutes(15L * 2000 + 30));
+            List<Instant> free = timelines[business].freeSlots(MONDAY, end, Duration.ofMinutes(15), Duration.ofMinutes(15), null);
+            long busyQuarters = (Duration.between(MONDAY, end).toMinutes() / 15) - free.size();
+            assertThat(busyQuarters).isEqualTo(2L * timelines[business].size());
+        }
+    }
+
+    private static boolean locksAndReleases(SlotLocks slotLocks, List<SlotLocks.Window> windows) throws InterruptedException {
+        SlotLocks.Held held = slotLocks.tryLock(windows, Duration.ZERO);
+        if (held == null) {
+            return false;
+        }
+        held.release();
+        return true;
+    }
+}
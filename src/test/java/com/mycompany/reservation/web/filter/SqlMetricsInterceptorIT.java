@@ -0,0 +1,77 @@
+package com.mycompany.reservation.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.domain.Business;
+import com.mycompany.reservation.domain.enumeration.BusinessType;
+import com.mycompany.reservation.management.SqlMetersService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link SqlMetricsInterceptor} and {@link ServerTimingAdvice}.
+ */
+@AutoConfigureMockMvc
+@WithMockUser
+@IntegrationTest
+class SqlMetricsInterceptorIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    @Transactional
+    void recordsTheJdbcWorkOfEachRequestByControllerMethod() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Business().name("Metered business " + i).type(BusinessType.HAIRDRESSER));
+        }
+        em.flush();
+        long requestsBefore = statements().map(DistributionSummary::count).orElse(0L);
+
+        mockMvc
+            .perform(get("/api/businesses?size=2&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(SqlMetricsInterceptor.SERVER_TIMING_HEADER, matchesPattern("db;dur=\\d+\\.\\d;desc=\"2 statements, 3 rows\"")));
+
+        DistributionSummary statements = statements().orElseThrow();
+        assertThat(statements.count()).isEqualTo(requestsBefore + 1);
+        assertThat(statements.max()).isGreaterThanOrEqualTo(2);
+        assertThat(
+            meterRegistry
+                .get(SqlMetersService.TIME_METER_NAME)
+                .tag(SqlMetersService.CONTROLLER_DIMENSION, "BusinessResource")
+                .tag(SqlMetersService.METHOD_DIMENSION, "getAllBusinesses")
+                .timer()
+                .count()
+        ).isEqualTo(requestsBefore + 1);
+    }
+
+    private Optional<DistributionSummary> statements() {
+        return Optional.ofNullable(
+            meterRegistry
+                .find(SqlMetersService.STATEMENTS_METER_NAME)
+                .tag(SqlMetersService.CONTROLLER_DIMENSION, "BusinessResource")
+                .tag(SqlMetersService.METHOD_DIMENSION, "getAllBusinesses")
+                .summary()
+        );
+    }
+}
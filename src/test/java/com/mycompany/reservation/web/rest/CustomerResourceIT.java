@@ -2,6 +2,7 @@ package com.mycompany.reservation.web.rest;
 
 import static com.mycompany.reservation.domain.CustomerAsserts.*;
 import static com.mycompany.reservation.web.rest.TestUtil.createUpdateProxyForBean;
+import static com.mycompany.reservation.web.rest.TestUtil.sameInstant;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -9,11 +10,25 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.StatementCounter;
 import com.mycompany.reservation.domain.Customer;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.management.CacheMetersService;
 import com.mycompany.reservation.repository.CustomerRepository;
+import com.mycompany.reservation.repository.ReservationRepository;
+import com.mycompany.reservation.security.AuthoritiesConstants;
+import com.mycompany.reservation.service.CustomerSummaryCache;
+import com.mycompany.reservation.service.ReservationService;
 import com.mycompany.reservation.service.dto.CustomerDTO;
+import com.mycompany.reservation.service.dto.ReservationDTO;
 import com.mycompany.reservation.service.mapper.CustomerMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -23,6 +38,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -72,6 +88,21 @@ class CustomerResourceIT {
     @Autowired
     private MockMvc restCustomerMockMvc;
 
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Customer customer;
 
     private Customer insertedCustomer;
@@ -119,6 +150,101 @@ class CustomerResourceIT {
         }
     }
 
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void getCustomerReservationSummaryInOneStatement() throws Exception {
+        insertedCustomer = customerRepository.saveAndFlush(customer);
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime past = now.minusDays(3).truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime soon = now.plusDays(2).truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime later = now.plusDays(5).truncatedTo(ChronoUnit.SECONDS);
+        reservationRepository.saveAndFlush(new Reservation().date(past).status(ReservationStatus.COMPLETED).customer(insertedCustomer));
+        reservationRepository.saveAndFlush(new Reservation().date(soon).status(ReservationStatus.PENDING).customer(insertedCustomer));
+        reservationRepository.saveAndFlush(new Reservation().date(later).status(ReservationStatus.CONFIRMED).customer(insertedCustomer));
+        reservationRepository.saveAndFlush(new Reservation().date(later).status(ReservationStatus.CONFIRMED).customer(insertedCustomer));
+        em.clear();
+        cacheManager.getCache(CustomerSummaryCache.CACHE_NAME).clear();
+
+        long statements = new StatementCounter(entityManagerFactory).count(() ->
+            restCustomerMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/reservations/summary", insertedCustomer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId").value(insertedCustomer.getId().intValue()))
+                .andExpect(jsonPath("$.customerFullName").value(DEFAULT_FIRST_NAME + " " + DEFAULT_LAST_NAME))
+                .andExpect(jsonPath("$.totalReservations").value(4))
+                .andExpect(jsonPath("$.upcomingReservations").value(3))
+                .andExpect(jsonPath("$.pendingReservations").value(1))
+                .andExpect(jsonPath("$.confirmedReservations").value(2))
+                .andExpect(jsonPath("$.completedReservations").value(1))
+                .andExpect(jsonPath("$.cancelledReservations").value(0))
+                .andExpect(jsonPath("$.lastReservationDate").value(sameInstant(later)))
+                .andExpect(jsonPath("$.nextReservationDate").value(sameInstant(soon)))
+        );
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void getReservationSummaryOfCustomerWithoutReservations() throws Exception {
+        insertedCustomer = customerRepository.saveAndFlush(customer);
+        cacheManager.getCache(CustomerSummaryCache.CACHE_NAME).clear();
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/reservations/summary", insertedCustomer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customerFullName").value(DEFAULT_FIRST_NAME + " " + DEFAULT_LAST_NAME))
+            .andExpect(jsonPath("$.totalReservations").value(0))
+            .andExpect(jsonPath("$.upcomingReservations").value(0))
+            .andExpect(jsonPath("$.lastReservationDate").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void reservationWriteEvictsOnlyTheSummaryOfItsCustomer() throws Exception {
+        insertedCustomer = customerRepository.saveAndFlush(customer);
+        Customer otherCustomer = customerRepository.saveAndFlush(createUpdatedEntity());
+        cacheManager.getCache(CustomerSummaryCache.CACHE_NAME).clear();
+        Counter hits = meterRegistry.get(CacheMetersService.CACHE_GETS_METER_NAME)
+            .tag(CacheMetersService.CACHE_DIMENSION, CustomerSummaryCache.CACHE_NAME)
+            .tag(CacheMetersService.RESULT_DIMENSION, "hit")
+            .counter();
+        Counter misses = meterRegistry.get(CacheMetersService.CACHE_GETS_METER_NAME)
+            .tag(CacheMetersService.CACHE_DIMENSION, CustomerSummaryCache.CACHE_NAME)
+            .tag(CacheMetersService.RESULT_DIMENSION, "miss")
+            .counter();
+        double hitsBefore = hits.count();
+        double missesBefore = misses.count();
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/reservations/summary", insertedCustomer.getId()))
+            .andExpect(jsonPath("$.totalReservations").value(0));
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/reservations/summary", otherCustomer.getId()))
+            .andExpect(jsonPath("$.totalReservations").value(0));
+
+        ReservationDTO reservation = new ReservationDTO();
+        reservation.setDate(ZonedDateTime.now().plusDays(1));
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setCustomer(customerMapper.toDto(insertedCustomer));
+        reservationService.save(reservation);
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/reservations/summary", insertedCustomer.getId()))
+            .andExpect(jsonPath("$.totalReservations").value(1));
+        long statements = new StatementCounter(entityManagerFactory).count(() ->
+            restCustomerMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/reservations/summary", otherCustomer.getId()))
+                .andExpect(jsonPath("$.totalReservations").value(0))
+        );
+
+        assertThat(statements).isZero();
+        assertThat(misses.count() - missesBefore).isEqualTo(3);
+        assertThat(hits.count() - hitsBefore).isEqualTo(1);
+    }
+
     @Test
     @Transactional
     void createCustomer() throws Exception {
@@ -0,0 +1,297 @@
+package com.mycompany.reservation.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.domain.FinanceDocument;
+import com.mycompany.reservation.domain.FinanceDocumentBlob;
+import com.mycompany.reservation.repository.FinanceDocumentBlobRepository;
+import com.mycompany.reservation.security.AuthoritiesConstants;
+import com.mycompany.reservation.service.BlobStore;
+import com.mycompany.reservation.service.ContentHash;
+import com.mycompany.reservation.service.dto.FinanceDocumentDTO;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link FinanceDocumentResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class FinanceDocumentResourceIT {
+
+    private static final byte[] CONTENT = "%PDF-1.4 invoice".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String ETAG = "\"" + ContentHash.sha256Hex(CONTENT) + "\"";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private FinanceDocumentBlobRepository financeDocumentBlobRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private MockMvc restFinanceDocumentMockMvc;
+
+    @Test
+    void downloadFinanceDocument() throws Exception {
+        Long id = upload();
+
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/pdf"))
+            .andExpect(content().bytes(CONTENT))
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void downloadFinanceDocumentRevalidated() throws Exception {
+        Long id = upload();
+        String lastModified = restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LAST_MODIFIED);
+
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(content().bytes(new byte[0]));
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id).header(HttpHeaders.IF_NONE_MATCH, "W/" + ETAG))
+            .andExpect(status().isNotModified());
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void downloadChangedFinanceDocument() throws Exception {
+        Long id = upload();
+
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(CONTENT));
+        restFinanceDocumentMockMvc
+            .perform(
+                get("/api/finance-documents/{id}/download", id).header(HttpHeaders.IF_MODIFIED_SINCE, "Sat, 01 Jan 2000 00:00:00 GMT")
+            )
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void downloadFinanceDocumentRange() throws Exception {
+        Long id = upload();
+
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id).header(HttpHeaders.RANGE, "bytes=5-8"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-8/" + CONTENT.length))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 5, 9)));
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id).header(HttpHeaders.RANGE, "bytes=1000-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void migrateFinanceDocumentToBlobStore() throws Exception {
+        Number id = (Number) em
+            .createNativeQuery(
+                "insert into finance_document (id, file_name, content_type, file_size, data, content_sha256, uploaded_at) " +
+                "values (nextval('sequence_generator'), 'legacy.pdf', 'application/pdf', :size, lo_from_bytea(0, :data), :sha256, now()) " +
+                "returning id"
+            )
+            .setParameter("size", CONTENT.length)
+            .setParameter("data", CONTENT)
+            .setParameter("sha256", ContentHash.sha256Hex(CONTENT))
+            .getSingleResult();
+        Number oid = (Number) em
+            .createNativeQuery("select data from finance_document where id = :id")
+            .setParameter("id", id)
+            .getSingleResult();
+
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(CONTENT));
+
+        restFinanceDocumentMockMvc.perform(post("/api/finance-documents/blobs/migrate")).andExpect(status().isOk());
+
+        em.clear();
+        assertThat(em.find(FinanceDocument.class, id.longValue()).getBlobKey()).isNotNull();
+        assertThat(
+            em
+                .createNativeQuery("select count(*) from pg_largeobject_metadata where oid = :oid")
+                .setParameter("oid", oid.longValue())
+                .getSingleResult()
+        ).isEqualTo(0L);
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id).header(HttpHeaders.RANGE, "bytes=0-3"))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().bytes(Arrays.copyOf(CONTENT, 4)));
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void migrateDeletesOrphanBlobs() throws Exception {
+        String orphan = blobStore.store(new ByteArrayInputStream(CONTENT)).key();
+        String referenced = em.find(FinanceDocument.class, upload()).getBlobKey();
+        for (String key : new String[] { orphan, referenced }) {
+            em
+                .createNativeQuery("insert into finance_document_orphan_blob (blob_key) values (:key)")
+                .setParameter("key", key)
+                .executeUpdate();
+        }
+
+        restFinanceDocumentMockMvc.perform(post("/api/finance-documents/blobs/migrate")).andExpect(status().isOk());
+
+        assertThatThrownBy(() -> blobStore.get(orphan)).isInstanceOf(IOException.class);
+        assertThat(blobStore.get(referenced).getContentAsByteArray()).isNotEmpty();
+        assertThat(financeDocumentBlobRepository.findOrphanKeys(10)).doesNotContain(orphan, referenced);
+    }
+
+    @Test
+    void migrateFinanceDocumentToBlobStoreForbidden() throws Exception {
+        restFinanceDocumentMockMvc.perform(post("/api/finance-documents/blobs/migrate")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void downloadCompressedFinanceDocument() throws Exception {
+        Long id = upload();
+        assertThat(em.find(FinanceDocument.class, id).getContentEncoding()).isEqualTo("gzip");
+        String etag = "\"" + ContentHash.sha256Hex(CONTENT) + "-gzip\"";
+
+        byte[] compressed = restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id).header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+        }
+
+        restFinanceDocumentMockMvc
+            .perform(
+                get("/api/finance-documents/{id}/download", id)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .header(HttpHeaders.IF_NONE_MATCH, etag)
+            )
+            .andExpect(status().isNotModified());
+        restFinanceDocumentMockMvc
+            .perform(
+                get("/api/finance-documents/{id}/download", id)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *")
+                    .header(HttpHeaders.IF_NONE_MATCH, etag)
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void uploadCompressedContentStoresItAsIs() throws Exception {
+        byte[] png = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3 };
+        byte[] response = restFinanceDocumentMockMvc
+            .perform(multipart("/api/finance-documents").file(new MockMultipartFile("file", "receipt.png", "image/png", png)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        Long id = om.readValue(response, FinanceDocumentDTO.class).getId();
+
+        assertThat(em.find(FinanceDocument.class, id).getContentEncoding()).isEqualTo("identity");
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", id).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(content().bytes(png));
+    }
+
+    @Test
+    void uploadSameContentStoresItOnce() throws Exception {
+        Long first = upload();
+        Long second = upload();
+
+        String blobKey = em.find(FinanceDocument.class, first).getBlobKey();
+        assertThat(em.find(FinanceDocument.class, second).getBlobKey()).isEqualTo(blobKey);
+        FinanceDocumentBlob blob = financeDocumentBlobRepository.findById(ContentHash.sha256Hex(CONTENT)).orElseThrow();
+        assertThat(blob.getBlobKey()).isEqualTo(blobKey);
+        assertThat(blob.getRefCount()).isEqualTo(2);
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", second))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void deleteReleasesSharedContent() throws Exception {
+        Long first = upload();
+        Long second = upload();
+
+        restFinanceDocumentMockMvc.perform(delete("/api/finance-documents/{id}", first)).andExpect(status().isNoContent());
+        em.flush();
+        em.clear();
+        assertThat(financeDocumentBlobRepository.findById(ContentHash.sha256Hex(CONTENT))).get().extracting("refCount").isEqualTo(1);
+        restFinanceDocumentMockMvc
+            .perform(get("/api/finance-documents/{id}/download", second))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(CONTENT));
+
+        restFinanceDocumentMockMvc.perform(delete("/api/finance-documents/{id}", second)).andExpect(status().isNoContent());
+        em.flush();
+        em.clear();
+        assertThat(financeDocumentBlobRepository.findById(ContentHash.sha256Hex(CONTENT))).isEmpty();
+    }
+
+    @Test
+    void downloadMissingFinanceDocument() throws Exception {
+        restFinanceDocumentMockMvc.perform(get("/api/finance-documents/{id}/download", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private Long upload() throws Exception {
+        byte[] response = restFinanceDocumentMockMvc
+            .perform(multipart("/api/finance-documents").file(new MockMultipartFile("file", "invoice.pdf", "application/pdf", CONTENT)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        return om.readValue(response, FinanceDocumentDTO.class).getId();
+    }
+}
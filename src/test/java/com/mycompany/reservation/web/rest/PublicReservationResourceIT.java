@@ -0,0 +1,228 @@
+package com.mycompany.reservation.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.domain.Business;
+import com.mycompany.reservation.domain.OfferedService;
+import com.mycompany.reservation.domain.Reservation;
+import com.mycompany.reservation.domain.enumeration.BusinessType;
+import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.repository.BusinessRepository;
+import com.mycompany.reservation.repository.CustomerRepository;
+import com.mycompany.reservation.repository.OfferedServiceRepository;
+import com.mycompany.reservation.repository.ReservationRepository;
+import com.mycompany.reservation.security.AuthoritiesConstants;
+import com.mycompany.reservation.service.ReservationSpecifications;
+import com.mycompany.reservation.service.dto.AvailableSlotDTO;
+import com.mycompany.reservation.service.dto.GuestReservationRequest;
+import com.mycompany.reservation.service.dto.ReservationBatchRequestDTO;
+import com.mycompany.reservation.service.dto.ReservationDTO;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Integration tests for the {@link PublicReservationResource} REST controller.
+ * <p>
+ * Not transactional: the availability timelines only change once a booking commits.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithUnauthenticatedMockUser
+class PublicReservationResourceIT {
+
+    private static final String AVAILABILITY_API_URL = "/api/public/availability";
+
+    private static final String RESERVATIONS_API_URL = "/api/public/reservations";
+
+    // 09:00 to 18:00 in 15 minute steps, the last 30 minute slot starting at 17:30
+    private static final int SLOTS_OF_A_FREE_DAY = 35;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private OfferedServiceRepository offeredServiceRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MockMvc restPublicReservationMockMvc;
+
+    private Business business;
+
+    private OfferedService offeredService;
+
+    private LocalDate day;
+
+    @BeforeEach
+    void initTest() {
+        business = businessRepository.saveAndFlush(new Business().name("Availability business").type(BusinessType.HAIRDRESSER));
+        offeredService = offeredServiceRepository.saveAndFlush(new OfferedService().name("Haircut").duration(30).business(business));
+        day = LocalDate.now().plusDays(7);
+    }
+
+    @AfterEach
+    void cleanup() {
+        List<Reservation> reservations = reservationRepository.findAll(ReservationSpecifications.belongsToBusiness(business.getId()));
+        reservationRepository.deleteAll(reservations);
+        reservations
+            .stream()
+            .filter(reservation -> reservation.getCustomer() != null)
+            .forEach(reservation -> customerRepository.deleteById(reservation.getCustomer().getId()));
+        offeredServiceRepository.delete(offeredService);
+        businessRepository.delete(business);
+    }
+
+    @Test
+    void getAvailabilityWithoutAuthentication() throws Exception {
+        List<Instant> starts = availableStarts();
+
+        assertThat(starts).hasSize(SLOTS_OF_A_FREE_DAY);
+        assertThat(starts.get(0)).isEqualTo(at(9, 0));
+        assertThat(starts.get(starts.size() - 1)).isEqualTo(at(17, 30));
+    }
+
+    @Test
+    void getAvailabilityLoadsStoredReservations() throws Exception {
+        // stored behind the engine's back, before the first lookup of the business loads its timeline
+        reservationRepository.saveAndFlush(
+            new Reservation()
+                .date(at(10, 0).atZone(ZoneId.systemDefault()))
+                .endDate(at(11, 0).atZone(ZoneId.systemDefault()))
+                .status(ReservationStatus.CONFIRMED)
+                .service(offeredService)
+                .business(business)
+        );
+
+        List<Instant> starts = availableStarts();
+
+        assertThat(starts)
+            .hasSize(SLOTS_OF_A_FREE_DAY - 5)
+            .doesNotContain(at(9, 45), at(10, 0), at(10, 30))
+            .contains(at(9, 30), at(11, 0));
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void getAvailabilityAfterBookingAndCancellation() throws Exception {
+        assertThat(availableStarts()).hasSize(SLOTS_OF_A_FREE_DAY);
+
+        byte[] booking = om.writeValueAsBytes(guestRequest(at(10, 0)));
+        ReservationDTO reservation = om.readValue(
+            restPublicReservationMockMvc
+                .perform(post(RESERVATIONS_API_URL).contentType(MediaType.APPLICATION_JSON).content(booking))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray(),
+            ReservationDTO.class
+        );
+
+        assertThat(availableStarts()).hasSize(SLOTS_OF_A_FREE_DAY - 3).doesNotContain(at(9, 45), at(10, 0), at(10, 15));
+
+        ReservationBatchRequestDTO cancel = new ReservationBatchRequestDTO();
+        cancel.setIds(List.of(reservation.getId()));
+        restPublicReservationMockMvc
+            .perform(post("/api/reservations/cancel-batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cancel)))
+            .andExpect(status().isOk());
+
+        assertThat(availableStarts()).hasSize(SLOTS_OF_A_FREE_DAY).contains(at(10, 0));
+    }
+
+    @Test
+    void getAvailabilityOfServiceNotOfferedByBusiness() throws Exception {
+        Business otherBusiness = businessRepository.saveAndFlush(new Business().name("Other business").type(BusinessType.HAIRDRESSER));
+        try {
+            restPublicReservationMockMvc
+                .perform(getAvailability(otherBusiness.getId().toString(), offeredService.getId().toString(), day.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+        } finally {
+            businessRepository.delete(otherBusiness);
+        }
+    }
+
+    @Test
+    void getAvailabilityOfUnknownService() throws Exception {
+        restPublicReservationMockMvc
+            .perform(getAvailability(business.getId().toString(), Long.toString(Long.MAX_VALUE), day.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void getAvailabilityWithInvalidParameters() throws Exception {
+        String businessId = business.getId().toString();
+        String serviceId = offeredService.getId().toString();
+
+        restPublicReservationMockMvc
+            .perform(get(AVAILABILITY_API_URL).param("businessId", businessId).param("serviceId", serviceId))
+            .andExpect(status().isBadRequest());
+        restPublicReservationMockMvc
+            .perform(get(AVAILABILITY_API_URL).param("serviceId", serviceId).param("date", day.toString()))
+            .andExpect(status().isBadRequest());
+        restPublicReservationMockMvc
+            .perform(getAvailability(businessId, serviceId, "31/12/2030"))
+            .andExpect(status().isBadRequest());
+        restPublicReservationMockMvc.perform(getAvailability("first", serviceId, day.toString())).andExpect(status().isBadRequest());
+    }
+
+    private List<Instant> availableStarts() throws Exception {
+        byte[] body = restPublicReservationMockMvc
+            .perform(getAvailability(business.getId().toString(), offeredService.getId().toString(), day.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        return Arrays.stream(om.readValue(body, AvailableSlotDTO[].class)).map(slot -> slot.getStart().toInstant()).toList();
+    }
+
+    private static MockHttpServletRequestBuilder getAvailability(String businessId, String serviceId, String date) {
+        return get(AVAILABILITY_API_URL).param("businessId", businessId).param("serviceId", serviceId).param("date", date);
+    }
+
+    private GuestReservationRequest guestRequest(Instant start) {
+        GuestReservationRequest request = new GuestReservationRequest();
+        request.setFirstName("Guest");
+        request.setLastName("Availability");
+        request.setEmail("availability-guest@example.com");
+        request.setPhone("5550000000");
+        request.setReservationDate(ZonedDateTime.ofInstant(start, ZoneId.systemDefault()));
+        request.setOfferedServiceId(offeredService.getId());
+        request.setBusinessId(business.getId());
+        return request;
+    }
+
+    /**
+     * A time of the tested day, in the availability time zone: the JVM default, as the tests do not set one.
+     */
+    private Instant at(int hour, int minute) {
+        return day.atTime(LocalTime.of(hour, minute)).atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -4,25 +4,40 @@ import static com.mycompany.reservation.domain.ReservationAsserts.*;
 import static com.mycompany.reservation.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.mycompany.reservation.web.rest.TestUtil.sameInstant;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.StatementCounter;
+import com.mycompany.reservation.domain.Business;
+import com.mycompany.reservation.domain.Customer;
 import com.mycompany.reservation.domain.Reservation;
 import com.mycompany.reservation.domain.User;
+import com.mycompany.reservation.domain.enumeration.BusinessType;
 import com.mycompany.reservation.domain.enumeration.ReservationStatus;
+import com.mycompany.reservation.repository.BusinessRepository;
 import com.mycompany.reservation.repository.ReservationRepository;
 import com.mycompany.reservation.repository.UserRepository;
 import com.mycompany.reservation.security.AuthoritiesConstants;
+import com.mycompany.reservation.service.ReservationExportService;
+import com.mycompany.reservation.service.ReservationImportService;
+import com.mycompany.reservation.service.ReservationSpecifications;
+import com.mycompany.reservation.service.dto.ReservationBatchRequestDTO;
 import com.mycompany.reservation.service.dto.ReservationDTO;
 import com.mycompany.reservation.service.mapper.ReservationMapper;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -30,9 +45,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -67,12 +85,18 @@ class ReservationResourceIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BusinessRepository businessRepository;
+
     @Autowired
     private ReservationMapper reservationMapper;
 
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private MockMvc restReservationMockMvc;
 
@@ -227,6 +251,394 @@ class ReservationResourceIT {
             .andExpect(jsonPath("$.[*].userId").value(hasItem(testUser.getId().intValue())));
     }
 
+    @Test
+    @Transactional
+    void listingReservationsDoesNotLoadAssociationsPerRow() throws Exception {
+        // Initialize the database with a page of reservations, each with its own customer
+        ZonedDateTime date = ZonedDateTime.of(2099, 4, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < 100; i++) {
+            Customer customer = new Customer()
+                .firstName("Listed")
+                .lastName("Customer " + i)
+                .email("listed-" + i + "@example.com")
+                .phone("5550000000");
+            em.persist(customer);
+            em.persist(createEntity(testUser).date(date.plusMinutes(i)).customer(customer));
+        }
+        em.flush();
+        em.clear();
+        entityManagerFactory.getCache().evictAll();
+        String window = "&start=" + date.minusMinutes(1) + "&end=" + date.plusDays(1);
+        StatementCounter counter = new StatementCounter(entityManagerFactory);
+
+        // the page and its count
+        long pageStatements = counter.count(() ->
+            restReservationMockMvc
+                .perform(get(ENTITY_API_URL + "?size=100&sort=id,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(100))
+                .andExpect(jsonPath("$.[0].customer.firstName").value("Listed"))
+                .andExpect(jsonPath("$.[0].userLogin").value(testUser.getLogin()))
+        );
+        assertThat(pageStatements).isLessThanOrEqualTo(2);
+
+        // the requests share the test transaction, so drop what the previous one loaded
+        em.clear();
+        long windowStatements = counter.count(() ->
+            restReservationMockMvc
+                .perform(get(ENTITY_API_URL + "?cursor=&size=100" + window))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(100))
+                .andExpect(jsonPath("$.[99].customer.email").value("listed-99@example.com"))
+        );
+        assertThat(windowStatements).isEqualTo(1);
+
+        em.clear();
+        long upcomingStatements = counter.count(() ->
+            restReservationMockMvc.perform(get(ENTITY_API_URL + "/upcoming?size=100")).andExpect(status().isOk())
+        );
+        assertThat(upcomingStatements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    void getAllReservationsByCursor() throws Exception {
+        // Initialize the database with reservations sharing a date, so the id breaks the tie
+        ZonedDateTime date = ZonedDateTime.of(2099, 3, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        Reservation first = reservationRepository.saveAndFlush(createEntity(testUser).date(date));
+        Reservation second = reservationRepository.saveAndFlush(createEntity(testUser).date(date));
+        Reservation third = reservationRepository.saveAndFlush(createEntity(testUser).date(date.plusHours(1)));
+        String window = "&start=" + date.minusMinutes(1) + "&end=" + date.plusHours(2);
+
+        String nextCursor = restReservationMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&size=2" + window))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Next-Cursor");
+        assertThat(nextCursor).isNotBlank();
+
+        restReservationMockMvc
+            .perform(get(ENTITY_API_URL + "?size=2" + window).param("cursor", nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllReservationsWithInvalidCursor() throws Exception {
+        restReservationMockMvc.perform(get(ENTITY_API_URL + "?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportReservationsAsCsv() throws Exception {
+        // Not transactional: the export runs on an async thread and only sees committed rows
+        ZonedDateTime date = ZonedDateTime.of(2099, 4, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        List<Reservation> reservations = reservationRepository.saveAllAndFlush(
+            List.of(
+                createEntity(testUser).date(date.plusHours(1)).notes("second, with \"quotes\""),
+                createEntity(testUser).date(date).notes("first")
+            )
+        );
+        try {
+            MvcResult result = restReservationMockMvc
+                .perform(get(ENTITY_API_URL + "/export?start=" + date + "&end=" + date.plusHours(2)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            String csv = restReservationMockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("reservations.csv")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+            String[] lines = csv.split("\r\n");
+            assertThat(lines).hasSize(3);
+            assertThat(lines[0]).startsWith("id,date,endDate,status,");
+            assertThat(lines[1]).startsWith(reservations.get(1).getId() + ",").endsWith(",first");
+            assertThat(lines[2]).startsWith(reservations.get(0).getId() + ",").endsWith(",\"second, with \"\"quotes\"\"\"");
+        } finally {
+            reservationRepository.deleteAll(reservations);
+        }
+    }
+
+    @Test
+    void exportReservationsAsNdjson() throws Exception {
+        // More rows than the export fetch size, so the persistence context gets cleared while streaming
+        ZonedDateTime date = ZonedDateTime.of(2099, 5, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        List<Reservation> toSave = new ArrayList<>();
+        for (int i = 0; i < ReservationExportService.FETCH_SIZE + 100; i++) {
+            toSave.add(createEntity(testUser).date(date.plusMinutes(i)));
+        }
+        List<Reservation> reservations = reservationRepository.saveAllAndFlush(toSave);
+        try {
+            MvcResult result = restReservationMockMvc
+                .perform(get(ENTITY_API_URL + "/export?format=ndjson&start=" + date + "&end=" + date.plusDays(1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            String ndjson = restReservationMockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+            String[] lines = ndjson.split("\n");
+            assertThat(lines).hasSize(reservations.size());
+            for (int i = 0; i < lines.length; i++) {
+                ReservationDTO exported = om.readValue(lines[i], ReservationDTO.class);
+                assertThat(exported.getId()).isEqualTo(reservations.get(i).getId());
+                assertThat(exported.getUserLogin()).isEqualTo(testUser.getLogin());
+            }
+        } finally {
+            reservationRepository.deleteAll(reservations);
+        }
+    }
+
+    @Test
+    void exportReservationsWithUnknownFormat() throws Exception {
+        restReservationMockMvc.perform(get(ENTITY_API_URL + "/export?format=xlsx")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importReservationsFromJson() throws Exception {
+        // Not transactional: every chunk of the import commits on its own
+        ZonedDateTime date = ZonedDateTime.of(2099, 6, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        String body =
+            "[" +
+            "{\"date\":\"" + date + "\",\"status\":\"COMPLETED\",\"userId\":" + testUser.getId() + "}," +
+            "{\"date\":\"not a date\",\"status\":\"COMPLETED\"}," +
+            "{\"date\":\"" + date.plusHours(1) + "\",\"status\":\"COMPLETED\",\"customerId\":" + Long.MAX_VALUE + "}," +
+            "{\"status\":\"COMPLETED\"}," +
+            "{\"date\":\"" + date.plusHours(2) + "\",\"status\":\"CANCELLED\",\"notes\":\"imported\"}" +
+            "]";
+        try {
+            restReservationMockMvc
+                .perform(post(ENTITY_API_URL + "/import").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(5))
+                .andExpect(jsonPath("$.importedRows").value(2))
+                .andExpect(jsonPath("$.failedRows").value(3))
+                .andExpect(jsonPath("$.errors.[*].row").value(contains(2, 3, 4)));
+
+            List<Reservation> imported = reservationsBetween(date, date.plusHours(3));
+            assertThat(imported).extracting(Reservation::getStatus).containsExactly(ReservationStatus.COMPLETED, ReservationStatus.CANCELLED);
+            assertThat(imported.get(1).getNotes()).isEqualTo("imported");
+        } finally {
+            reservationRepository.deleteAll(reservationsBetween(date, date.plusHours(3)));
+        }
+    }
+
+    @Test
+    void importReservationsFromCsv() throws Exception {
+        ZonedDateTime date = ZonedDateTime.of(2099, 7, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        StringBuilder csv = new StringBuilder("id,date,status,notes,userId\r\n");
+        int rows = ReservationImportService.CHUNK_SIZE + 10;
+        for (int i = 0; i < rows; i++) {
+            csv.append(i).append(',').append(date.plusMinutes(i)).append(",COMPLETED,\"row, ").append(i).append("\",");
+            csv.append(testUser.getId()).append("\r\n");
+        }
+        csv.append("x,").append(date).append(",UNKNOWN,,\r\n");
+        try {
+            restReservationMockMvc
+                .perform(post(ENTITY_API_URL + "/import").contentType("text/csv").content(csv.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(rows + 1))
+                .andExpect(jsonPath("$.importedRows").value(rows))
+                .andExpect(jsonPath("$.failedRows").value(1))
+                .andExpect(jsonPath("$.errors.[0].row").value(rows + 1));
+
+            List<Reservation> imported = reservationsBetween(date, date.plusDays(1));
+            assertThat(imported).hasSize(rows);
+            assertThat(imported.get(0).getNotes()).isEqualTo("row, 0");
+        } finally {
+            reservationRepository.deleteAll(reservationsBetween(date, date.plusDays(1)));
+        }
+    }
+
+    @Test
+    void importBlockingReservationsRejectsTakenSlots() throws Exception {
+        Business business = businessRepository.saveAndFlush(new Business().name("Import business").type(BusinessType.HAIRDRESSER));
+        ZonedDateTime date = ZonedDateTime.of(2099, 8, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        reservationRepository.saveAndFlush(
+            createEntity(testUser).date(date).endDate(date.plusMinutes(30)).status(ReservationStatus.CONFIRMED).business(business)
+        );
+        StringBuilder csv = new StringBuilder("date,status,businessId\r\n");
+        csv.append(date.plusMinutes(15)).append(",PENDING,").append(business.getId()).append("\r\n");
+        csv.append(date.plusMinutes(60)).append(",CONFIRMED,").append(business.getId()).append("\r\n");
+        csv.append(date.plusMinutes(75)).append(",PENDING,").append(business.getId()).append("\r\n");
+        csv.append(date.plusMinutes(90)).append(",CONFIRMED,").append(business.getId()).append("\r\n");
+        csv.append(date.plusMinutes(15)).append(",CANCELLED,").append(business.getId()).append("\r\n");
+        int rows = ReservationImportService.CHUNK_SIZE + 10;
+        for (int i = 5; i < rows; i++) {
+            csv.append(date.plusDays(1).plusMinutes(30L * i)).append(",CONFIRMED,").append(business.getId()).append("\r\n");
+        }
+        try {
+            // the slots of a chunk are checked with one query and its rows inserted in JDBC batches, not one by one
+            long statements = new StatementCounter(entityManagerFactory).count(() ->
+                restReservationMockMvc
+                    .perform(post(ENTITY_API_URL + "/import").contentType("text/csv").content(csv.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalRows").value(rows))
+                    .andExpect(jsonPath("$.importedRows").value(rows - 2))
+                    .andExpect(jsonPath("$.failedRows").value(2))
+                    .andExpect(jsonPath("$.errors.[*].row").value(contains(1, 3)))
+            );
+            assertThat(statements).isLessThan(rows / 5);
+
+            assertThat(reservationsBetween(date, date.plusHours(3)))
+                .extracting(Reservation::getStatus)
+                .containsExactly(
+                    ReservationStatus.CONFIRMED,
+                    ReservationStatus.CANCELLED,
+                    ReservationStatus.CONFIRMED,
+                    ReservationStatus.CONFIRMED
+                );
+        } finally {
+            reservationRepository.deleteAll(reservationsBetween(date, date.plusDays(30)));
+            businessRepository.delete(business);
+        }
+    }
+
+    @Test
+    void importReservationsFromMalformedCsv() throws Exception {
+        ZonedDateTime date = ZonedDateTime.of(2099, 10, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        String csv =
+            "date,status,notes\r\n" +
+            date + ",COMPLETED,first\r\n" +
+            date.plusHours(1) + ",COMPLETED,second\r\n" +
+            date.plusHours(2) + ",COMPLETED,\"never closed\r\n";
+        try {
+            restReservationMockMvc
+                .perform(post(ENTITY_API_URL + "/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(3))
+                .andExpect(jsonPath("$.importedRows").value(2))
+                .andExpect(jsonPath("$.failedRows").value(1))
+                .andExpect(jsonPath("$.errors.[0].row").value(3))
+                .andExpect(jsonPath("$.errors.[0].message").value(containsString("Geçersiz CSV")));
+
+            assertThat(reservationsBetween(date, date.plusHours(3))).extracting(Reservation::getNotes).containsExactly("first", "second");
+        } finally {
+            reservationRepository.deleteAll(reservationsBetween(date, date.plusHours(3)));
+        }
+    }
+
+    @Test
+    void importReservationsFromCsvWithoutRequiredColumns() throws Exception {
+        restReservationMockMvc
+            .perform(post(ENTITY_API_URL + "/import").contentType("text/csv").content("notes\r\nhello\r\n"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void approveReservationsInBatch() throws Exception {
+        Reservation pending = reservationRepository.saveAndFlush(createEntity(testUser).status(ReservationStatus.PENDING));
+        Reservation cancelled = reservationRepository.saveAndFlush(createEntity(testUser).status(ReservationStatus.CANCELLED));
+        ReservationBatchRequestDTO request = new ReservationBatchRequestDTO();
+        request.setIds(List.of(pending.getId(), cancelled.getId(), Long.MAX_VALUE, pending.getId()));
+
+        restReservationMockMvc
+            .perform(post(ENTITY_API_URL + "/approve-batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated").value(1))
+            .andExpect(jsonPath("$.items.length()").value(3))
+            .andExpect(jsonPath("$.items.[0].id").value(pending.getId().intValue()))
+            .andExpect(jsonPath("$.items.[0].outcome").value("UPDATED"))
+            .andExpect(jsonPath("$.items.[1].outcome").value("INVALID_STATUS"))
+            .andExpect(jsonPath("$.items.[2].outcome").value("NOT_FOUND"));
+
+        assertThat(reservationRepository.findById(pending.getId()).orElseThrow().getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        assertThat(reservationRepository.findById(cancelled.getId()).orElseThrow().getStatus()).isEqualTo(ReservationStatus.CANCELLED);
+    }
+
+    @Test
+    @Transactional
+    void cancelReservationsInBatch() throws Exception {
+        Reservation confirmed = reservationRepository.saveAndFlush(createEntity(testUser).status(ReservationStatus.CONFIRMED));
+        Reservation completed = reservationRepository.saveAndFlush(createEntity(testUser).status(ReservationStatus.COMPLETED));
+        ReservationBatchRequestDTO request = new ReservationBatchRequestDTO();
+        request.setIds(List.of(confirmed.getId(), completed.getId()));
+
+        restReservationMockMvc
+            .perform(post(ENTITY_API_URL + "/cancel-batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated").value(1))
+            .andExpect(jsonPath("$.items.[0].outcome").value("UPDATED"))
+            .andExpect(jsonPath("$.items.[1].outcome").value("INVALID_STATUS"));
+
+        assertThat(reservationRepository.findById(confirmed.getId()).orElseThrow().getStatus()).isEqualTo(ReservationStatus.CANCELLED);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(username = "batch-outsider", authorities = AuthoritiesConstants.USER)
+    void cancelReservationsOfAnotherUserInBatch() throws Exception {
+        Reservation confirmed = reservationRepository.saveAndFlush(createEntity(testUser).status(ReservationStatus.CONFIRMED));
+        ReservationBatchRequestDTO request = new ReservationBatchRequestDTO();
+        request.setIds(List.of(confirmed.getId()));
+
+        restReservationMockMvc
+            .perform(post(ENTITY_API_URL + "/cancel-batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated").value(0))
+            .andExpect(jsonPath("$.items.[0].outcome").value("FORBIDDEN"));
+
+        assertThat(reservationRepository.findById(confirmed.getId()).orElseThrow().getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+    }
+
+    @Test
+    @Transactional
+    void approveReservationsInBatchWithoutIds() throws Exception {
+        restReservationMockMvc
+            .perform(post(ENTITY_API_URL + "/approve-batch").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[]}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getReservationReportOfBusiness() throws Exception {
+        Business business = new Business().name("Report business").type(BusinessType.HAIRDRESSER);
+        em.persist(business);
+        ZonedDateTime day = LocalDate.of(2032, 6, 1).atStartOfDay(ZoneOffset.UTC);
+        ReservationStatus[] statuses = {
+            ReservationStatus.CONFIRMED,
+            ReservationStatus.PENDING,
+            ReservationStatus.CONFIRMED,
+            ReservationStatus.CANCELLED,
+        };
+        for (int i = 0; i < statuses.length; i++) {
+            reservationRepository.saveAndFlush(createEntity(testUser).date(day.plusDays(i).plusHours(8 + i)).status(statuses[i]).business(business));
+        }
+
+        restReservationMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/report")
+                    .param("businessId", business.getId().toString())
+                    .param("start", day.plusHours(12).toString())
+                    .param("end", day.plusDays(3).plusHours(12).toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalReservations").value(3))
+            .andExpect(jsonPath("$.upcomingReservations").value(2))
+            .andExpect(jsonPath("$.statusCounts.PENDING").value(1))
+            .andExpect(jsonPath("$.statusCounts.CONFIRMED").value(1))
+            .andExpect(jsonPath("$.statusCounts.CANCELLED").value(1))
+            .andExpect(jsonPath("$.distinctCustomers").value(0))
+            .andExpect(jsonPath("$.distinctCustomersExact").value(false))
+            .andExpect(jsonPath("$.distinctBusinesses").value(1));
+    }
+
     @Test
     @Transactional
     void getReservation() throws Exception {
@@ -507,4 +919,11 @@ class ReservationResourceIT {
     protected void assertPersistedReservationToMatchUpdatableProperties(Reservation expectedReservation) {
         assertReservationAllUpdatablePropertiesEquals(expectedReservation, getPersistedReservation(expectedReservation));
     }
+
+    private List<Reservation> reservationsBetween(ZonedDateTime start, ZonedDateTime end) {
+        return reservationRepository.findAll(
+            ReservationSpecifications.startsAfter(start).and(ReservationSpecifications.endsBefore(end)),
+            Sort.by("date")
+        );
+    }
 }
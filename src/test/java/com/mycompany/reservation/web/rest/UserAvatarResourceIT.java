@@ -0,0 +1,320 @@
+package com.mycompany.reservation.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.mycompany.reservation.IntegrationTest;
+import com.mycompany.reservation.StatementCounter;
+import com.mycompany.reservation.domain.User;
+import com.mycompany.reservation.domain.UserAvatar;
+import com.mycompany.reservation.repository.UserAvatarRepository;
+import com.mycompany.reservation.repository.UserAvatarVariantRepository;
+import com.mycompany.reservation.repository.UserRepository;
+import com.mycompany.reservation.security.AuthoritiesConstants;
+import com.mycompany.reservation.service.AvatarVariantService;
+import com.mycompany.reservation.service.ContentHash;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link UserAvatarResource} REST controller.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@IntegrationTest
+@Transactional
+class UserAvatarResourceIT {
+
+    private static final byte[] IMAGE = { (byte) 0x89, 'P', 'N', 'G', 1, 2, 3 };
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserAvatarRepository userAvatarRepository;
+
+    @Autowired
+    private UserAvatarVariantRepository userAvatarVariantRepository;
+
+    @Autowired
+    private AvatarVariantService avatarVariantService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc restUserAvatarMockMvc;
+
+    private User user;
+
+    @BeforeEach
+    void initTest() {
+        user = userRepository.saveAndFlush(UserResourceIT.initTestUser());
+    }
+
+    @Test
+    void uploadAndGetAvatar() throws Exception {
+        restUserAvatarMockMvc
+            .perform(multipart("/api/admin/users/{login}/avatar", user.getLogin()).file(image("image/png", IMAGE)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imageUrl").value("/users/" + user.getLogin() + "/avatar"));
+
+        restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar", user.getLogin()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/png"))
+            .andExpect(content().bytes(IMAGE));
+
+        UserAvatar avatar = userAvatarRepository.findById(user.getId()).orElseThrow();
+        assertThat(avatar.getData()).isEqualTo(IMAGE);
+        assertThat(avatar.getUploadedAt()).isNotNull();
+    }
+
+    @Test
+    void getAvatarRevalidated() throws Exception {
+        restUserAvatarMockMvc
+            .perform(multipart("/api/admin/users/{login}/avatar", user.getLogin()).file(image("image/png", IMAGE)))
+            .andExpect(status().isOk());
+        String etag = "\"" + ContentHash.sha256Hex(IMAGE) + "\"";
+
+        String lastModified = restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar", user.getLogin()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LAST_MODIFIED);
+
+        restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar", user.getLogin()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().bytes(new byte[0]));
+        restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar", user.getLogin()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isNotModified());
+        restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar", user.getLogin()).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(IMAGE));
+    }
+
+    @Test
+    @WithMockUser(username = "johndoe")
+    void getCurrentUserAvatarKeptPrivate() throws Exception {
+        restUserAvatarMockMvc.perform(multipart("/api/account/avatar").file(image("image/png", IMAGE))).andExpect(status().isOk());
+        String etag = "\"" + ContentHash.sha256Hex(IMAGE) + "\"";
+
+        restUserAvatarMockMvc
+            .perform(get("/api/account/avatar"))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(IMAGE))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        restUserAvatarMockMvc
+            .perform(get("/api/account/avatar").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    @Test
+    void getAvatarThumbnailRevalidated() throws Exception {
+        restUserAvatarMockMvc
+            .perform(multipart("/api/admin/users/{login}/avatar", user.getLogin()).file(image("image/png", png(100, 100))))
+            .andExpect(status().isOk());
+
+        String etag = restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar?size=32", user.getLogin()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar?size=32", user.getLogin()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar?size=64", user.getLogin()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void replaceAvatar() throws Exception {
+        restUserAvatarMockMvc
+            .perform(multipart("/api/admin/users/{login}/avatar", user.getLogin()).file(image("image/png", IMAGE)))
+            .andExpect(status().isOk());
+        long avatars = userAvatarRepository.count();
+        byte[] replacement = { 'G', 'I', 'F', '8' };
+
+        restUserAvatarMockMvc
+            .perform(multipart("/api/admin/users/{login}/avatar", user.getLogin()).file(image("image/gif", replacement)))
+            .andExpect(status().isOk());
+
+        restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar", user.getLogin()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/gif"))
+            .andExpect(content().bytes(replacement));
+        assertThat(userAvatarRepository.count()).isEqualTo(avatars);
+    }
+
+    @Test
+    void getMissingAvatar() throws Exception {
+        restUserAvatarMockMvc.perform(get("/api/users/{login}/avatar", user.getLogin())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void uploadNonImage() throws Exception {
+        restUserAvatarMockMvc
+            .perform(multipart("/api/admin/users/{login}/avatar", user.getLogin()).file(image("text/plain", IMAGE)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(userAvatarRepository.findById(user.getId())).isEmpty();
+    }
+
+    @Test
+    void deleteUserDeletesAvatar() throws Exception {
+        restUserAvatarMockMvc
+            .perform(multipart("/api/admin/users/{login}/avatar", user.getLogin()).file(image("image/png", IMAGE)))
+            .andExpect(status().isOk());
+        em.flush();
+        em.clear();
+
+        userRepository.deleteById(user.getId());
+        em.flush();
+        em.clear();
+
+        assertThat(userAvatarRepository.findById(user.getId())).isEmpty();
+    }
+
+    @Test
+    void getAvatarThumbnail() throws Exception {
+        restUserAvatarMockMvc
+            .perform(multipart("/api/admin/users/{login}/avatar", user.getLogin()).file(image("image/jpeg", jpeg(600, 400))))
+            .andExpect(status().isOk());
+        assertThat(userAvatarVariantRepository.findContentByUserLoginAndSize(user.getLogin(), 64)).isPresent();
+
+        byte[] thumbnail = restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar?size=64", user.getLogin()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/png"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertThat(image.getWidth()).isEqualTo(64);
+        assertThat(image.getHeight()).isEqualTo(64);
+        restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar?size=64", user.getLogin()))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(thumbnail));
+    }
+
+    @Test
+    void getAvatarThumbnailGeneratedOnFirstRequest() throws Exception {
+        restUserAvatarMockMvc
+            .perform(multipart("/api/admin/users/{login}/avatar", user.getLogin()).file(image("image/png", png(100, 100))))
+            .andExpect(status().isOk());
+        userAvatarVariantRepository.deleteByUserId(user.getId());
+        avatarVariantService.evict(user.getLogin());
+
+        restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar?size=32", user.getLogin()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/png"));
+
+        assertThat(userAvatarVariantRepository.findContentByUserLoginAndSize(user.getLogin(), 32)).isPresent();
+    }
+
+    @Test
+    void getAvatarThumbnailOfUnreadableImage() throws Exception {
+        restUserAvatarMockMvc
+            .perform(multipart("/api/admin/users/{login}/avatar", user.getLogin()).file(image("image/png", IMAGE)))
+            .andExpect(status().isOk());
+
+        restUserAvatarMockMvc
+            .perform(get("/api/users/{login}/avatar?size=32", user.getLogin()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/png"))
+            .andExpect(content().bytes(IMAGE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + ContentHash.sha256Hex(IMAGE) + "-32\""));
+
+        // only the avatar is read again, it is not decoded nor are variants written
+        long statements = new StatementCounter(entityManagerFactory).count(() ->
+            restUserAvatarMockMvc
+                .perform(get("/api/users/{login}/avatar?size=32", user.getLogin()))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(IMAGE))
+        );
+        assertThat(statements).isEqualTo(1);
+        assertThat(userAvatarVariantRepository.findContentByUserLoginAndSize(user.getLogin(), 32)).isEmpty();
+    }
+
+    @Test
+    void getAvatarThumbnailOfUnreadableImageRevalidated() throws Exception {
+        restUserAvatarMockMvc
+            .perform(multipart("/api/admin/users/{login}/avatar", user.getLogin()).file(image("image/png", IMAGE)))
+            .andExpect(status().isOk());
+        em.flush();
+        String etag = "\"" + ContentHash.sha256Hex(IMAGE) + "-64\"";
+        StatementCounter counter = new StatementCounter(entityManagerFactory);
+
+        // answered from the version of the avatar, before any image is read
+        long statements = counter.count(() ->
+            restUserAvatarMockMvc
+                .perform(get("/api/users/{login}/avatar?size=64", user.getLogin()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+        );
+        assertThat(statements).isEqualTo(1);
+
+        restUserAvatarMockMvc.perform(get("/api/users/{login}/avatar?size=64", user.getLogin())).andExpect(status().isOk());
+        statements = counter.count(() ->
+            restUserAvatarMockMvc
+                .perform(get("/api/users/{login}/avatar?size=64", user.getLogin()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+        );
+        assertThat(statements).isZero();
+    }
+
+    @Test
+    void getAvatarThumbnailOfUnsupportedSize() throws Exception {
+        restUserAvatarMockMvc.perform(get("/api/users/{login}/avatar?size=50", user.getLogin())).andExpect(status().isBadRequest());
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        return encode(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png");
+    }
+
+    private static byte[] jpeg(int width, int height) throws IOException {
+        return encode(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpeg");
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    private static MockMultipartFile image(String contentType, byte[] bytes) {
+        return new MockMultipartFile("file", "avatar", contentType, bytes);
+    }
+}